@@ -21,7 +21,8 @@ CREATE TABLE users (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_type VARCHAR(31) NOT NULL,  -- Discriminator column for inheritance
     name VARCHAR(100) NOT NULL,
-    email VARCHAR(100) NOT NULL UNIQUE,
+    email VARCHAR(100) NOT NULL,  -- unique through uk_users_email_normalized
+    email_normalized VARCHAR(100) NOT NULL,  -- LOWER(TRIM(email)), maintained by the application
     phone_number VARCHAR(20),
     password VARCHAR(255) NOT NULL,
     status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
@@ -30,16 +31,18 @@ CREATE TABLE users (
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
     -- Platform Admin specific fields
-    permissions TEXT,
+    permissions BIGINT,  -- Permission bitmask (-1 = all), NULL for non-admins
     access_level VARCHAR(50),
     
     -- Event Organizer specific fields
     organization_name VARCHAR(150),
     
-    INDEX idx_email (email),
-    INDEX idx_status (status),
-    INDEX idx_user_type (user_type),
-    INDEX idx_created_at (created_at)
+    UNIQUE INDEX uk_users_email_normalized (email_normalized),
+    -- Keyset pagination of the admin listing (InnoDB appends id to each index)
+    INDEX idx_created_at (created_at),
+    INDEX idx_name (name),
+    INDEX idx_status_created (status, created_at),
+    INDEX idx_type_created (user_type, created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ===============================
@@ -60,29 +63,63 @@ CREATE TABLE audit_logs (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL,
     FOREIGN KEY (admin_id) REFERENCES users(id) ON DELETE SET NULL,
     
-    INDEX idx_user_id (user_id),
     INDEX idx_admin_id (admin_id),
-    INDEX idx_timestamp (timestamp),
-    INDEX idx_action (action)
+    -- Keyset pagination (timestamp DESC, id DESC), one index per filter combination
+    INDEX idx_timestamp_id (timestamp, id),
+    INDEX idx_user_timestamp (user_id, timestamp, id),
+    INDEX idx_action_timestamp (action, timestamp, id),
+    INDEX idx_user_action_timestamp (user_id, action, timestamp, id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- ===============================
--- REFRESH TOKENS TABLE (Optional for future implementation)
+-- REFRESH TOKENS TABLE
+-- token holds the SHA-256 hash of the refresh token, never the token itself
 -- ===============================
 CREATE TABLE refresh_tokens (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     user_id BIGINT NOT NULL,
     token VARCHAR(500) NOT NULL UNIQUE,
+    family_id VARCHAR(36) NOT NULL,      -- Shared by tokens rotated from the same login
     expires_at TIMESTAMP NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    revoked_at TIMESTAMP NULL,           -- Set when rotated or revoked
     
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE,
     
     INDEX idx_token (token),
     INDEX idx_user_id (user_id),
+    INDEX idx_family_id (family_id),
     INDEX idx_expires_at (expires_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- ===============================
+-- REVOKED TOKENS TABLE
+-- Access tokens revoked before expiry (logout); rows are purged once expired
+-- ===============================
+CREATE TABLE revoked_tokens (
+    jti VARCHAR(36) PRIMARY KEY,
+    user_id BIGINT,
+    expires_at TIMESTAMP NOT NULL,
+    revoked_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_revoked_expires_at (expires_at),
+    INDEX idx_revoked_user_id (user_id)       -- Other instances reload a user's revocations on logout
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- ===============================
+-- CACHE INVALIDATIONS TABLE
+-- Change log polled by every instance to evict cached entities; rows are purged after an hour
+-- ===============================
+CREATE TABLE cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(50) NOT NULL,         -- Cached entity type, e.g. User
+    entity_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,             -- Time of the change on the writer (epoch millis)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    INDEX idx_invalidation_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
 -- ===============================
 -- SHOW CREATED TABLES
 -- ===============================
@@ -92,3 +129,5 @@ SHOW TABLES;
 DESCRIBE users;
 DESCRIBE audit_logs;
 DESCRIBE refresh_tokens;
+DESCRIBE revoked_tokens;
+DESCRIBE cache_invalidations;
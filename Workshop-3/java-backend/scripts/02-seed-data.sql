@@ -7,15 +7,16 @@ USE eventplatform_auth;
 -- INSERT PLATFORM ADMIN
 -- Password: Admin@123 (BCrypt hash)
 -- ===============================
-INSERT INTO users (user_type, name, email, phone_number, password, status, permissions, access_level, created_at)
+INSERT INTO users (user_type, name, email, email_normalized, phone_number, password, status, permissions, access_level, created_at)
 VALUES (
     'PlatformAdmin',
     'System Administrator',
     'admin@eventplatform.com',
+    'admin@eventplatform.com',
     '+57-300-1234567',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
-    'ALL',
+    -1,  -- every permission
     'SUPER_ADMIN',
     CURRENT_TIMESTAMP
 );
@@ -24,12 +25,13 @@ VALUES (
 -- INSERT EVENT ORGANIZERS
 -- Password: Organizer@123
 -- ===============================
-INSERT INTO users (user_type, name, email, phone_number, password, status, organization_name, created_at)
+INSERT INTO users (user_type, name, email, email_normalized, phone_number, password, status, organization_name, created_at)
 VALUES 
 (
     'EventOrganizer',
     'Juan Carlos Promotora',
     'juan.organizer@eventplatform.com',
+    'juan.organizer@eventplatform.com',
     '+57-310-2345678',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -40,6 +42,7 @@ VALUES
     'EventOrganizer',
     'Maria Fernanda Events',
     'maria.organizer@eventplatform.com',
+    'maria.organizer@eventplatform.com',
     '+57-320-3456789',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -50,6 +53,7 @@ VALUES
     'EventOrganizer',
     'Carlos Andres Producciones',
     'carlos.organizer@eventplatform.com',
+    'carlos.organizer@eventplatform.com',
     '+57-315-4567890',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -61,12 +65,13 @@ VALUES
 -- INSERT TICKET BUYERS
 -- Password: Buyer@123
 -- ===============================
-INSERT INTO users (user_type, name, email, phone_number, password, status, created_at)
+INSERT INTO users (user_type, name, email, email_normalized, phone_number, password, status, created_at)
 VALUES 
 (
     'TicketBuyer',
     'Andres Felipe Gomez',
     'andres.buyer@gmail.com',
+    'andres.buyer@gmail.com',
     '+57-300-5678901',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -76,6 +81,7 @@ VALUES
     'TicketBuyer',
     'Laura Camila Rodriguez',
     'laura.buyer@gmail.com',
+    'laura.buyer@gmail.com',
     '+57-310-6789012',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -85,6 +91,7 @@ VALUES
     'TicketBuyer',
     'Daniel Esteban Martinez',
     'daniel.buyer@gmail.com',
+    'daniel.buyer@gmail.com',
     '+57-320-7890123',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -94,6 +101,7 @@ VALUES
     'TicketBuyer',
     'Valentina Sofia Lopez',
     'valentina.buyer@gmail.com',
+    'valentina.buyer@gmail.com',
     '+57-315-8901234',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
@@ -103,6 +111,7 @@ VALUES
     'TicketBuyer',
     'Santiago Jose Hernandez',
     'santiago.buyer@gmail.com',
+    'santiago.buyer@gmail.com',
     '+57-300-9012345',
     '$2a$10$rqYGZEQzXxkQ0JvBqGZ5M.8F6k5xZqY5h5YGQxY5h5YGQxY5h5YGQ',
     'ACTIVE',
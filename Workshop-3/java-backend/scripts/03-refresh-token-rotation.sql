@@ -0,0 +1,16 @@
+-- ===============================
+-- MIGRATION: REFRESH TOKEN ROTATION
+-- Adds rotation family and revocation columns to refresh_tokens
+-- (only needed for databases created before these columns existed)
+-- ===============================
+USE eventplatform_auth;
+
+-- Existing rows were never issued by the service, so they are discarded
+DELETE FROM refresh_tokens;
+
+ALTER TABLE refresh_tokens
+    ADD COLUMN family_id VARCHAR(36) NOT NULL AFTER token,
+    ADD COLUMN revoked_at TIMESTAMP NULL AFTER created_at,
+    ADD INDEX idx_family_id (family_id);
+
+DESCRIBE refresh_tokens;
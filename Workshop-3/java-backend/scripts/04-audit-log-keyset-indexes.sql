@@ -0,0 +1,21 @@
+-- ===============================
+-- MIGRATION: AUDIT LOG KEYSET INDEXES
+-- Replaces the single-column audit_logs indexes with composites that serve
+-- the keyset-paginated audit query (ORDER BY timestamp DESC, id DESC)
+-- for each filter combination
+-- ===============================
+USE eventplatform_auth;
+
+ALTER TABLE audit_logs
+    ADD INDEX idx_timestamp_id (timestamp, id),
+    ADD INDEX idx_user_timestamp (user_id, timestamp, id),
+    ADD INDEX idx_action_timestamp (action, timestamp, id),
+    ADD INDEX idx_user_action_timestamp (user_id, action, timestamp, id);
+
+-- Covered by the composites above (idx_user_timestamp also backs the user_id foreign key)
+ALTER TABLE audit_logs
+    DROP INDEX idx_user_id,
+    DROP INDEX idx_timestamp,
+    DROP INDEX idx_action;
+
+SHOW INDEX FROM audit_logs;
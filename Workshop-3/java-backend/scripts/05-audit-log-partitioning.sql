@@ -0,0 +1,40 @@
+-- ===============================
+-- MIGRATION: AUDIT LOG MONTHLY PARTITIONS
+-- Partitions audit_logs by calendar month so the archival job can remove an
+-- archived month with DROP PARTITION instead of deleting its rows one by one,
+-- and so time-bounded queries are pruned to the partitions they touch.
+-- Enable with audit.archive.partitioned=true once this has run.
+--
+-- MySQL requires the partitioning column in every unique key and does not
+-- support foreign keys on partitioned tables:
+--   * the primary key becomes (id, timestamp); id stays AUTO_INCREMENT
+--   * the user_id / admin_id foreign keys are dropped (the columns and their
+--     indexes stay; audit rows are never joined for integrity)
+-- The ALTER ... PARTITION BY rebuilds the table; run it in a maintenance window.
+-- ===============================
+USE eventplatform_auth;
+
+-- Names generated for the unnamed foreign keys in 01-create-database.sql
+ALTER TABLE audit_logs
+    DROP FOREIGN KEY audit_logs_ibfk_1,
+    DROP FOREIGN KEY audit_logs_ibfk_2;
+
+ALTER TABLE audit_logs
+    MODIFY timestamp TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, timestamp);
+
+-- p_old holds everything before the first monthly partition and is archived by
+-- deleting rows; AuditArchiveService splits p_future ahead of each new month
+ALTER TABLE audit_logs
+    PARTITION BY RANGE (UNIX_TIMESTAMP(timestamp)) (
+        PARTITION p_old VALUES LESS THAN (UNIX_TIMESTAMP('2026-10-01 00:00:00')),
+        PARTITION p202610 VALUES LESS THAN (UNIX_TIMESTAMP('2026-11-01 00:00:00')),
+        PARTITION p202611 VALUES LESS THAN (UNIX_TIMESTAMP('2026-12-01 00:00:00')),
+        PARTITION p202612 VALUES LESS THAN (UNIX_TIMESTAMP('2027-01-01 00:00:00')),
+        PARTITION p_future VALUES LESS THAN MAXVALUE
+    );
+
+SELECT PARTITION_NAME, TABLE_ROWS
+FROM information_schema.PARTITIONS
+WHERE TABLE_SCHEMA = 'eventplatform_auth' AND TABLE_NAME = 'audit_logs';
@@ -0,0 +1,31 @@
+-- ===============================
+-- MIGRATION: NORMALIZED EMAIL
+-- Adds users.email_normalized (LOWER(TRIM(email))) with a unique index.
+-- Login looks users up by this column and registration relies on the index
+-- to reject duplicates in its single INSERT, replacing the
+-- lower(email) = lower(?) predicates that could not use idx_email.
+-- ===============================
+USE eventplatform_auth;
+
+ALTER TABLE users
+    ADD COLUMN email_normalized VARCHAR(100) NULL AFTER email;
+
+UPDATE users SET email_normalized = LOWER(TRIM(email));
+
+-- Must return no rows before the unique index can be created;
+-- resolve any case-variant duplicates by hand first
+SELECT email_normalized, COUNT(*) AS duplicates
+FROM users
+GROUP BY email_normalized
+HAVING COUNT(*) > 1;
+
+ALTER TABLE users
+    MODIFY email_normalized VARCHAR(100) NOT NULL,
+    ADD UNIQUE INDEX uk_users_email_normalized (email_normalized);
+
+-- Redundant with the UNIQUE constraint on email
+ALTER TABLE users
+    DROP INDEX idx_email;
+
+-- Expect type=const on uk_users_email_normalized
+EXPLAIN SELECT id FROM users WHERE email_normalized = 'admin@eventplatform.com';
@@ -0,0 +1,20 @@
+-- ===============================
+-- MIGRATION: USER LISTING INDEXES
+-- Serves the keyset-paginated admin user listing (GET /api/users) for each
+-- sort key and filter. InnoDB appends the primary key to every secondary
+-- index, so (status, created_at) is effectively (status, created_at, id),
+-- the exact keyset order.
+-- ===============================
+USE eventplatform_auth;
+
+ALTER TABLE users
+    ADD INDEX idx_name (name),
+    ADD INDEX idx_status_created (status, created_at),
+    ADD INDEX idx_type_created (user_type, created_at);
+
+-- Prefixes of the composites above
+ALTER TABLE users
+    DROP INDEX idx_status,
+    DROP INDEX idx_user_type;
+
+SHOW INDEX FROM users;
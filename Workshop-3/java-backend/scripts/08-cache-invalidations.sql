@@ -0,0 +1,18 @@
+-- ===============================
+-- MIGRATION: CACHE INVALIDATIONS
+-- Change log through which instances tell each other to evict cached users
+-- (only needed for databases created before this table existed)
+-- ===============================
+USE eventplatform_auth;
+
+CREATE TABLE IF NOT EXISTS cache_invalidations (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    entity VARCHAR(50) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    version BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    INDEX idx_invalidation_created_at (created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+DESCRIBE cache_invalidations;
@@ -0,0 +1,55 @@
+-- ===============================
+-- MIGRATION: USER SHARDS
+-- Tables of the optional sharded user store (sharding.enabled=true).
+-- Run against every database listed in sharding.urls; the directory tables are
+-- only used on the first one.
+-- ===============================
+
+-- Users of the buckets owned by this shard. Ids are allocated by user_directory;
+-- name and email sort with a binary collation because shard pages are merged in Java.
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT PRIMARY KEY,
+    bucket SMALLINT NOT NULL,
+    user_type VARCHAR(31) NOT NULL,
+    name VARCHAR(100) COLLATE utf8mb4_bin NOT NULL,
+    email VARCHAR(100) COLLATE utf8mb4_bin NOT NULL,
+    email_normalized VARCHAR(100) NOT NULL,
+    phone_number VARCHAR(20),
+    password VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NULL,
+    last_login TIMESTAMP NULL,
+    permissions BIGINT,
+    access_level VARCHAR(50),
+    organization_name VARCHAR(150),
+
+    -- Bucket moves copy and delete by (bucket, id)
+    INDEX idx_bucket (bucket),
+    -- Keyset pagination of the admin listing (InnoDB appends id to each index)
+    INDEX idx_created_at (created_at),
+    INDEX idx_name (name),
+    INDEX idx_email (email),
+    INDEX idx_status_created (status, created_at),
+    INDEX idx_type_created (user_type, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Directory: allocates user ids and keeps emails unique across shards
+CREATE TABLE IF NOT EXISTS user_directory (
+    user_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    email_normalized VARCHAR(100) NOT NULL,
+
+    UNIQUE INDEX uk_directory_email_normalized (email_normalized)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Directory: owner of each of the 1024 buckets (filled on first start)
+CREATE TABLE IF NOT EXISTS shard_buckets (
+    bucket SMALLINT PRIMARY KEY,
+    shard INT NOT NULL,
+    other_shard INT NULL,
+    state VARCHAR(20) NOT NULL DEFAULT 'STABLE'
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+DESCRIBE users;
+DESCRIBE user_directory;
+DESCRIBE shard_buckets;
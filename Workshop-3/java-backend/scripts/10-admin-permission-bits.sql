@@ -0,0 +1,31 @@
+-- ===============================
+-- MIGRATION: ADMIN PERMISSION BITS
+-- Replaces the free-text users.permissions column with a BIGINT bitmask of
+-- com.eventplatform.model.Permission bits (NULL for non-admin users).
+-- Legacy 'ALL' becomes -1 (every bit, including permissions added later); other
+-- values are read as comma-separated permission names, unknown names are dropped.
+-- Admins must sign in again to get a token carrying the new "perm" claim.
+-- ===============================
+USE eventplatform_auth;
+
+ALTER TABLE users ADD COLUMN permission_bits BIGINT NULL AFTER permissions;
+
+UPDATE users
+SET permission_bits = CASE
+    WHEN UPPER(TRIM(COALESCE(permissions, ''))) = 'ALL' THEN -1
+    ELSE
+          IF(FIND_IN_SET('USERS_READ', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 1, 0)
+        + IF(FIND_IN_SET('USERS_UPDATE', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 2, 0)
+        + IF(FIND_IN_SET('USERS_STATUS', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 4, 0)
+        + IF(FIND_IN_SET('USERS_DELETE', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 8, 0)
+        + IF(FIND_IN_SET('USERS_IMPORT', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 16, 0)
+        + IF(FIND_IN_SET('AUDIT_READ', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 32, 0)
+        + IF(FIND_IN_SET('AUDIT_EXPORT', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 64, 0)
+        + IF(FIND_IN_SET('SHARDS_MANAGE', REPLACE(UPPER(COALESCE(permissions, '')), ' ', '')) > 0, 128, 0)
+    END
+WHERE user_type = 'PlatformAdmin';
+
+ALTER TABLE users DROP COLUMN permissions;
+ALTER TABLE users RENAME COLUMN permission_bits TO permissions;
+
+SELECT id, email, permissions FROM users WHERE user_type = 'PlatformAdmin';
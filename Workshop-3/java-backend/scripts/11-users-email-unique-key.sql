@@ -0,0 +1,15 @@
+-- ===============================
+-- MIGRATION: SINGLE EMAIL UNIQUE KEY
+-- Drops the UNIQUE index on users.email. uk_users_email_normalized already
+-- rejects every duplicate it would (equal emails have equal normalized forms),
+-- and with both in place a duplicate registration could be reported against
+-- either key. Registration maps only uk_users_email_normalized to
+-- "Email already exists".
+-- ===============================
+USE eventplatform_auth;
+
+-- The index created by "email ... UNIQUE" in 01-create-database.sql
+SHOW INDEX FROM users WHERE Column_name = 'email';
+
+ALTER TABLE users
+    DROP INDEX email;
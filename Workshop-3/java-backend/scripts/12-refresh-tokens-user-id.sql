@@ -0,0 +1,15 @@
+-- ===============================
+-- MIGRATION: REFRESH TOKENS WITHOUT USER FOREIGN KEY
+-- Refresh tokens reference their user by id only, as with sharding.enabled=true
+-- the user lives on a shard (see 09-user-shards.sql) rather than in this
+-- database's users table. Required before enabling sharding; harmless without it.
+-- Users are soft-deleted, so the ON DELETE CASCADE never fired; expired tokens
+-- are still purged by RefreshTokenService.
+-- ===============================
+USE eventplatform_auth;
+
+-- Name generated for the unnamed foreign key in 01-create-database.sql
+ALTER TABLE refresh_tokens
+    DROP FOREIGN KEY refresh_tokens_ibfk_1;
+
+SHOW CREATE TABLE refresh_tokens;
@@ -0,0 +1,18 @@
+-- ===============================
+-- MIGRATION: AUDIT LOGS WITHOUT USER FOREIGN KEYS
+-- Audit log entries reference their user and admin by id only, as with
+-- sharding.enabled=true the user lives on a shard (see 09-user-shards.sql) rather
+-- than in this database's users table, and the foreign keys would reject the entry.
+-- Required before enabling sharding; harmless without it. Users are soft-deleted,
+-- so the ON DELETE SET NULL never fired.
+-- Skip this script if 05-audit-log-partitioning.sql was applied: it already
+-- dropped both keys, and MySQL has no DROP FOREIGN KEY IF EXISTS.
+-- ===============================
+USE eventplatform_auth;
+
+-- Names generated for the unnamed foreign keys in 01-create-database.sql
+ALTER TABLE audit_logs
+    DROP FOREIGN KEY audit_logs_ibfk_1,
+    DROP FOREIGN KEY audit_logs_ibfk_2;
+
+SHOW CREATE TABLE audit_logs;
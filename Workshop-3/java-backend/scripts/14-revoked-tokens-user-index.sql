@@ -0,0 +1,11 @@
+-- ===============================
+-- MIGRATION: REVOKED TOKENS BY USER
+-- On logout, the other instances are notified through cache_invalidations and
+-- reload the user's revoked tokens; this index serves that lookup.
+-- ===============================
+USE eventplatform_auth;
+
+ALTER TABLE revoked_tokens
+    ADD INDEX idx_revoked_user_id (user_id);
+
+SHOW INDEX FROM revoked_tokens;
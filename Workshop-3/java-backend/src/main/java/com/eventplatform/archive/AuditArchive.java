@@ -0,0 +1,151 @@
+package com.eventplatform.archive;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.KeysetCursor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Audit Archive
+ * Registry of the cold audit segments in audit.archive.directory, one file per
+ * calendar month named audit-YYYY-MM.seg. Archived months never overlap the rows
+ * still in audit_logs, so a query can read the database first and continue into
+ * the archive with the same keyset cursor.
+ */
+@Component
+public class AuditArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchive.class);
+
+    private static final String SEGMENT_PREFIX = "audit-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.archive.directory:data/audit-archive}")
+    private String directory;
+
+    private final NavigableMap<YearMonth, AuditSegment> segments = new ConcurrentSkipListMap<>();
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(directory);
+        if (Files.isDirectory(root)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(root, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+                for (Path file : files) {
+                    YearMonth month = monthOf(file);
+                    if (month == null) {
+                        logger.warn("Ignoring unrecognised audit segment: {}", file);
+                        continue;
+                    }
+                    segments.put(month, AuditSegment.open(file));
+                }
+            }
+        }
+
+        Gauge.builder("audit.archive.rows", this::getRowCount)
+                .description("Audit log rows held in archived segments")
+                .register(meterRegistry);
+        logger.info("Loaded {} audit archive segments ({} rows) from {}", segments.size(), getRowCount(), root);
+    }
+
+    /**
+     * Segment file for a month; the file may not exist yet
+     */
+    public Path pathFor(YearMonth month) throws IOException {
+        Path root = Paths.get(directory);
+        Files.createDirectories(root);
+        return root.resolve(SEGMENT_PREFIX + month + SEGMENT_SUFFIX);
+    }
+
+    public AuditSegment get(YearMonth month) {
+        return segments.get(month);
+    }
+
+    /**
+     * Map a newly written segment file, replacing any previous segment for the month
+     */
+    public AuditSegment register(YearMonth month) throws IOException {
+        AuditSegment segment = AuditSegment.open(pathFor(month));
+        segments.put(month, segment);
+        return segment;
+    }
+
+    public long getRowCount() {
+        return segments.values().stream().mapToLong(AuditSegment::getRowCount).sum();
+    }
+
+    /**
+     * Archived rows matching the filter, newest first, starting strictly after the cursor
+     */
+    public List<AuditLogDTO> findPage(AuditLogFilter filter, KeysetCursor after, int limit) {
+        List<AuditLogDTO> result = new ArrayList<>();
+        if (segments.isEmpty() || limit <= 0) {
+            return result;
+        }
+
+        LocalDateTime upper = after != null ? after.timestamp() : filter.getTo();
+        NavigableMap<YearMonth, AuditSegment> candidates = upper != null
+                ? segments.headMap(YearMonth.from(upper), true)
+                : segments;
+
+        for (AuditSegment segment : candidates.descendingMap().values()) {
+            if (filter.getFrom() != null && segment.getMaxTimestamp().isBefore(filter.getFrom())) {
+                break;
+            }
+            result.addAll(segment.findPage(filter, after, limit - result.size()));
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every archived row matching the filter to the consumer, oldest first
+     */
+    public void forEach(AuditLogFilter filter, Consumer<AuditLogDTO> consumer) {
+        for (Map.Entry<YearMonth, AuditSegment> entry : segments.entrySet()) {
+            AuditSegment segment = entry.getValue();
+            if (filter.getFrom() != null && segment.getMaxTimestamp().isBefore(filter.getFrom())) {
+                continue;
+            }
+            if (filter.getTo() != null && !segment.getMinTimestamp().isBefore(filter.getTo())) {
+                return;
+            }
+            segment.forEach(filter, consumer);
+        }
+    }
+
+    private static YearMonth monthOf(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return YearMonth.parse(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (DateTimeParseException | IndexOutOfBoundsException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.eventplatform.archive;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.KeysetCursor;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Audit Segment
+ * Read-only view of a segment file written by AuditSegmentWriter. The file is
+ * memory-mapped, so reads go through the page cache without copying the file onto
+ * the heap. The sparse block index is held in arrays; a lookup binary-searches it
+ * and decompresses only the blocks that can contain matching rows.
+ *
+ * Instances are immutable and safe for concurrent readers.
+ */
+public final class AuditSegment {
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final long rowCount;
+    private final long minMicros;
+    private final long maxMicros;
+    private final long maxId;
+
+    // Sparse index, one entry per block
+    private final long[] firstMicros;
+    private final long[] firstIds;
+    private final long[] lastMicros;
+    private final long[] lastIds;
+    private final long[] offsets;
+    private final int[] compressedSizes;
+    private final int[] rawSizes;
+
+    private AuditSegment(Path path, MappedByteBuffer buffer) throws IOException {
+        this.path = path;
+        this.buffer = buffer;
+
+        ByteBuffer header = buffer.duplicate();
+        if (buffer.capacity() < AuditSegmentFormat.HEADER_BYTES
+                || header.getLong() != AuditSegmentFormat.MAGIC
+                || header.getInt() != AuditSegmentFormat.VERSION) {
+            throw new IOException("Not an audit segment: " + path);
+        }
+        int blockCount = header.getInt();
+        this.rowCount = header.getLong();
+        this.minMicros = header.getLong();
+        this.maxMicros = header.getLong();
+        this.maxId = header.getLong();
+        long indexOffset = header.getLong();
+
+        this.firstMicros = new long[blockCount];
+        this.firstIds = new long[blockCount];
+        this.lastMicros = new long[blockCount];
+        this.lastIds = new long[blockCount];
+        this.offsets = new long[blockCount];
+        this.compressedSizes = new int[blockCount];
+        this.rawSizes = new int[blockCount];
+
+        ByteBuffer index = buffer.duplicate().position((int) indexOffset);
+        for (int i = 0; i < blockCount; i++) {
+            firstMicros[i] = index.getLong();
+            firstIds[i] = index.getLong();
+            lastMicros[i] = index.getLong();
+            lastIds[i] = index.getLong();
+            offsets[i] = index.getLong();
+            compressedSizes[i] = index.getInt();
+            rawSizes[i] = index.getInt();
+            index.getInt(); // row count, informational
+        }
+    }
+
+    /**
+     * Map a segment file
+     *
+     * @throws IOException if the file cannot be read or is not a complete segment
+     */
+    public static AuditSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AuditSegment(path, buffer);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public LocalDateTime getMinTimestamp() {
+        return AuditSegmentFormat.fromMicros(minMicros);
+    }
+
+    public LocalDateTime getMaxTimestamp() {
+        return AuditSegmentFormat.fromMicros(maxMicros);
+    }
+
+    /**
+     * Rows matching the filter, newest first, starting strictly after the cursor
+     *
+     * @param after position to continue from, or null to start at the newest row
+     * @param limit maximum number of rows to return
+     */
+    public List<AuditLogDTO> findPage(AuditLogFilter filter, KeysetCursor after, int limit) {
+        List<AuditLogDTO> result = new ArrayList<>();
+        if (firstMicros.length == 0 || limit <= 0) {
+            return result;
+        }
+
+        // Upper bound (exclusive) from the cursor and filter.to, whichever is lower
+        long boundMicros = Long.MAX_VALUE;
+        long boundId = Long.MAX_VALUE;
+        if (filter.getTo() != null) {
+            boundMicros = AuditSegmentFormat.toMicros(filter.getTo());
+            boundId = Long.MIN_VALUE;
+        }
+        if (after != null) {
+            long cursorMicros = AuditSegmentFormat.toMicros(after.timestamp());
+            if (AuditSegmentFormat.compareKeys(cursorMicros, after.id(), boundMicros, boundId) < 0) {
+                boundMicros = cursorMicros;
+                boundId = after.id();
+            }
+        }
+        long fromMicros = filter.getFrom() != null ? AuditSegmentFormat.toMicros(filter.getFrom()) : Long.MIN_VALUE;
+
+        for (int block = lastBlockStartingBefore(boundMicros, boundId); block >= 0; block--) {
+            if (lastMicros[block] < fromMicros) {
+                break;
+            }
+            List<AuditLogDTO> rows = decodeBlock(block);
+            for (int i = rows.size() - 1; i >= 0; i--) {
+                AuditLogDTO row = rows.get(i);
+                long micros = AuditSegmentFormat.toMicros(row.getTimestamp());
+                if (AuditSegmentFormat.compareKeys(micros, row.getId(), boundMicros, boundId) >= 0) {
+                    continue;
+                }
+                if (micros < fromMicros) {
+                    return result;
+                }
+                if (matches(filter, row)) {
+                    result.add(row);
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pass every row matching the filter to the consumer, oldest first
+     */
+    public void forEach(AuditLogFilter filter, Consumer<AuditLogDTO> consumer) {
+        long fromMicros = filter.getFrom() != null ? AuditSegmentFormat.toMicros(filter.getFrom()) : Long.MIN_VALUE;
+        long toMicros = filter.getTo() != null ? AuditSegmentFormat.toMicros(filter.getTo()) : Long.MAX_VALUE;
+
+        for (int block = firstBlockEndingAtOrAfter(fromMicros); block < firstMicros.length; block++) {
+            if (firstMicros[block] >= toMicros) {
+                return;
+            }
+            for (AuditLogDTO row : decodeBlock(block)) {
+                long micros = AuditSegmentFormat.toMicros(row.getTimestamp());
+                if (micros >= toMicros) {
+                    return;
+                }
+                if (micros >= fromMicros && matches(filter, row)) {
+                    consumer.accept(row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Index of the last block whose first key is below the bound, or -1
+     */
+    private int lastBlockStartingBefore(long boundMicros, long boundId) {
+        int low = 0;
+        int high = firstMicros.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (AuditSegmentFormat.compareKeys(firstMicros[mid], firstIds[mid], boundMicros, boundId) < 0) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Index of the first block whose last timestamp is not before fromMicros
+     */
+    private int firstBlockEndingAtOrAfter(long fromMicros) {
+        int low = 0;
+        int high = lastMicros.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (lastMicros[mid] < fromMicros) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<AuditLogDTO> decodeBlock(int block) {
+        ByteBuffer compressed = buffer.slice((int) offsets[block], compressedSizes[block]);
+        byte[] raw = new byte[rawSizes[block]];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int inflated = 0;
+            while (inflated < raw.length && !inflater.finished()) {
+                inflated += inflater.inflate(raw, inflated, raw.length - inflated);
+            }
+
+            List<AuditLogDTO> rows = new ArrayList<>();
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw, 0, inflated));
+            while (in.available() > 0) {
+                rows.add(AuditSegmentFormat.readRow(in));
+            }
+            return rows;
+        } catch (DataFormatException | IOException e) {
+            throw new IllegalStateException("Corrupt block " + block + " in audit segment " + path, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static boolean matches(AuditLogFilter filter, AuditLogDTO row) {
+        return (filter.getUserId() == null || filter.getUserId().equals(row.getUserId()))
+                && (filter.getAction() == null || filter.getAction().equals(row.getAction()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.eventplatform.archive;
+
+import com.eventplatform.dto.AuditLogDTO;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Audit Segment Format
+ * Layout shared by AuditSegmentWriter and AuditSegment.
+ *
+ * <pre>
+ * header  (64 bytes)  magic, version, block count, row count, min/max timestamp, max id, index offset
+ * blocks              deflate-compressed runs of up to blockRows rows, sorted by (timestamp, id)
+ * index               one entry per block: first/last (timestamp, id), offset, sizes, row count
+ * </pre>
+ *
+ * Timestamps are stored as microseconds since the epoch of the LocalDateTime read as UTC.
+ */
+final class AuditSegmentFormat {
+
+    static final long MAGIC = 0x4155445345473031L; // "AUDSEG01"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+
+    private AuditSegmentFormat() {
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Compare two (timestamp, id) keys
+     */
+    static int compareKeys(long micros1, long id1, long micros2, long id2) {
+        int result = Long.compare(micros1, micros2);
+        return result != 0 ? result : Long.compare(id1, id2);
+    }
+
+    static void writeRow(DataOutput out, AuditLogDTO row) throws IOException {
+        out.writeLong(row.getId());
+        writeNullableLong(out, row.getUserId());
+        writeNullableLong(out, row.getAdminId());
+        writeString(out, row.getAction());
+        writeString(out, row.getEntity());
+        writeNullableLong(out, row.getEntityId());
+        writeString(out, row.getDetails());
+        writeString(out, row.getIpAddress());
+        writeString(out, row.getUserAgent());
+        out.writeLong(toMicros(row.getTimestamp()));
+    }
+
+    static AuditLogDTO readRow(DataInput in) throws IOException {
+        return AuditLogDTO.builder()
+                .id(in.readLong())
+                .userId(readNullableLong(in))
+                .adminId(readNullableLong(in))
+                .action(readString(in))
+                .entity(readString(in))
+                .entityId(readNullableLong(in))
+                .details(readString(in))
+                .ipAddress(readString(in))
+                .userAgent(readString(in))
+                .timestamp(fromMicros(in.readLong()))
+                .build();
+    }
+
+    private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    // Length-prefixed UTF-8; writeUTF would cap TEXT columns at 64 KB
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
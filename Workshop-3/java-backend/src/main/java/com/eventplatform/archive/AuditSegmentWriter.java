@@ -0,0 +1,164 @@
+package com.eventplatform.archive;
+
+import com.eventplatform.dto.AuditLogDTO;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Deflater;
+
+/**
+ * Audit Segment Writer
+ * Writes rows, given in ascending (timestamp, id) order, into a compressed segment
+ * file. Only one block of rows is held in memory at a time. The file is written
+ * under a temporary name and moved into place by finish(), so a segment is either
+ * complete or absent.
+ */
+public class AuditSegmentWriter implements Closeable {
+
+    private final Path target;
+    private final Path temporary;
+    private final int blockRows;
+    private final FileChannel channel;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(blockBytes);
+    private final ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(indexBytes);
+
+    private int blockCount;
+    private int blockRowCount;
+    private long rowCount;
+    private long blockFirstMicros;
+    private long blockFirstId;
+    private long lastMicros = Long.MIN_VALUE;
+    private long lastId = Long.MIN_VALUE;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+    private boolean finished;
+
+    public AuditSegmentWriter(Path target, int blockRows) throws IOException {
+        this.target = target;
+        this.temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        this.blockRows = blockRows;
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.channel.position(AuditSegmentFormat.HEADER_BYTES);
+    }
+
+    /**
+     * Append a row; rows must arrive in ascending (timestamp, id) order
+     */
+    public void append(AuditLogDTO row) throws IOException {
+        long micros = AuditSegmentFormat.toMicros(row.getTimestamp());
+        if (AuditSegmentFormat.compareKeys(micros, row.getId(), lastMicros, lastId) <= 0) {
+            throw new IllegalArgumentException("Rows must be appended in ascending (timestamp, id) order");
+        }
+
+        if (blockRowCount == 0) {
+            blockFirstMicros = micros;
+            blockFirstId = row.getId();
+        }
+        AuditSegmentFormat.writeRow(blockOut, row);
+        blockRowCount++;
+        rowCount++;
+        lastMicros = micros;
+        lastId = row.getId();
+        minMicros = Math.min(minMicros, micros);
+        maxId = Math.max(maxId, row.getId());
+
+        if (blockRowCount == blockRows) {
+            flushBlock();
+        }
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Write the index and header and move the segment into place
+     */
+    public void finish() throws IOException {
+        if (blockRowCount > 0) {
+            flushBlock();
+        }
+
+        long indexOffset = channel.position();
+        writeFully(ByteBuffer.wrap(indexBytes.toByteArray()));
+
+        ByteBuffer header = ByteBuffer.allocate(AuditSegmentFormat.HEADER_BYTES);
+        header.putLong(AuditSegmentFormat.MAGIC)
+                .putInt(AuditSegmentFormat.VERSION)
+                .putInt(blockCount)
+                .putLong(rowCount)
+                .putLong(minMicros)
+                .putLong(lastMicros)
+                .putLong(maxId)
+                .putLong(indexOffset)
+                .flip();
+        channel.position(0);
+        writeFully(header);
+        channel.force(true);
+        channel.close();
+
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    /**
+     * Discards the segment unless finish() was called
+     */
+    @Override
+    public void close() throws IOException {
+        deflater.end();
+        if (!finished) {
+            channel.close();
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        blockOut.flush();
+        byte[] raw = blockBytes.toByteArray();
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+
+        long offset = channel.position();
+        writeFully(ByteBuffer.wrap(compressed.toByteArray()));
+
+        indexOut.writeLong(blockFirstMicros);
+        indexOut.writeLong(blockFirstId);
+        indexOut.writeLong(lastMicros);
+        indexOut.writeLong(lastId);
+        indexOut.writeLong(offset);
+        indexOut.writeInt(compressed.size());
+        indexOut.writeInt(raw.length);
+        indexOut.writeInt(blockRowCount);
+
+        blockCount++;
+        blockRowCount = 0;
+        blockBytes.reset();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
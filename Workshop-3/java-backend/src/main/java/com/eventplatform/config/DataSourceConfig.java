@@ -0,0 +1,100 @@
+package com.eventplatform.config;
+
+import com.eventplatform.datasource.HedgedReadExecutor;
+import com.eventplatform.datasource.ReadWriteRoutingDataSource;
+import com.eventplatform.datasource.ReadYourWritesTracker;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Data Source Configuration
+ * When a replica URL is configured, read-only transactions are served by a replica
+ * pool and everything else by the primary (spring.datasource.*). Without one, Spring
+ * Boot's single data source is used unchanged. With datasource.hedging.enabled, profile
+ * lookups in read-only transactions are additionally hedged across both pools (see
+ * HedgedReadExecutor).
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class DataSourceConfig {
+
+    @Value("${datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${datasource.replica.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replica.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replica.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${datasource.hedging.threads:16}")
+    private int hedgingThreads;
+
+    @Value("${datasource.hedging.queue-capacity:64}")
+    private int hedgingQueueCapacity;
+
+    @Value("${datasource.hedging.percentile:0.95}")
+    private double hedgingPercentile;
+
+    @Value("${datasource.hedging.min-delay-ms:2}")
+    private long hedgingMinDelayMs;
+
+    @Value("${datasource.hedging.max-delay-ms:100}")
+    private long hedgingMaxDelayMs;
+
+    @Value("${datasource.hedging.timeout-ms:5000}")
+    private long hedgingTimeoutMs;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(replicaUrl);
+        dataSource.setUsername(replicaUsername);
+        dataSource.setPassword(replicaPassword);
+        if (properties.getDriverClassName() != null) {
+            dataSource.setDriverClassName(properties.getDriverClassName());
+        }
+        dataSource.setMaximumPoolSize(replicaMaximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, HikariDataSource replicaDataSource,
+                                 ReadYourWritesTracker readYourWrites) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, readYourWrites));
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "datasource.hedging.enabled", havingValue = "true")
+    public HedgedReadExecutor hedgedReadExecutor(HikariDataSource primaryDataSource,
+                                                 HikariDataSource replicaDataSource,
+                                                 ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        return new HedgedReadExecutor(primaryDataSource, replicaDataSource, readYourWrites, meterRegistry,
+                hedgingThreads, hedgingQueueCapacity, hedgingPercentile, hedgingMinDelayMs, hedgingMaxDelayMs, hedgingTimeoutMs);
+    }
+}
@@ -1,10 +1,19 @@
 package com.eventplatform.config;
 
+import com.eventplatform.security.BCryptStrengthCalibrator;
 import com.eventplatform.security.JwtAuthenticationFilter;
+import com.eventplatform.security.JwtPermissionEvaluator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -13,10 +22,14 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+import java.util.Map;
+
 /**
  * Security Configuration
  * Configures Spring Security, JWT, and CORS
@@ -26,12 +39,61 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @EnableMethodSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // Fixed BCrypt cost; 0 means calibrate to auth.hashing.target-ms at startup
+    @Value("${auth.hashing.strength:0}")
+    private int hashingStrength;
+
+    @Value("${auth.hashing.target-ms:250}")
+    private long hashingTargetMs;
+
+    @Value("${auth.hashing.min-strength:10}")
+    private int hashingMinStrength;
+
+    @Value("${auth.hashing.max-strength:16}")
+    private int hashingMaxStrength;
+
+    /**
+     * Password encoder
+     * New hashes are stored as {bcrypt}-prefixed BCrypt at the configured or calibrated
+     * cost. Legacy unprefixed BCrypt hashes still match, and report upgradeEncoding()
+     * so they are rehashed on the next successful login.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int strength = hashingStrength > 0
+                ? hashingStrength
+                : BCryptStrengthCalibrator.calibrate(Duration.ofMillis(hashingTargetMs), hashingMinStrength, hashingMaxStrength);
+        logger.info("Using BCrypt strength {}", strength);
+
+        if (meterRegistry != null) {
+            Gauge.builder("auth.password-hashing.strength", () -> strength)
+                    .description("BCrypt cost used for new password hashes")
+                    .register(meterRegistry);
+        }
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder("bcrypt",
+                Map.of("bcrypt", new BCryptPasswordEncoder(strength)));
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Method security expressions
+     * hasPermission() checks the Permission bits of the caller's token
+     */
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler() {
+        DefaultMethodSecurityExpressionHandler handler = new DefaultMethodSecurityExpressionHandler();
+        handler.setPermissionEvaluator(new JwtPermissionEvaluator());
+        return handler;
     }
 
     @Bean
@@ -57,7 +119,10 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/actuator/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/health/**").permitAll()
+                        
+                        // Metrics and any other actuator endpoint
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         
                         // Admin only endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
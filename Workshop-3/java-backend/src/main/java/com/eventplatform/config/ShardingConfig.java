@@ -0,0 +1,87 @@
+package com.eventplatform.config;
+
+import com.eventplatform.sharding.ShardDirectory;
+import com.eventplatform.sharding.ShardRebalancer;
+import com.eventplatform.sharding.ShardedUserStore;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sharding Configuration
+ * With sharding.enabled, users are stored across the databases listed in
+ * sharding.urls (see ShardedUserStore), which replaces JpaUserStore as the
+ * UserStore of every service. The first one also holds the directory tables.
+ * Everything else stays on the application's data source (spring.datasource.*).
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Value("${sharding.urls}")
+    private List<String> urls;
+
+    @Value("${sharding.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${sharding.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${sharding.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${sharding.query-threads:16}")
+    private int queryThreads;
+
+    @Value("${sharding.query-timeout-ms:5000}")
+    private long queryTimeoutMs;
+
+    @Value("${sharding.rebalance.batch-size:500}")
+    private int rebalanceBatchSize;
+
+    @Value("${sharding.rebalance.propagation-delay-ms:10000}")
+    private long rebalancePropagationDelayMs;
+
+    private final List<HikariDataSource> shardDataSources = new ArrayList<>();
+
+    @Bean(initMethod = "init")
+    public ShardDirectory shardDirectory() {
+        return new ShardDirectory(shardDataSources().get(0), urls.size());
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ShardedUserStore shardedUserStore(ShardDirectory shardDirectory) {
+        return new ShardedUserStore(shardDataSources(), shardDirectory, queryThreads, queryTimeoutMs);
+    }
+
+    @Bean
+    public ShardRebalancer shardRebalancer(ShardedUserStore shardedUserStore, ShardDirectory shardDirectory) {
+        return new ShardRebalancer(shardedUserStore, shardDirectory, rebalanceBatchSize, rebalancePropagationDelayMs);
+    }
+
+    @PreDestroy
+    public void closeDataSources() {
+        shardDataSources.forEach(HikariDataSource::close);
+    }
+
+    private synchronized List<HikariDataSource> shardDataSources() {
+        if (shardDataSources.isEmpty()) {
+            for (int shard = 0; shard < urls.size(); shard++) {
+                HikariDataSource dataSource = new HikariDataSource();
+                dataSource.setPoolName("shard-" + shard);
+                dataSource.setJdbcUrl(urls.get(shard).trim());
+                dataSource.setUsername(username);
+                dataSource.setPassword(password);
+                dataSource.setMaximumPoolSize(maximumPoolSize);
+                shardDataSources.add(dataSource);
+            }
+        }
+        return shardDataSources;
+    }
+}
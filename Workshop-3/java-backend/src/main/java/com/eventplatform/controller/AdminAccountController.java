@@ -0,0 +1,70 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.RegisterRequest;
+import com.eventplatform.dto.UpdatePermissionsRequest;
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.security.JwtClaims;
+import com.eventplatform.service.AuthService;
+import com.eventplatform.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Admin Account Controller
+ * Creation of admin accounts and changes to their permissions. Public registration
+ * cannot create admins; an admin can only grant or revoke permissions it holds itself.
+ */
+@RestController
+@RequestMapping("/api/admin/admins")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Admin Accounts", description = "Admin account and permission endpoints (Admin only)")
+public class AdminAccountController {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Create an admin (Admin only)
+     */
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'ADMINS_MANAGE')")
+    @Operation(summary = "Create admin", description = "Create an admin account with a subset of the caller's permissions (Admin only)")
+    public CompletableFuture<ResponseEntity<UserDTO>> createAdmin(@Valid @RequestBody RegisterRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authService.createAdmin(request, (Long) authentication.getPrincipal(), callerPermissions(authentication))
+                .thenApply(admin -> new ResponseEntity<>(admin, HttpStatus.CREATED));
+    }
+
+    /**
+     * Replace an admin's permissions (Admin only)
+     */
+    @PutMapping("/{id}/permissions")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'ADMINS_MANAGE')")
+    @Operation(summary = "Change admin permissions", description = "Grant or revoke permissions the caller holds; applies from the admin's next access token (Admin only)")
+    public ResponseEntity<UserDTO> updatePermissions(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdatePermissionsRequest request
+    ) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return ResponseEntity.ok(userService.updatePermissions(id, request.getPermissions(),
+                callerPermissions(authentication)));
+    }
+
+    private static long callerPermissions(Authentication authentication) {
+        return authentication.getCredentials() instanceof JwtClaims claims ? claims.permissions() : 0L;
+    }
+}
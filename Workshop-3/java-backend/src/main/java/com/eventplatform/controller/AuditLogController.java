@@ -0,0 +1,138 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.dto.CursorPage;
+import com.eventplatform.exception.DeadlineExceededException;
+import com.eventplatform.service.AuditLogExportService;
+import com.eventplatform.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Audit Log Controller
+ * Admin access to the audit trail
+ */
+@RestController
+@RequestMapping("/api/admin/audit-logs")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Audit Logs", description = "Audit trail endpoints (Admin only)")
+public class AuditLogController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogController.class);
+
+    @Autowired
+    private AuditLogService auditLogService;
+
+    @Autowired
+    private AuditLogExportService auditLogExportService;
+
+    /**
+     * Get audit logs (Admin only), newest first, one page at a time
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'AUDIT_READ')")
+    @Operation(summary = "Get audit logs", description = "Keyset-paginated audit logs filtered by user, action and time range (Admin only)")
+    public ResponseEntity<CursorPage<AuditLogDTO>> getAuditLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AuditLogService.DEFAULT_PAGE_SIZE) int limit
+    ) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .from(from)
+                .to(to)
+                .build();
+
+        return ResponseEntity.ok(auditLogService.findAuditLogs(filter, cursor, limit));
+    }
+
+    /**
+     * Export audit logs (Admin only)
+     * Streams every matching row, oldest first, without loading them into memory.
+     * Written directly to the response so the export is bounded by its own deadline
+     * rather than the async request timeout. A deadline answers 504 only while nothing
+     * has been sent; later, the file ends with a trailer line instead.
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'AUDIT_EXPORT')")
+    @Operation(summary = "Export audit logs", description = "Stream audit logs as NDJSON or CSV, optionally gzip-compressed (Admin only)")
+    public void exportAuditLogs(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NDJSON") AuditLogExportService.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) throws IOException {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(userId)
+                .action(action)
+                .from(from)
+                .to(to)
+                .build();
+
+        String filename = "audit-logs." + format.getExtension() + (gzip ? ".gz" : "");
+        response.setContentType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"");
+
+        try {
+            OutputStream out = gzip ? new GZIPOutputStream(response.getOutputStream(), 8192) : response.getOutputStream();
+            try {
+                auditLogExportService.export(filter, format, out);
+            } catch (DeadlineExceededException e) {
+                if (!response.isCommitted()) {
+                    // Nothing has reached the client yet: drop the partial file and answer 504
+                    discardFile(response);
+                    throw e;
+                }
+                logger.warn("Audit export cut off after the response started: {}", e.getMessage());
+                out.write(format.deadlineTrailer(e.getMessage()).getBytes(StandardCharsets.UTF_8));
+            }
+            out.close();
+        } catch (IOException e) {
+            // The client went away; there is nobody left to report to
+            logger.debug("Audit export client disconnected: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reset the buffered body and the file headers of an uncommitted response, keeping
+     * headers set earlier in the chain (e.g. CORS)
+     */
+    private static void discardFile(HttpServletResponse response) {
+        Map<String, List<String>> kept = new LinkedHashMap<>();
+        for (String name : response.getHeaderNames()) {
+            if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE) && !name.equalsIgnoreCase(HttpHeaders.CONTENT_DISPOSITION)) {
+                kept.put(name, new ArrayList<>(response.getHeaders(name)));
+            }
+        }
+        response.reset();
+        kept.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+}
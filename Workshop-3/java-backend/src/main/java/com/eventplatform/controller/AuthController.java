@@ -2,20 +2,31 @@ package com.eventplatform.controller;
 
 import com.eventplatform.dto.AuthResponse;
 import com.eventplatform.dto.LoginRequest;
+import com.eventplatform.dto.RefreshTokenRequest;
 import com.eventplatform.dto.RegisterRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.security.AuthRateLimiter;
+import com.eventplatform.security.JwtClaims;
+import com.eventplatform.security.JwtKeyRing;
 import com.eventplatform.service.AuthService;
 import com.eventplatform.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Authentication Controller
  * Handles user authentication endpoints
@@ -31,6 +42,12 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private AuthRateLimiter rateLimiter;
+
+    @Autowired(required = false)
+    private JwtKeyRing keyRing;
+
     /**
      * Register new user
      * 
@@ -39,9 +56,13 @@ public class AuthController {
      */
     @PostMapping("/register")
     @Operation(summary = "Register new user", description = "Create a new user account and return JWT token")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(
+            @Valid @RequestBody RegisterRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimiter.check(httpRequest.getRemoteAddr(), request.getEmail());
+        return authService.register(request)
+                .thenApply(response -> new ResponseEntity<>(response, HttpStatus.CREATED));
     }
 
     /**
@@ -52,8 +73,25 @@ public class AuthController {
      */
     @PostMapping("/login")
     @Operation(summary = "User login", description = "Authenticate user and return JWT token")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(
+            @Valid @RequestBody LoginRequest request,
+            HttpServletRequest httpRequest
+    ) {
+        rateLimiter.check(httpRequest.getRemoteAddr(), request.getEmail());
+        return authService.login(request)
+                .thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Refresh access token
+     * 
+     * @param request RefreshTokenRequest containing the current refresh token
+     * @return AuthResponse with a new JWT token and a rotated refresh token
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh access token", description = "Exchange a refresh token for a new JWT token; the refresh token is rotated")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        AuthResponse response = authService.refresh(request);
         return ResponseEntity.ok(response);
     }
 
@@ -73,15 +111,37 @@ public class AuthController {
     }
 
     /**
-     * Logout (for frontend to clear token)
+     * Logout: revokes the current access token and the given refresh token
      * 
+     * @param request optional RefreshTokenRequest with the refresh token to revoke
      * @return Success message
      */
     @PostMapping("/logout")
-    @Operation(summary = "User logout", description = "Logout current user (client should discard token)")
-    public ResponseEntity<?> logout() {
+    @Operation(summary = "User logout", description = "Revoke the current access token and, if provided, the refresh token")
+    public ResponseEntity<?> logout(@RequestBody(required = false) RefreshTokenRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        JwtClaims claims = authentication != null && authentication.getCredentials() instanceof JwtClaims jwtClaims
+                ? jwtClaims
+                : null;
+
+        authService.logout(claims, request != null ? request.getRefreshToken() : null);
+
         return ResponseEntity.ok(new Object() {
             public final String message = "Logged out successfully";
         });
     }
+
+    /**
+     * Public keys for local token verification by other services
+     * 
+     * @return JSON Web Key Set (empty when tokens are signed with a shared HMAC secret)
+     */
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "JSON Web Key Set", description = "Public keys used to verify ES256-signed access tokens")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        Map<String, Object> jwks = keyRing != null ? keyRing.toJwks() : Map.of("keys", List.of());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwks);
+    }
 }
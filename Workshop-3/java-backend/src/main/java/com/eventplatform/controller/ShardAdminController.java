@@ -0,0 +1,53 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.ShardStatus;
+import com.eventplatform.sharding.ShardRebalancer;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Shard Admin Controller
+ * Shard overview and online rebalancing; only present with sharding.enabled
+ */
+@RestController
+@RequestMapping("/api/admin/shards")
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "Shards", description = "User shard administration endpoints (Admin only)")
+public class ShardAdminController {
+
+    @Autowired
+    private ShardRebalancer shardRebalancer;
+
+    /**
+     * Get shard status (Admin only)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'SHARDS_MANAGE')")
+    @Operation(summary = "Get shard status", description = "Buckets and users per shard (Admin only)")
+    public ResponseEntity<ShardStatus> getStatus() {
+        return ResponseEntity.ok(shardRebalancer.status());
+    }
+
+    /**
+     * Rebalance shards (Admin only)
+     * Starts moving buckets in the background until every shard owns an equal share;
+     * poll GET /api/admin/shards for progress
+     */
+    @PostMapping("/rebalance")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'SHARDS_MANAGE')")
+    @Operation(summary = "Rebalance shards", description = "Spread buckets evenly over all configured shards (Admin only)")
+    public ResponseEntity<ShardStatus> rebalance() {
+        shardRebalancer.startRebalance();
+        return ResponseEntity.accepted().body(shardRebalancer.status());
+    }
+}
@@ -1,7 +1,16 @@
 package com.eventplatform.controller;
 
+import com.eventplatform.dto.CursorPage;
 import com.eventplatform.dto.UpdateUserRequest;
+import com.eventplatform.dto.UpdateUserStatusRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.model.Permission;
+import com.eventplatform.model.User;
+import com.eventplatform.security.JwtPermissionEvaluator;
 import com.eventplatform.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -14,7 +23,6 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 /**
  * User Controller
@@ -40,14 +48,37 @@ public class UserController {
     }
 
     /**
-     * Get all users (Admin only)
+     * List users (Admin only), one page at a time
      */
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all users", description = "Retrieve all users (Admin only)")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'USERS_READ')")
+    @Operation(summary = "List users", description = "Keyset-paginated users filtered by role and status (Admin only)")
+    public ResponseEntity<CursorPage<UserDTO>> getUsers(
+            @RequestParam(required = false) UserFilter.Role role,
+            @RequestParam(required = false) User.UserStatus status,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String order,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(defaultValue = "false") boolean includeTotal
+    ) {
+        UserSort userSort;
+        try {
+            userSort = UserSort.fromProperty(sort);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("sort must be one of createdAt, name, email, id");
+        }
+        if (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc")) {
+            throw new BadRequestException("order must be asc or desc");
+        }
+
+        UserFilter filter = UserFilter.builder()
+                .role(role)
+                .status(status)
+                .build();
+
+        return ResponseEntity.ok(userService.findUsers(filter, userSort, order.equalsIgnoreCase("desc"), cursor,
+                limit, includeTotal));
     }
 
     /**
@@ -59,12 +90,13 @@ public class UserController {
             @PathVariable Long id,
             @Valid @RequestBody UpdateUserRequest request
     ) {
-        // Users can only update their own profile, unless they are admin
+        // Users can only update their own profile, unless they are admin with USERS_UPDATE
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         Long currentUserId = (Long) authentication.getPrincipal();
         
         boolean isAdmin = authentication.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"));
+                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"))
+                && JwtPermissionEvaluator.isGranted(authentication, Permission.USERS_UPDATE);
 
         if (!isAdmin && !currentUserId.equals(id)) {
             return ResponseEntity.status(403).build();
@@ -74,11 +106,25 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Change user status (Admin only)
+     */
+    @PutMapping("/{id}/status")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'USERS_STATUS')")
+    @Operation(summary = "Change user status", description = "Suspend, deactivate or reactivate a user; takes effect on existing tokens immediately (Admin only)")
+    public ResponseEntity<UserDTO> updateUserStatus(
+            @PathVariable Long id,
+            @Valid @RequestBody UpdateUserStatusRequest request
+    ) {
+        UserDTO user = userService.updateUserStatus(id, request.getStatus());
+        return ResponseEntity.ok(user);
+    }
+
     /**
      * Delete user (Admin only)
      */
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'USERS_DELETE')")
     @Operation(summary = "Delete user", description = "Delete user account (Admin only)")
     public ResponseEntity<?> deleteUser(@PathVariable Long id) {
         userService.deleteUser(id);
@@ -91,10 +137,10 @@ public class UserController {
      * Get user statistics (Admin only)
      */
     @GetMapping("/statistics")
-    @PreAuthorize("hasRole('ADMIN')")
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'USERS_READ')")
     @Operation(summary = "Get user statistics", description = "Get user statistics (Admin only)")
-    public ResponseEntity<?> getUserStatistics() {
-        Object statistics = userService.getUserStatistics();
+    public ResponseEntity<UserStatistics> getUserStatistics() {
+        UserStatistics statistics = userService.getUserStatistics();
         return ResponseEntity.ok(statistics);
     }
 }
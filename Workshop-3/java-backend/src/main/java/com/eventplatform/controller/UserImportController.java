@@ -0,0 +1,102 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.UserImportError;
+import com.eventplatform.dto.UserImportProgress;
+import com.eventplatform.service.UserImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * User Import Controller
+ * Bulk account creation for administrators
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@SecurityRequirement(name = "bearer-jwt")
+@Tag(name = "User Import", description = "Bulk user import endpoints (Admin only)")
+public class UserImportController {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Import users (Admin only)
+     * Reads the request body as it arrives and streams back one NDJSON line per
+     * rejected row plus a progress line per chunk; the last line has done = true.
+     * The response starts with the first line, so errors raised before any row is
+     * processed (bad CSV header, import already running) get a normal error response.
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", NDJSON})
+    @PreAuthorize("hasRole('ADMIN') and hasPermission(null, 'USERS_IMPORT')")
+    @Operation(summary = "Import users", description = "Bulk-create buyer and organizer accounts from a CSV or NDJSON body (Admin only)")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Long adminId = (Long) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        try {
+            userImportService.importUsers(request.getInputStream(), format, adminId, new NdjsonListener(response));
+        } catch (IOException e) {
+            // The client went away; rows imported so far are kept and audited
+            logger.info("User import stopped: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes each import event as an NDJSON line, flushing after every progress line
+     */
+    private class NdjsonListener implements UserImportService.Listener {
+
+        private final HttpServletResponse response;
+        private Writer writer;
+
+        NdjsonListener(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        @Override
+        public void onError(UserImportError error) throws IOException {
+            writeLine(error);
+        }
+
+        @Override
+        public void onProgress(UserImportProgress progress) throws IOException {
+            writeLine(progress);
+            writer.flush();
+        }
+
+        private void writeLine(Object value) throws IOException {
+            if (writer == null) {
+                response.setContentType(NDJSON + ";charset=UTF-8");
+                writer = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+            }
+            writer.write(objectMapper.writeValueAsString(value));
+            writer.write('\n');
+        }
+    }
+}
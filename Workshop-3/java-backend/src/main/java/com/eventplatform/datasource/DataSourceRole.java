@@ -0,0 +1,10 @@
+package com.eventplatform.datasource;
+
+/**
+ * Data Source Role
+ * Lookup keys of the routing data source
+ */
+public enum DataSourceRole {
+    PRIMARY,
+    REPLICA
+}
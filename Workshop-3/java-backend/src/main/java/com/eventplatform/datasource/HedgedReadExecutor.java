@@ -0,0 +1,293 @@
+package com.eventplatform.datasource;
+
+import com.eventplatform.util.LatencyTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hedged Read Executor
+ * Runs an idempotent query on the replica and, if it has not answered within the
+ * replica's recent latency percentile, runs it on the primary as well. The first
+ * answer wins and the other statement is cancelled with Statement.cancel().
+ *
+ * Users inside their read-your-writes window are read from the primary only, since
+ * the replica may not have their write yet.
+ *
+ * Every replica attempt contributes one latency sample. One that failed or was
+ * cancelled has not answered, so the time it ran is recorded as a lower bound;
+ * otherwise a slow replica would only report its fast reads and the hedge delay
+ * would shrink as it slows down. Attempts run on a bounded pool: when it is full
+ * the read goes straight to the primary, or the hedge is skipped.
+ */
+public class HedgedReadExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(HedgedReadExecutor.class);
+
+    private final JdbcTemplate replica;
+    private final JdbcTemplate primary;
+    private final ReadYourWritesTracker readYourWrites;
+    private final ThreadPoolExecutor executor;
+    private final LatencyTracker replicaLatency;
+    private final long minDelayNanos;
+    private final long maxDelayNanos;
+    private final long timeoutNanos;
+
+    private final Counter reads;
+    private final Counter hedges;
+    private final Counter hedgeWins;
+    private final Counter rejected;
+
+    /**
+     * @param threads attempts running at once
+     * @param queueCapacity attempts waiting for a thread; further ones are rejected
+     * @param percentile replica latency percentile after which the hedge is sent, e.g. 0.95
+     * @param minDelayMs lower bound of the hedge delay
+     * @param maxDelayMs upper bound of the hedge delay, also used until enough latencies are known
+     * @param timeoutMs give up when neither data source has answered by then
+     */
+    public HedgedReadExecutor(DataSource primary, DataSource replica, ReadYourWritesTracker readYourWrites,
+                              MeterRegistry meterRegistry, int threads, int queueCapacity, double percentile,
+                              long minDelayMs, long maxDelayMs, long timeoutMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.readYourWrites = readYourWrites;
+        this.replicaLatency = new LatencyTracker(1024, percentile, 64);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "hedged-read-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.reads = Counter.builder("datasource.hedged.reads")
+                .description("Reads eligible for hedging")
+                .register(meterRegistry);
+        this.hedges = Counter.builder("datasource.hedged.hedges")
+                .description("Reads for which the primary was queried as well")
+                .register(meterRegistry);
+        this.hedgeWins = Counter.builder("datasource.hedged.wins")
+                .description("Hedges that answered before the replica")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("datasource.hedged.rejected")
+                .description("Attempts not run because the hedging pool was full")
+                .register(meterRegistry);
+        Gauge.builder("datasource.hedged.delay", this, executor -> executor.hedgeDelayNanos() / 1e6)
+                .description("Current hedge delay in milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run a read-only query, hedged across replica and primary
+     */
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        if (readYourWrites.isCurrentUserPinned()) {
+            return primary.query(sql, rowMapper, args);
+        }
+        return hedge(sql, rowMapper, args);
+    }
+
+    /**
+     * Run a read-only query about one user, hedged across replica and primary unless
+     * that user or the current user is inside the read-your-writes window
+     */
+    public <T> List<T> queryUser(Long userId, String sql, RowMapper<T> rowMapper, Object... args) {
+        if (readYourWrites.isPinned(userId) || readYourWrites.isCurrentUserPinned()) {
+            return primary.query(sql, rowMapper, args);
+        }
+        return hedge(sql, rowMapper, args);
+    }
+
+    private <T> List<T> hedge(String sql, RowMapper<T> rowMapper, Object[] args) {
+        reads.increment();
+
+        Attempt<T> first = new Attempt<>(false, replica, sql, rowMapper, args);
+        if (!first.start()) {
+            return primary.query(sql, rowMapper, args);
+        }
+        Attempt<T> second = null;
+        try {
+            try {
+                return first.future.get(hedgeDelayNanos(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // Replica is slow: hedge below
+            } catch (ExecutionException e) {
+                logger.debug("Replica read failed, reading from primary: {}", e.getCause().getMessage());
+                return primary.query(sql, rowMapper, args);
+            }
+
+            second = new Attempt<>(true, primary, sql, rowMapper, args);
+            CompletableFuture<List<T>> fastest = first.future;
+            if (second.start()) {
+                hedges.increment();
+                fastest = firstSuccess(first.future, second.future);
+            }
+            List<T> rows = fastest.get(timeoutNanos, TimeUnit.NANOSECONDS);
+            if (rows == second.future.getNow(null)) {
+                hedgeWins.increment();
+            }
+            return rows;
+        } catch (TimeoutException e) {
+            throw new QueryTimeoutException("Hedged read timed out: " + sql);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Hedged read interrupted: " + sql);
+        } finally {
+            first.cancel();
+            if (second != null) {
+                second.cancel();
+            }
+        }
+    }
+
+    /**
+     * Delay before hedging: the replica's latency percentile, clamped to [min, max]
+     */
+    long hedgeDelayNanos() {
+        long percentileNanos = replicaLatency.getPercentileNanos();
+        if (percentileNanos < 0) {
+            return maxDelayNanos;
+        }
+        return Math.max(minDelayNanos, Math.min(maxDelayNanos, percentileNanos));
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Completes with the first successful result, or fails once both have failed
+     */
+    private static <T> CompletableFuture<T> firstSuccess(CompletableFuture<T> a, CompletableFuture<T> b) {
+        CompletableFuture<T> fastest = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> future : List.of(a, b)) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    fastest.complete(value);
+                } else if (failures.incrementAndGet() == 2) {
+                    fastest.completeExceptionally(error);
+                }
+            });
+        }
+        return fastest;
+    }
+
+    /**
+     * One execution of the query on one data source
+     */
+    private final class Attempt<T> {
+
+        private final boolean onPrimary;
+        private final JdbcTemplate jdbcTemplate;
+        private final String sql;
+        private final RowMapper<T> rowMapper;
+        private final Object[] args;
+        private final AtomicReference<Statement> statement = new AtomicReference<>();
+        private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+        private final AtomicBoolean recorded = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long started;
+
+        private Attempt(boolean onPrimary, JdbcTemplate jdbcTemplate, String sql, RowMapper<T> rowMapper,
+                        Object[] args) {
+            this.onPrimary = onPrimary;
+            this.jdbcTemplate = jdbcTemplate;
+            this.sql = sql;
+            this.rowMapper = rowMapper;
+            this.args = args;
+        }
+
+        /**
+         * @return false if the pool is full and the attempt will not run
+         */
+        private boolean start() {
+            started = System.nanoTime();
+            try {
+                executor.execute(this::run);
+                return true;
+            } catch (RejectedExecutionException e) {
+                rejected.increment();
+                future.cancel(false);
+                return false;
+            }
+        }
+
+        private void run() {
+            try {
+                List<T> rows = jdbcTemplate.query(connection -> {
+                    if (cancelled) {
+                        throw new SQLException("Hedged read cancelled");
+                    }
+                    PreparedStatement prepared = connection.prepareStatement(sql);
+                    statement.set(prepared);
+                    for (int i = 0; i < args.length; i++) {
+                        prepared.setObject(i + 1, args[i]);
+                    }
+                    return prepared;
+                }, rowMapper);
+                recordLatency();
+                future.complete(rows);
+            } catch (RuntimeException e) {
+                recordLatency();
+                future.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Record the time since start(), once per replica attempt: the latency if it
+         * answered, else a lower bound of it
+         */
+        private void recordLatency() {
+            if (!onPrimary && recorded.compareAndSet(false, true)) {
+                replicaLatency.record(System.nanoTime() - started);
+            }
+        }
+
+        private void cancel() {
+            if (!future.isDone()) {
+                recordLatency();
+            }
+            cancelled = true;
+            Statement running = statement.get();
+            if (running != null && !future.isDone()) {
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    logger.debug("Could not cancel hedged read: {}", e.getMessage());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.eventplatform.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Read-Your-Writes Tracker
+ * Remembers users who just wrote, or were written to, so their reads stay on the
+ * primary until the replica has had window-ms to catch up.
+ *
+ * A user who writes through an HTTP request also gets a short-lived cookie naming
+ * them and the end of their window, so their next requests stay on the primary
+ * whichever instance serves them. Users written to by someone else are only pinned
+ * on the instance that made the write. The cookie is not signed: it can only move
+ * its holder's own reads to the primary, and never for longer than window-ms.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    public static final String COOKIE_NAME = "rw-pin";
+
+    @Value("${datasource.read-your-writes.window-ms:5000}")
+    private long windowMs;
+
+    @Value("${datasource.read-your-writes.maximum-size:100000}")
+    private long maximumSize;
+
+    private Cache<Long, Boolean> recentWriters;
+
+    @PostConstruct
+    public void init() {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .build();
+    }
+
+    /**
+     * Pin the given user and the current user to the primary, starting when the
+     * current transaction commits
+     */
+    public void recordWrite(Long userId) {
+        Long currentUserId = currentUserId();
+        ServletRequestAttributes request = currentRequest();
+        Runnable pin = () -> {
+            if (userId != null) {
+                recentWriters.put(userId, Boolean.TRUE);
+            }
+            if (currentUserId != null) {
+                recentWriters.put(currentUserId, Boolean.TRUE);
+                if (request != null) {
+                    setCookie(request, currentUserId);
+                }
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pin.run();
+                }
+            });
+        } else {
+            pin.run();
+        }
+    }
+
+    /**
+     * Whether the authenticated user of this thread must read from the primary
+     */
+    public boolean isCurrentUserPinned() {
+        Long currentUserId = currentUserId();
+        if (currentUserId == null) {
+            return false;
+        }
+        return recentWriters.getIfPresent(currentUserId) != null || hasCookie(currentRequest(), currentUserId);
+    }
+
+    /**
+     * Whether reads of the given user must go to the primary: it was written on this
+     * instance within the window, or it is the current user and carries a pin cookie
+     */
+    public boolean isPinned(Long userId) {
+        if (recentWriters.getIfPresent(userId) != null) {
+            return true;
+        }
+        return userId.equals(currentUserId()) && hasCookie(currentRequest(), userId);
+    }
+
+    private void setCookie(ServletRequestAttributes request, Long userId) {
+        HttpServletResponse response = request.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + windowMs;
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, userId + "." + until)
+                .path("/")
+                .maxAge(Duration.ofMillis(windowMs).toSeconds() + 1)
+                .httpOnly(true)
+                .secure(request.getRequest().isSecure())
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /**
+     * Whether the request carries an unexpired cookie for this user. A window ending
+     * further ahead than window-ms was not issued by setCookie() and is ignored.
+     */
+    private boolean hasCookie(ServletRequestAttributes request, Long userId) {
+        if (request == null) {
+            return false;
+        }
+        Cookie[] cookies = request.getRequest().getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : cookies) {
+            if (!COOKIE_NAME.equals(cookie.getName())) {
+                continue;
+            }
+            String[] parts = cookie.getValue().split("\\.", 2);
+            try {
+                long until = Long.parseLong(parts[1]);
+                if (parts[0].equals(userId.toString()) && until > now && until <= now + windowMs) {
+                    return true;
+                }
+            } catch (NumberFormatException | IndexOutOfBoundsException e) {
+                // Not a cookie we issued
+            }
+        }
+        return false;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servlet ? servlet : null;
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof Long id ? id : null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.eventplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Log DTO
+ * Flat view of an audit_logs row; user and admin are referenced by id only
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogDTO {
+
+    private Long id;
+    private Long userId;
+    private Long adminId;
+    private String action;
+    private String entity;
+    private Long entityId;
+    private String details;
+    private String ipAddress;
+    private String userAgent;
+    private LocalDateTime timestamp;
+}
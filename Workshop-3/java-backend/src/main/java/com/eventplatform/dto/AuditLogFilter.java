@@ -0,0 +1,24 @@
+package com.eventplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Log Filter
+ * Optional criteria for audit log queries; null fields are not filtered on
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogFilter {
+
+    private Long userId;
+    private String action;
+    private LocalDateTime from;   // inclusive
+    private LocalDateTime to;     // exclusive
+}
@@ -16,6 +16,7 @@ import lombok.NoArgsConstructor;
 public class AuthResponse {
 
     private String token;
+    private String refreshToken;
     private String tokenType = "Bearer";
     private Long userId;
     private String email;
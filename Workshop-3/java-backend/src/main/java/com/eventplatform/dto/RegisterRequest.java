@@ -1,5 +1,6 @@
 package com.eventplatform.dto;
 
+import com.eventplatform.model.Permission;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -8,6 +9,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Set;
+
 /**
  * Register Request DTO
  * Used for new user registration
@@ -23,6 +26,7 @@ public class RegisterRequest {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email must be valid")
+    @Size(max = 100, message = "Email must not exceed 100 characters")
     private String email;
 
     @Pattern(regexp = "^\\+?[1-9]\\d{1,14}$", message = "Invalid phone number format")
@@ -44,7 +48,9 @@ public class RegisterRequest {
     private String userType;
 
     // Optional fields for specific user types
+    @Size(max = 150, message = "Organization name must not exceed 150 characters")
     private String organizationName;  // For EVENT_ORGANIZER
-    private String permissions;        // For PLATFORM_ADMIN
+    private Set<Permission> permissions;  // For PLATFORM_ADMIN
+    @Size(max = 50, message = "Access level must not exceed 50 characters")
     private String accessLevel;        // For PLATFORM_ADMIN
 }
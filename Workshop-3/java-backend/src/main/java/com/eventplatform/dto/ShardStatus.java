@@ -0,0 +1,36 @@
+package com.eventplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Shard Status DTO
+ * Buckets and users per shard, and whether buckets are being moved
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardStatus {
+
+    private List<ShardInfo> shards;
+    private int movingBuckets;
+    private boolean rebalancing;
+
+    /**
+     * Buckets owned by one shard and the users stored in them
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ShardInfo {
+
+        private int shard;
+        private int buckets;
+        private long users;
+    }
+}
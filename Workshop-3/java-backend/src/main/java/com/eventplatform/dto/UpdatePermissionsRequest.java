@@ -0,0 +1,22 @@
+package com.eventplatform.dto;
+
+import com.eventplatform.model.Permission;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Update Permissions Request DTO
+ * New set of permissions of an admin, replacing the current one
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdatePermissionsRequest {
+
+    @NotNull(message = "Permissions are required")
+    private Set<Permission> permissions;
+}
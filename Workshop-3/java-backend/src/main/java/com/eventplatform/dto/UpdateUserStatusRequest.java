@@ -0,0 +1,20 @@
+package com.eventplatform.dto;
+
+import com.eventplatform.model.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Update User Status Request DTO
+ * Used by admins to suspend, deactivate or reactivate accounts
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateUserStatusRequest {
+
+    @NotNull(message = "Status is required")
+    private User.UserStatus status;
+}
@@ -1,5 +1,6 @@
 package com.eventplatform.dto;
 
+import com.eventplatform.model.Permission;
 import com.eventplatform.model.User;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 /**
  * User DTO
@@ -15,7 +17,7 @@ import java.time.LocalDateTime;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class UserDTO {
 
     private Long id;
@@ -29,9 +31,20 @@ public class UserDTO {
     
     // Specific fields for different user types
     private String organizationName;  // For EventOrganizer
-    private String permissions;       // For PlatformAdmin
+    private Set<Permission> permissions;  // For PlatformAdmin
     private String accessLevel;       // For PlatformAdmin
 
+    /**
+     * Projection constructor for JPQL constructor expressions, which select only
+     * these columns and never the password
+     */
+    public UserDTO(Long id, String name, String email, String phoneNumber, User.UserStatus status, String role,
+                   LocalDateTime createdAt, LocalDateTime lastLogin, String organizationName,
+                   Long permissions, String accessLevel) {
+        this(id, name, email, phoneNumber, status.name(), role, createdAt, lastLogin,
+                organizationName, permissions != null ? Permission.fromMask(permissions) : null, accessLevel);
+    }
+
     /**
      * Convert User entity to UserDTO
      */
@@ -50,7 +63,7 @@ public class UserDTO {
         if (user instanceof com.eventplatform.model.EventOrganizer) {
             builder.organizationName(((com.eventplatform.model.EventOrganizer) user).getOrganizationName());
         } else if (user instanceof com.eventplatform.model.PlatformAdmin) {
-            builder.permissions(((com.eventplatform.model.PlatformAdmin) user).getPermissions());
+            builder.permissions(Permission.fromMask(((com.eventplatform.model.PlatformAdmin) user).getPermissionMask()));
             builder.accessLevel(((com.eventplatform.model.PlatformAdmin) user).getAccessLevel());
         }
 
@@ -0,0 +1,75 @@
+package com.eventplatform.dto;
+
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.PlatformAdmin;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import jakarta.persistence.DiscriminatorValue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Filter
+ * Optional criteria for user listings; null fields are not filtered on
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserFilter {
+
+    private Role role;
+    private User.UserStatus status;
+
+    /**
+     * User type, i.e. the entity subclass stored in the user_type discriminator
+     */
+    public enum Role {
+        ADMIN(PlatformAdmin.class),
+        ORGANIZER(EventOrganizer.class),
+        BUYER(TicketBuyer.class);
+
+        private final Class<? extends User> entityType;
+
+        Role(Class<? extends User> entityType) {
+            this.entityType = entityType;
+        }
+
+        public Class<? extends User> getEntityType() {
+            return entityType;
+        }
+
+        /**
+         * user_type value of the role, i.e. the @DiscriminatorValue of its entity class
+         */
+        public String getDiscriminator() {
+            return entityType.getAnnotation(DiscriminatorValue.class).value();
+        }
+
+        /**
+         * Role stored as the given user_type value
+         */
+        public static Role ofDiscriminator(String discriminator) {
+            for (Role role : values()) {
+                if (role.getDiscriminator().equals(discriminator)) {
+                    return role;
+                }
+            }
+            throw new IllegalArgumentException("Unknown user type: " + discriminator);
+        }
+
+        /**
+         * Role of a user entity (or of a proxy of one)
+         */
+        public static Role of(User user) {
+            for (Role role : values()) {
+                if (role.entityType.isInstance(user)) {
+                    return role;
+                }
+            }
+            throw new IllegalArgumentException("Unknown user type: " + user.getClass().getName());
+        }
+    }
+}
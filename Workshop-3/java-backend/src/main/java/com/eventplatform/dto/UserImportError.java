@@ -0,0 +1,21 @@
+package com.eventplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Import Error DTO
+ * A row of a bulk import that was not imported
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportError {
+
+    private final String type = "error";
+
+    private long record;      // 1-based data record (CSV) or line (NDJSON) number
+    private String email;
+    private String message;
+}
@@ -0,0 +1,23 @@
+package com.eventplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User Import Progress DTO
+ * Running totals of a bulk import; the last one sent has done = true
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportProgress {
+
+    private final String type = "progress";
+
+    private long processed;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private boolean done;
+}
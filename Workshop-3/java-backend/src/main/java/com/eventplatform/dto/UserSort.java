@@ -0,0 +1,34 @@
+package com.eventplatform.dto;
+
+/**
+ * User Sort
+ * Sort keys of the user listing. Each is a non-null column; id breaks ties.
+ */
+public enum UserSort {
+    CREATED_AT("createdAt"),
+    NAME("name"),
+    EMAIL("email"),
+    ID("id");
+
+    private final String property;
+
+    UserSort(String property) {
+        this.property = property;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no sort key has this property name
+     */
+    public static UserSort fromProperty(String property) {
+        for (UserSort sort : values()) {
+            if (sort.property.equals(property)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort: " + property);
+    }
+}
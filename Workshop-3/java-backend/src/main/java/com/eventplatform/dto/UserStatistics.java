@@ -0,0 +1,38 @@
+package com.eventplatform.dto;
+
+import com.eventplatform.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * User Statistics DTO
+ * Number of users overall, per status and per role; deleted users are included in total
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserStatistics {
+
+    private long total;
+    private long active;
+    private long suspended;
+    private Map<User.UserStatus, Long> byStatus;
+    private Map<UserFilter.Role, RoleStatistics> byRole;
+
+    /**
+     * Number of users of one role, overall and per status
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RoleStatistics {
+
+        private long total;
+        private Map<User.UserStatus, Long> byStatus;
+    }
+}
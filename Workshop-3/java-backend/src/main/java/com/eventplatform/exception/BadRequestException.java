@@ -0,0 +1,12 @@
+package com.eventplatform.exception;
+
+/**
+ * Bad Request Exception
+ * Thrown when request parameters are malformed
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
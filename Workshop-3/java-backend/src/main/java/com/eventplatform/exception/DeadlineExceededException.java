@@ -0,0 +1,12 @@
+package com.eventplatform.exception;
+
+/**
+ * Deadline Exceeded Exception
+ * Thrown when a long-running operation is cut off at its configured deadline
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
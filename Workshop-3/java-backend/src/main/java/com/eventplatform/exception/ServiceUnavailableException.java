@@ -0,0 +1,19 @@
+package com.eventplatform.exception;
+
+/**
+ * Service Unavailable Exception
+ * Thrown when a request is shed because the server is saturated
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
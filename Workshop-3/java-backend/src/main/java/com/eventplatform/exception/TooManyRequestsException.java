@@ -0,0 +1,19 @@
+package com.eventplatform.exception;
+
+/**
+ * Too Many Requests Exception
+ * Thrown when a client exceeds its request rate limit
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
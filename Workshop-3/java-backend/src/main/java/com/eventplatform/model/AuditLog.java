@@ -4,16 +4,25 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
 /**
  * Audit Log Entity
  * Records all important actions performed in the system
+ * The user and admin are referenced by id only, as they may live on a shard (see UserStore).
  */
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        // One index per filter combination of the keyset-paginated audit query
+        @Index(name = "idx_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_user_timestamp", columnList = "user_id, timestamp, id"),
+        @Index(name = "idx_action_timestamp", columnList = "action, timestamp, id"),
+        @Index(name = "idx_user_action_timestamp", columnList = "user_id, action, timestamp, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,13 +33,11 @@ public class AuditLog {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "user_id")
-    private User user;
+    @Column(name = "user_id")
+    private Long userId;
 
-    @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "admin_id")
-    private User admin;
+    @Column(name = "admin_id")
+    private Long adminId;
 
     @Column(nullable = false, length = 100)
     private String action;
@@ -41,7 +48,12 @@ public class AuditLog {
     @Column(name = "entity_id")
     private Long entityId;
 
+    // Read on first access only (bytecode enhancement); excluded from toString/equals
+    // so that logging or comparing an entry does not load it
+    @Basic(fetch = FetchType.LAZY)
     @Column(columnDefinition = "TEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String details;
 
     @Column(name = "ip_address", length = 45)
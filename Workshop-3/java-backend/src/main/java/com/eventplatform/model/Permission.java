@@ -0,0 +1,68 @@
+package com.eventplatform.model;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Admin Permission
+ * Stored as one bit of PlatformAdmin.permissions and of the JWT "perm" claim. Each
+ * constant has a fixed bit, so constants can be added or reordered without changing
+ * stored masks; a bit must never be reused for a different permission.
+ */
+public enum Permission {
+    USERS_READ(0),
+    USERS_UPDATE(1),
+    USERS_STATUS(2),
+    USERS_DELETE(3),
+    USERS_IMPORT(4),
+    AUDIT_READ(5),
+    AUDIT_EXPORT(6),
+    SHARDS_MANAGE(7),
+    ADMINS_MANAGE(8);
+
+    /**
+     * Mask granting every permission, including ones added later (legacy value "ALL")
+     */
+    public static final long ALL = -1L;
+
+    private final long bit;
+
+    Permission(int index) {
+        this.bit = 1L << index;
+    }
+
+    public long getBit() {
+        return bit;
+    }
+
+    /**
+     * Check whether a mask grants this permission
+     */
+    public boolean isGrantedBy(long mask) {
+        return (mask & bit) != 0;
+    }
+
+    public static long toMask(Collection<Permission> permissions) {
+        long mask = 0;
+        if (permissions != null) {
+            for (Permission permission : permissions) {
+                mask |= permission.bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Permissions granted by a mask; unknown bits are ignored
+     */
+    public static Set<Permission> fromMask(long mask) {
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+        for (Permission permission : values()) {
+            if (permission.isGrantedBy(mask)) {
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+}
@@ -20,8 +20,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class PlatformAdmin extends User {
 
-    @Column(columnDefinition = "TEXT")
-    private String permissions;
+    // Bitmask of Permission bits (Permission.ALL grants everything); NULL grants nothing
+    @Column(name = "permissions")
+    private Long permissions;
 
     @Column(name = "access_level", length = 50)
     private String accessLevel;
@@ -37,4 +38,18 @@ public class PlatformAdmin extends User {
     public boolean isSuperAdmin() {
         return "SUPER_ADMIN".equals(accessLevel);
     }
+
+    /**
+     * Permission bitmask, 0 when none is stored
+     */
+    public long getPermissionMask() {
+        return permissions != null ? permissions : 0L;
+    }
+
+    /**
+     * Check if admin has a permission
+     */
+    public boolean hasPermission(Permission permission) {
+        return permission.isGrantedBy(getPermissionMask());
+    }
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -13,6 +14,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
 
 /**
  * Base User Entity with Single Table Inheritance
@@ -24,7 +26,15 @@ import java.time.LocalDateTime;
  * - TicketBuyer: Regular users who purchase tickets
  */
 @Entity
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_UNIQUE_KEY, columnNames = "email_normalized")
+}, indexes = {
+        // Keyset pagination of the admin listing; InnoDB appends id to every secondary index
+        @Index(name = "idx_created_at", columnList = "created_at"),
+        @Index(name = "idx_name", columnList = "name"),
+        @Index(name = "idx_status_created", columnList = "status, created_at"),
+        @Index(name = "idx_type_created", columnList = "user_type, created_at")
+})
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "user_type", discriminatorType = DiscriminatorType.STRING)
 @EntityListeners(AuditingEntityListener.class)
@@ -34,6 +44,12 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public abstract class User {
 
+    /**
+     * The only unique key on email: two addresses differing in case or surrounding
+     * whitespace belong to the same account
+     */
+    public static final String EMAIL_UNIQUE_KEY = "uk_users_email_normalized";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -45,14 +61,21 @@ public abstract class User {
 
     @NotBlank(message = "Email is required")
     @Email(message = "Email must be valid")
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
+    // Lookup and uniqueness key for email; kept in sync by setEmail()
+    @Setter(AccessLevel.NONE)
+    @Column(name = "email_normalized", nullable = false, length = 100)
+    private String emailNormalized;
+
     @Size(max = 20, message = "Phone number must not exceed 20 characters")
     @Column(name = "phone_number", length = 20)
     private String phoneNumber;
 
+    // Only needed to log in, so not read with the rest of the row (bytecode enhancement)
     @NotBlank(message = "Password is required")
+    @Basic(fetch = FetchType.LAZY)
     @Column(nullable = false)
     private String password;
 
@@ -71,6 +94,21 @@ public abstract class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Set the email and its normalized form
+     */
+    public void setEmail(String email) {
+        this.email = email;
+        this.emailNormalized = normalizeEmail(email);
+    }
+
+    /**
+     * Normalized form of an email, as stored in email_normalized
+     */
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
     /**
      * Get the user role based on discriminator value
      */
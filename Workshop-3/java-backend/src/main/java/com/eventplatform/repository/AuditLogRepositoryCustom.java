@@ -0,0 +1,21 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.KeysetCursor;
+
+import java.util.List;
+
+/**
+ * Custom queries for Audit Log Entity that need a dynamically built JPQL string
+ */
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Find audit logs matching the filter, newest first, starting after the cursor
+     *
+     * @param after position to continue from, or null for the first page
+     * @param limit maximum number of rows to return
+     */
+    List<AuditLogDTO> findPage(AuditLogFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,71 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paginated audit log queries
+ * Selects straight into AuditLogDTO, so no AuditLog entity is managed.
+ */
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    private static final String SELECT_DTO = "SELECT new com.eventplatform.dto.AuditLogDTO("
+            + "a.id, a.userId, a.adminId, a.action, a.entity, a.entityId, a.details, "
+            + "a.ipAddress, a.userAgent, a.timestamp) FROM AuditLog a";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLogDTO> findPage(AuditLogFilter filter, KeysetCursor after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            conditions.add("a.userId = :userId");
+        }
+        if (filter.getAction() != null) {
+            conditions.add("a.action = :action");
+        }
+        if (filter.getFrom() != null) {
+            conditions.add("a.timestamp >= :from");
+        }
+        if (filter.getTo() != null) {
+            conditions.add("a.timestamp < :to");
+        }
+        if (after != null) {
+            conditions.add("(a.timestamp < :afterTimestamp OR (a.timestamp = :afterTimestamp AND a.id < :afterId))");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY a.timestamp DESC, a.id DESC");
+
+        TypedQuery<AuditLogDTO> query = entityManager.createQuery(jpql.toString(), AuditLogDTO.class);
+        if (filter.getUserId() != null) {
+            query.setParameter("userId", filter.getUserId());
+        }
+        if (filter.getAction() != null) {
+            query.setParameter("action", filter.getAction());
+        }
+        if (filter.getFrom() != null) {
+            query.setParameter("from", filter.getFrom());
+        }
+        if (filter.getTo() != null) {
+            query.setParameter("to", filter.getTo());
+        }
+        if (after != null) {
+            query.setParameter("afterTimestamp", after.timestamp());
+            query.setParameter("afterId", after.id());
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+}
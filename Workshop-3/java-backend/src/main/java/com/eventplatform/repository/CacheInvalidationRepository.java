@@ -0,0 +1,43 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.model.CacheInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository for Cache Invalidation Entity
+ */
+@Repository
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+    /**
+     * Highest id written so far, or null if the table is empty
+     */
+    @Query("SELECT MAX(c.id) FROM CacheInvalidation c")
+    Long findMaxId();
+
+    /**
+     * Rows after the given id, in id order (a primary key range scan)
+     */
+    List<CacheInvalidation> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * Rows with the given ids, used to re-check ids skipped by an earlier poll
+     */
+    List<CacheInvalidation> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Delete rows written before the cutoff
+     */
+    @Modifying
+    @Query("DELETE FROM CacheInvalidation c WHERE c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
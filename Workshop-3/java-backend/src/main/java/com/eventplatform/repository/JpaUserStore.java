@@ -0,0 +1,263 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.PlatformAdmin;
+import com.eventplatform.model.User;
+import com.eventplatform.util.SortCursor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * JPA User Store
+ * Users in the users table of the application database, read and written through
+ * UserRepository. Bulk inserts and last-login updates use JDBC batches instead.
+ * Used unless sharding.enabled is set.
+ */
+@Repository
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "false", matchIfMissing = true)
+public class JpaUserStore implements UserStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(JpaUserStore.class);
+
+    private static final String INSERT_SQL = "INSERT INTO users (user_type, name, email, email_normalized, "
+            + "phone_number, password, status, permissions, access_level, organization_name, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Never moves last_login backwards if an older value is written after a newer one
+    private static final String UPDATE_LAST_LOGIN_SQL =
+            "UPDATE users SET last_login = ? WHERE id = ? AND (last_login IS NULL OR last_login < ?)";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Insert a new user; duplicates are rejected by the unique key on email_normalized
+     */
+    @Override
+    public User create(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new DuplicateResourceException("Email already exists: " + user.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Insert the users in one JDBC batch; if any row is rejected, none is kept and the
+     * users are inserted one by one to find out which. Ids are not set on the users.
+     */
+    @Override
+    public List<CreateResult> createAll(List<User> users) {
+        LocalDateTime now = LocalDateTime.now();
+        for (User user : users) {
+            if (user.getCreatedAt() == null) {
+                user.setCreatedAt(now);
+            }
+            user.setUpdatedAt(user.getCreatedAt());
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            bind(statement, users.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return users.size();
+                        }
+                    }));
+            return Collections.nCopies(users.size(), CreateResult.CREATED);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("User batch rejected, retrying row by row: {}", e.getMessage());
+        }
+
+        List<CreateResult> results = new ArrayList<>(users.size());
+        for (User user : users) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, statement -> bind(statement, user));
+                results.add(CreateResult.CREATED);
+            } catch (DataIntegrityViolationException e) {
+                if (isDuplicateKey(e)) {
+                    results.add(CreateResult.DUPLICATE_EMAIL);
+                } else {
+                    logger.warn("Insert of user {} rejected by the database: {}", user.getEmail(),
+                            e.getMostSpecificCause().getMessage());
+                    results.add(CreateResult.REJECTED);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        return userRepository.findById(id);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return userRepository.findByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    @Override
+    public Optional<UserDTO> findDtoById(long id) {
+        return userRepository.findDtoById(id);
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> normalizedEmails) {
+        if (normalizedEmails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(normalizedEmails.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email_normalized FROM users WHERE email_normalized IN (" + placeholders + ")",
+                String.class, normalizedEmails.toArray()));
+    }
+
+    @Override
+    public List<UserDTO> findPage(UserFilter filter, UserSort sort, boolean descending, SortCursor after, int limit) {
+        return userRepository.findPage(filter, sort, descending, after, limit);
+    }
+
+    @Override
+    public User update(User user) {
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConflict(e)) {
+                throw new DuplicateResourceException("Email already exists: " + user.getEmail());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void updatePassword(long id, String passwordHash) {
+        userRepository.updatePassword(id, passwordHash);
+    }
+
+    @Override
+    public void updateLastLogins(Map<Long, LocalDateTime> loginTimes) {
+        List<Object[]> batch = new ArrayList<>(loginTimes.size());
+        loginTimes.forEach((userId, loginTime) -> {
+            Timestamp timestamp = Timestamp.valueOf(loginTime);
+            batch.add(new Object[]{timestamp, userId, timestamp});
+        });
+        jdbcTemplate.batchUpdate(UPDATE_LAST_LOGIN_SQL, batch);
+    }
+
+    @Override
+    public Map<UserFilter.Role, Map<User.UserStatus, Long>> countByRoleAndStatus() {
+        Map<UserFilter.Role, Map<User.UserStatus, Long>> counts = new EnumMap<>(UserFilter.Role.class);
+        for (UserFilter.Role role : UserFilter.Role.values()) {
+            Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+            for (User.UserStatus status : User.UserStatus.values()) {
+                byStatus.put(status, 0L);
+            }
+            counts.put(role, byStatus);
+        }
+        for (Object[] row : userRepository.countByTypeAndStatus()) {
+            counts.get(roleOf((Class<?>) row[0]))
+                    .merge((User.UserStatus) row[1], ((Number) row[2]).longValue(), Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public List<Long> findIdsByStatusNot(User.UserStatus status) {
+        return userRepository.findIdsByStatusNot(status);
+    }
+
+    /**
+     * Whether a JPA insert or update violated the unique key on users.email_normalized;
+     * any other violation (or one whose constraint the dialect could not name) is not a conflict
+     */
+    private static boolean isEmailConflict(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+                // MySQL reports "users.uk_users_email_normalized", H2 the index built for it
+                return violation.getConstraintName().toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_KEY);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a JDBC insert hit the unique key on email_normalized
+     */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return e instanceof DuplicateKeyException
+                && message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_UNIQUE_KEY);
+    }
+
+    private static void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, UserFilter.Role.of(user).getDiscriminator());
+        statement.setString(2, user.getName());
+        statement.setString(3, user.getEmail());
+        statement.setString(4, user.getEmailNormalized());
+        statement.setString(5, user.getPhoneNumber());
+        statement.setString(6, user.getPassword());
+        statement.setString(7, user.getStatus().name());
+        if (user instanceof PlatformAdmin admin && admin.getPermissions() != null) {
+            statement.setLong(8, admin.getPermissions());
+        } else {
+            statement.setNull(8, Types.BIGINT);
+        }
+        statement.setString(9, user instanceof PlatformAdmin admin ? admin.getAccessLevel() : null);
+        statement.setString(10, user instanceof EventOrganizer organizer ? organizer.getOrganizationName() : null);
+        statement.setTimestamp(11, Timestamp.valueOf(user.getCreatedAt()));
+        statement.setTimestamp(12, Timestamp.valueOf(user.getUpdatedAt()));
+    }
+
+    private static UserFilter.Role roleOf(Class<?> entityType) {
+        for (UserFilter.Role role : UserFilter.Role.values()) {
+            if (role.getEntityType().equals(entityType)) {
+                return role;
+            }
+        }
+        throw new IllegalStateException("Unknown user type: " + entityType.getName());
+    }
+}
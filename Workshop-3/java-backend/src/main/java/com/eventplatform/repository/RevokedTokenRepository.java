@@ -0,0 +1,35 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for Revoked Token Entity
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Find revocations whose tokens have not expired yet
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Find one user's revocations whose tokens have not expired yet
+     */
+    List<RevokedToken> findByUserIdAndExpiresAtAfter(Long userId, LocalDateTime now);
+
+    /**
+     * Delete revocations whose tokens have expired
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,11 +1,14 @@
 package com.eventplatform.repository;
 
 import com.eventplatform.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,27 +16,38 @@ import java.util.Optional;
  * Provides database access methods for all user types
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
 
     /**
-     * Find user by email (case-insensitive)
+     * Find user by normalized email (see User.normalizeEmail), served by its unique index.
+     * Used to log in, so the lazy password is read in the same query.
      */
-    Optional<User> findByEmailIgnoreCase(String email);
+    @EntityGraph(attributePaths = "password")
+    Optional<User> findByEmailNormalized(String emailNormalized);
 
     /**
-     * Check if email exists
+     * Find user by email and status
      */
-    boolean existsByEmailIgnoreCase(String email);
+    Optional<User> findByEmailAndStatus(String email, User.UserStatus status);
 
     /**
-     * Find user by email and status
+     * Count users per entity type and status in one pass; rows are (Class, UserStatus, Long)
      */
-    Optional<User> findByEmailAndStatus(String email, User.UserStatus status);
+    @Query("SELECT TYPE(u), u.status, COUNT(u) FROM User u GROUP BY TYPE(u), u.status")
+    List<Object[]> countByTypeAndStatus();
+
+    /**
+     * Find ids of users whose status differs from the given one
+     */
+    @Query("SELECT u.id FROM User u WHERE u.status <> :status")
+    List<Long> findIdsByStatusNot(@Param("status") User.UserStatus status);
 
     /**
-     * Count users by status
+     * Replace a user's password hash without loading and merging the entity
      */
-    long countByStatus(User.UserStatus status);
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
 
     /**
      * Custom query to get user with role
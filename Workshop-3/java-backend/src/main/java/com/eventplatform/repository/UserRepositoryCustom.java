@@ -0,0 +1,31 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.util.SortCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Custom queries for User Entity that select DTOs directly: dynamically built JPQL,
+ * or plain JDBC when a lookup is hedged across data sources
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find users matching the filter, ordered by the sort key then id, starting after the cursor
+     *
+     * @param after position to continue from, or null for the first page
+     * @param limit maximum number of rows to return
+     */
+    List<UserDTO> findPage(UserFilter filter, UserSort sort, boolean descending, SortCursor after, int limit);
+
+
+    /**
+     * Find one user as a DTO, without loading the entity or its password. Hedged
+     * across replica and primary when hedged reads are enabled.
+     */
+    Optional<UserDTO> findDtoById(Long id);
+}
@@ -0,0 +1,148 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.datasource.HedgedReadExecutor;
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.model.Permission;
+import com.eventplatform.util.SortCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keyset-paginated user queries
+ * Selects straight into UserDTO with a constructor expression, so no User entity is
+ * managed and the password column is never read. Subtype columns are read through
+ * TREAT and are null for the other user types.
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String SELECT_DTO = "SELECT new com.eventplatform.dto.UserDTO("
+            + "u.id, u.name, u.email, u.phoneNumber, u.status, "
+            + "CASE TYPE(u) WHEN PlatformAdmin THEN 'ROLE_ADMIN' WHEN EventOrganizer THEN 'ROLE_ORGANIZER' "
+            + "ELSE 'ROLE_BUYER' END, "
+            + "u.createdAt, u.lastLogin, TREAT(u AS EventOrganizer).organizationName, "
+            + "TREAT(u AS PlatformAdmin).permissions, TREAT(u AS PlatformAdmin).accessLevel) FROM User u";
+
+    private static final String SELECT_DTO_BY_ID_SQL = "SELECT id, user_type, name, email, phone_number, status, "
+            + "created_at, last_login, organization_name, permissions, access_level FROM users WHERE id = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired(required = false)
+    private HedgedReadExecutor hedgedReads;
+
+    @Override
+    public List<UserDTO> findPage(UserFilter filter, UserSort sort, boolean descending, SortCursor after, int limit) {
+        String key = "u." + sort.getProperty();
+        String direction = descending ? "DESC" : "ASC";
+        String comparison = descending ? "<" : ">";
+
+        List<String> conditions = filterConditions(filter);
+        if (after != null) {
+            conditions.add(sort == UserSort.ID
+                    ? "u.id " + comparison + " :afterId"
+                    : "(" + key + " " + comparison + " :afterValue OR (" + key + " = :afterValue AND u.id "
+                            + comparison + " :afterId))");
+        }
+
+        StringBuilder jpql = new StringBuilder(SELECT_DTO);
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ");
+        if (sort != UserSort.ID) {
+            jpql.append(key).append(' ').append(direction).append(", ");
+        }
+        jpql.append("u.id ").append(direction);
+
+        TypedQuery<UserDTO> query = entityManager.createQuery(jpql.toString(), UserDTO.class);
+        bindFilter(query, filter);
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (sort != UserSort.ID) {
+                query.setParameter("afterValue", sort == UserSort.CREATED_AT
+                        ? LocalDateTime.parse(after.value())
+                        : after.value());
+            }
+        }
+
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Find one user. Inside a read-only transaction, which would read from the replica,
+     * the lookup is hedged (see HedgedReadExecutor); any other transaction, such as a
+     * cache load on the primary, reads through the entity manager.
+     */
+    @Override
+    public Optional<UserDTO> findDtoById(Long id) {
+        if (hedgedReads != null && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return hedgedReads.queryUser(id, SELECT_DTO_BY_ID_SQL, UserRepositoryImpl::mapDto, id).stream().findFirst();
+        }
+        return entityManager.createQuery(SELECT_DTO + " WHERE u.id = :id", UserDTO.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Map a users row (as selected by SELECT_DTO_BY_ID_SQL) to a UserDTO
+     */
+    public static UserDTO mapDto(ResultSet rs, int rowNum) throws SQLException {
+        String role = switch (rs.getString("user_type")) {
+            case "PlatformAdmin" -> "ROLE_ADMIN";
+            case "EventOrganizer" -> "ROLE_ORGANIZER";
+            default -> "ROLE_BUYER";
+        };
+        long permissions = rs.getLong("permissions");
+        boolean hasPermissions = !rs.wasNull();
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        Timestamp lastLogin = rs.getTimestamp("last_login");
+        return UserDTO.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .email(rs.getString("email"))
+                .phoneNumber(rs.getString("phone_number"))
+                .status(rs.getString("status"))
+                .role(role)
+                .createdAt(createdAt != null ? createdAt.toLocalDateTime() : null)
+                .lastLogin(lastLogin != null ? lastLogin.toLocalDateTime() : null)
+                .organizationName(rs.getString("organization_name"))
+                .permissions(hasPermissions ? Permission.fromMask(permissions) : null)
+                .accessLevel(rs.getString("access_level"))
+                .build();
+    }
+
+    private static List<String> filterConditions(UserFilter filter) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getRole() != null) {
+            conditions.add("TYPE(u) = :type");
+        }
+        if (filter.getStatus() != null) {
+            conditions.add("u.status = :status");
+        }
+        return conditions;
+    }
+
+    private static void bindFilter(TypedQuery<?> query, UserFilter filter) {
+        if (filter.getRole() != null) {
+            query.setParameter("type", filter.getRole().getEntityType());
+        }
+        if (filter.getStatus() != null) {
+            query.setParameter("status", filter.getStatus());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.model.User;
+import com.eventplatform.util.SortCursor;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * User Store
+ * Where user accounts live: the users table of the application database (JpaUserStore),
+ * or the shards of ShardedUserStore when sharding.enabled is set. Services read and
+ * write users only through this interface.
+ *
+ * Users returned by the sharded store are not JPA entities: changes to them are only
+ * written by update().
+ */
+public interface UserStore {
+
+    /**
+     * Outcome of inserting one user of createAll()
+     */
+    enum CreateResult {
+        CREATED,
+        DUPLICATE_EMAIL,
+        REJECTED
+    }
+
+    /**
+     * Insert a new user and set its id
+     *
+     * @throws DuplicateResourceException if the email is already registered
+     */
+    User create(User user);
+
+    /**
+     * Insert many new users, e.g. an import chunk; a user that cannot be inserted does
+     * not stop the others. Their ids may be left unset.
+     *
+     * @return the outcome for each user, in order
+     */
+    List<CreateResult> createAll(List<User> users);
+
+    /**
+     * Find a user, including its password hash
+     */
+    Optional<User> findById(long id);
+
+    /**
+     * Find a user by email in any case (see User.normalizeEmail), including its password hash
+     */
+    Optional<User> findByEmail(String email);
+
+    Optional<UserDTO> findDtoById(long id);
+
+    /**
+     * Which of the given normalized emails are already registered
+     */
+    Set<String> findExistingEmails(Collection<String> normalizedEmails);
+
+    /**
+     * One page of the user listing, ordered by the sort key and then id
+     *
+     * @param after position of the last row of the previous page, or null for the first page
+     */
+    List<UserDTO> findPage(UserFilter filter, UserSort sort, boolean descending, SortCursor after, int limit);
+
+    /**
+     * Write back the name, email, phone number, status and subtype fields of a user
+     * returned by findById()
+     *
+     * @throws DuplicateResourceException if another user has the email
+     */
+    User update(User user);
+
+    /**
+     * Replace a user's password hash
+     */
+    void updatePassword(long id, String passwordHash);
+
+    /**
+     * Set users' last login times; a time older than the stored one is ignored
+     */
+    void updateLastLogins(Map<Long, LocalDateTime> loginTimes);
+
+    /**
+     * Number of users per role and status, with every combination present
+     */
+    Map<UserFilter.Role, Map<User.UserStatus, Long>> countByRoleAndStatus();
+
+    List<Long> findIdsByStatusNot(User.UserStatus status);
+}
@@ -0,0 +1,121 @@
+package com.eventplatform.security;
+
+import com.eventplatform.exception.TooManyRequestsException;
+import com.eventplatform.util.TokenBucket;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Auth Rate Limiter
+ * Token buckets for the credential endpoints, keyed by client IP and by normalized
+ * email, checked before any database or hashing work is done.
+ *
+ * Buckets live in a size-bounded cache and are dropped after a key has been idle
+ * for auth.rate-limit.idle-expiry-minutes, so memory stays bounded under address
+ * spraying. A dropped bucket comes back full, so the idle expiry should be longer
+ * than the time a bucket takes to refill.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimiter.class);
+
+    @Value("${auth.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${auth.rate-limit.ip.capacity:20}")
+    private long ipCapacity;
+
+    @Value("${auth.rate-limit.ip.refill-per-minute:20}")
+    private double ipRefillPerMinute;
+
+    @Value("${auth.rate-limit.email.capacity:5}")
+    private long emailCapacity;
+
+    @Value("${auth.rate-limit.email.refill-per-minute:5}")
+    private double emailRefillPerMinute;
+
+    @Value("${auth.rate-limit.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${auth.rate-limit.idle-expiry-minutes:10}")
+    private long idleExpiryMinutes;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<String, TokenBucket> ipBuckets;
+
+    private Cache<String, TokenBucket> emailBuckets;
+
+    private Counter ipRejected;
+
+    private Counter emailRejected;
+
+    @PostConstruct
+    public void init() {
+        this.ipBuckets = newBucketCache();
+        this.emailBuckets = newBucketCache();
+
+        if (meterRegistry != null) {
+            this.ipRejected = meterRegistry.counter("auth.rate-limit.rejected", "key", "ip");
+            this.emailRejected = meterRegistry.counter("auth.rate-limit.rejected", "key", "email");
+        }
+    }
+
+    /**
+     * Take one token for the client address and one for the email
+     *
+     * @throws TooManyRequestsException if either bucket is empty
+     */
+    public void check(String clientIp, String email) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+
+        if (clientIp != null) {
+            TokenBucket bucket = ipBuckets.get(clientIp,
+                    key -> new TokenBucket(ipCapacity, ipRefillPerMinute / 60, now));
+            reject(bucket.tryAcquire(now), ipRejected, "client " + clientIp);
+        }
+
+        if (email != null) {
+            TokenBucket bucket = emailBuckets.get(email.trim().toLowerCase(Locale.ROOT),
+                    key -> new TokenBucket(emailCapacity, emailRefillPerMinute / 60, now));
+            reject(bucket.tryAcquire(now), emailRejected, "email " + email);
+        }
+    }
+
+    private void reject(long waitNanos, Counter counter, String subject) {
+        if (waitNanos == 0) {
+            return;
+        }
+        if (counter != null) {
+            counter.increment();
+        }
+        logger.warn("Rate limit exceeded for {}", subject);
+        long retryAfterSeconds = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        throw new TooManyRequestsException("Too many attempts, please retry later", retryAfterSeconds);
+    }
+
+    private Cache<String, TokenBucket> newBucketCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofMinutes(idleExpiryMinutes))
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.eventplatform.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt Strength Calibrator
+ * Picks the highest BCrypt cost whose hash time on this machine stays within a
+ * latency target. Each cost step doubles the work, so the search measures
+ * upwards from the minimum and stops before the next step would overshoot.
+ */
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "Calibration@123";
+
+    // Hashes per measurement; the fastest one is kept to filter out JIT warm-up and GC
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * @param target per-hash latency budget
+     * @param minStrength lowest acceptable cost, returned even if it exceeds the target
+     * @param maxStrength highest cost to consider
+     */
+    public static int calibrate(Duration target, int minStrength, int maxStrength) {
+        long targetNanos = target.toNanos();
+        int strength = minStrength;
+        long nanos = measure(strength);
+
+        while (strength < maxStrength && nanos * 2 <= targetNanos) {
+            strength++;
+            nanos = measure(strength);
+        }
+
+        // The last step may have overshot the estimate
+        return nanos > targetNanos && strength > minStrength ? strength - 1 : strength;
+    }
+
+    /**
+     * Fastest of a few hashes at the given cost, in nanoseconds
+     */
+    static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
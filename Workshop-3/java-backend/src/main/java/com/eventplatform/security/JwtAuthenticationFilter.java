@@ -1,5 +1,7 @@
 package com.eventplatform.security;
 
+import com.eventplatform.service.InactiveUserRegistry;
+import com.eventplatform.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,6 +20,10 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT Authentication Filter
@@ -30,6 +37,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private InactiveUserRegistry inactiveUsers;
+
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    // Only a handful of roles exist, so authority lists are built once and shared
+    private final Map<String, List<GrantedAuthority>> authoritiesByRole = new ConcurrentHashMap<>();
+
     @Override
     protected void doFilterInternal(
             HttpServletRequest request,
@@ -39,26 +57,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Long userId = tokenProvider.getUserIdFromToken(jwt);
-                String email = tokenProvider.getEmailFromToken(jwt);
-                String role = tokenProvider.getRoleFromToken(jwt);
+            if (StringUtils.hasText(jwt)) {
+                Optional<JwtClaims> verified = tokenProvider.parseVerifiedClaims(jwt);
 
-                // Create authentication object
-                SimpleGrantedAuthority authority = new SimpleGrantedAuthority(role);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userId,
-                                null,
-                                Collections.singletonList(authority)
-                        );
+                if (verified.isPresent() && isUsable(verified.get())) {
+                    JwtClaims claims = verified.get();
 
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    // Create authentication object (claims are kept as credentials for logout)
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    claims.userId(),
+                                    claims,
+                                    authoritiesFor(claims.role())
+                            );
 
-                // Set authentication in security context
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+                    authentication.setDetails(detailsSource.buildDetails(request));
 
-                logger.debug("Set authentication for user: {} with role: {}", email, role);
+                    // Set authentication in security context
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+
+                    logger.debug("Set authentication for user: {} with role: {}", claims.email(), claims.role());
+                }
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
@@ -67,6 +86,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Reject tokens that were revoked or belong to users who are no longer active
+     */
+    private boolean isUsable(JwtClaims claims) {
+        return !revocationService.isRevoked(claims.tokenId())
+                && !inactiveUsers.isInactive(claims.userId());
+    }
+
+    /**
+     * Get the shared authority list for a role
+     */
+    private List<GrantedAuthority> authoritiesFor(String role) {
+        return authoritiesByRole.computeIfAbsent(role,
+                r -> Collections.singletonList(new SimpleGrantedAuthority(r)));
+    }
+
     /**
      * Extract JWT token from Authorization header
      */
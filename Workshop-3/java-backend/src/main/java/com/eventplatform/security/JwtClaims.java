@@ -0,0 +1,12 @@
+package com.eventplatform.security;
+
+import java.time.Instant;
+
+/**
+ * Verified JWT Claims
+ * Immutable view of the claims of a token whose signature has already been checked.
+ * permissions is the admin's Permission bitmask (0 for other users).
+ */
+public record JwtClaims(String tokenId, Long userId, String email, String role, long permissions,
+                        Instant expiresAt) {
+}
@@ -0,0 +1,184 @@
+package com.eventplatform.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * JWT Key Ring
+ * Holds the ES256 signing key and every public key still accepted for verification.
+ *
+ * Keys are read from jwt.keys.directory as PEM pairs named {kid}.key (PKCS#8 private key)
+ * and {kid}.pub (X.509 public key). The pair with the greatest kid signs new tokens, so
+ * kids should sort chronologically (e.g. 2026-10-a). A kid with only a .pub file is kept
+ * for verification, which lets a retired key live until its last token expires.
+ * The directory is re-read periodically, so keys rotate without a restart.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.algorithm", havingValue = "ES256")
+public class JwtKeyRing extends LocatorAdapter<Key> {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private static final String PRIVATE_KEY_SUFFIX = ".key";
+    private static final String PUBLIC_KEY_SUFFIX = ".pub";
+
+    @Value("${jwt.keys.directory:}")
+    private String keysDirectory;
+
+    private volatile KeySet keySet;
+
+    @PostConstruct
+    public void init() throws IOException, GeneralSecurityException {
+        if (StringUtils.hasText(keysDirectory)) {
+            this.keySet = loadKeySet(Paths.get(keysDirectory));
+        } else {
+            // Tokens signed with a generated key cannot be verified by other instances
+            logger.warn("jwt.keys.directory is not set, using an ephemeral signing key");
+            KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            this.keySet = new KeySet(new SigningKey(kid, pair.getPrivate()), Map.of(kid, pair.getPublic()));
+        }
+        logger.info("Loaded JWT keys, signing with kid: {}", keySet.signingKey().kid());
+    }
+
+    /**
+     * Re-read the key directory so newly added or retired keys take effect
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:60000}")
+    public void reload() {
+        if (!StringUtils.hasText(keysDirectory)) {
+            return;
+        }
+        try {
+            KeySet reloaded = loadKeySet(Paths.get(keysDirectory));
+            if (!reloaded.signingKey().kid().equals(keySet.signingKey().kid())) {
+                logger.info("JWT signing key rotated to kid: {}", reloaded.signingKey().kid());
+            }
+            this.keySet = reloaded;
+        } catch (IOException | GeneralSecurityException | IllegalStateException ex) {
+            // Keep serving with the previous keys rather than failing every request
+            logger.error("Could not reload JWT keys from {}", keysDirectory, ex);
+        }
+    }
+
+    /**
+     * Get the key used to sign new tokens
+     */
+    public SigningKey getSigningKey() {
+        return keySet.signingKey();
+    }
+
+    /**
+     * Whether tokens signed with the given kid are still accepted
+     */
+    public boolean isAccepted(String kid) {
+        return keySet.verificationKeys().containsKey(kid);
+    }
+
+    /**
+     * Find the verification key for a token's kid header
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String kid = header.getKeyId();
+        return kid == null ? null : keySet.verificationKeys().get(kid);
+    }
+
+    /**
+     * Build the public JSON Web Key Set for all verification keys
+     */
+    public Map<String, Object> toJwks() {
+        List<PublicJwk<?>> keys = new ArrayList<>();
+        keySet.verificationKeys().forEach((kid, publicKey) -> keys.add(
+                Jwks.builder()
+                        .key((ECPublicKey) publicKey)
+                        .id(kid)
+                        .publicKeyUse("sig")
+                        .algorithm(Jwts.SIG.ES256.getId())
+                        .build()
+        ));
+        return Map.of("keys", keys);
+    }
+
+    private KeySet loadKeySet(Path directory) throws IOException, GeneralSecurityException {
+        KeyFactory keyFactory = KeyFactory.getInstance("EC");
+        Map<String, PublicKey> publicKeys = new HashMap<>();
+        TreeMap<String, PrivateKey> privateKeys = new TreeMap<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PUBLIC_KEY_SUFFIX)) {
+                    String kid = name.substring(0, name.length() - PUBLIC_KEY_SUFFIX.length());
+                    publicKeys.put(kid, keyFactory.generatePublic(new X509EncodedKeySpec(readPem(file))));
+                } else if (name.endsWith(PRIVATE_KEY_SUFFIX)) {
+                    String kid = name.substring(0, name.length() - PRIVATE_KEY_SUFFIX.length());
+                    privateKeys.put(kid, keyFactory.generatePrivate(new PKCS8EncodedKeySpec(readPem(file))));
+                }
+            }
+        }
+
+        // The newest kid that has both halves of the pair becomes the signer
+        for (String kid : privateKeys.descendingKeySet()) {
+            if (publicKeys.containsKey(kid)) {
+                SigningKey signingKey = new SigningKey(kid, privateKeys.get(kid));
+                return new KeySet(signingKey, Collections.unmodifiableMap(publicKeys));
+            }
+        }
+        throw new IllegalStateException("No complete ES256 key pair found in " + directory);
+    }
+
+    private static byte[] readPem(Path file) throws IOException {
+        StringBuilder base64 = new StringBuilder();
+        for (String line : Files.readAllLines(file, StandardCharsets.US_ASCII)) {
+            if (!line.startsWith("-----")) {
+                base64.append(line.trim());
+            }
+        }
+        return Base64.getDecoder().decode(base64.toString());
+    }
+
+    /**
+     * Private key used for signing, with its kid header value
+     */
+    public record SigningKey(String kid, PrivateKey privateKey) {
+    }
+
+    private record KeySet(SigningKey signingKey, Map<String, PublicKey> verificationKeys) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.eventplatform.security;
+
+import com.eventplatform.model.Permission;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+
+import java.io.Serializable;
+
+/**
+ * JWT Permission Evaluator
+ * Backs hasPermission() in @PreAuthorize expressions, e.g.
+ * hasPermission(null, 'USERS_DELETE'). The check is a bit test against the "perm" claim
+ * of the already-verified token, so it needs no database access. Permission changes
+ * therefore apply from the admin's next access token.
+ */
+public class JwtPermissionEvaluator implements PermissionEvaluator {
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        return isGranted(authentication, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType,
+                                 Object permission) {
+        return isGranted(authentication, permission);
+    }
+
+    /**
+     * Check a Permission (or permission name) against the caller's token; a name that
+     * is not a Permission is never granted
+     */
+    public static boolean isGranted(Authentication authentication, Object permission) {
+        if (authentication == null || !(authentication.getCredentials() instanceof JwtClaims claims)) {
+            return false;
+        }
+        Permission required;
+        if (permission instanceof Permission p) {
+            required = p;
+        } else {
+            try {
+                required = Permission.valueOf(String.valueOf(permission));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+        return required.isGrantedBy(claims.permissions());
+    }
+}
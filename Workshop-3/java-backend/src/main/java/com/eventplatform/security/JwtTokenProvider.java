@@ -2,15 +2,19 @@ package com.eventplatform.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * JWT Token Provider
@@ -21,98 +25,162 @@ public class JwtTokenProvider {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
 
-    @Value("${jwt.secret}")
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
+    @Value("${jwt.algorithm:HS256}")
+    private String algorithm;
+
     @Value("${jwt.expiration}")
     private long jwtExpirationMs;
 
+    @Autowired(required = false)
+    private VerifiedTokenCache tokenCache;
+
+    @Autowired(required = false)
+    private JwtKeyRing keyRing;
+
     private SecretKey key;
 
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
-        // Generate a secure key from the secret
-        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        // JwtParser is immutable and thread-safe, so a single instance serves every request
+        if (usesKeyRing()) {
+            if (keyRing == null) {
+                throw new IllegalStateException("jwt.algorithm=ES256 requires a JwtKeyRing");
+            }
+            // The key ring resolves the verification key from each token's kid header
+            this.parser = Jwts.parser()
+                    .keyLocator(keyRing)
+                    .build();
+        } else {
+            // Generate a secure key from the secret
+            this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+            this.parser = Jwts.parser()
+                    .verifyWith(key)
+                    .build();
+        }
     }
 
     /**
      * Generate JWT token from user details
      */
     public String generateToken(Long userId, String email, String role) {
+        return generateToken(userId, email, role, 0L);
+    }
+
+    /**
+     * Generate JWT token from user details, with the admin's Permission bitmask as the
+     * numeric "perm" claim (omitted when 0)
+     */
+    public String generateToken(Long userId, String email, String role, long permissions) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("email", email)
                 .claim("role", role)
                 .issuedAt(now)
-                .expiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .expiration(expiryDate);
+        if (permissions != 0) {
+            builder.claim("perm", permissions);
+        }
+
+        if (usesKeyRing()) {
+            JwtKeyRing.SigningKey signingKey = keyRing.getSigningKey();
+            builder.header().keyId(signingKey.kid()).and()
+                    .signWith(signingKey.privateKey(), Jwts.SIG.ES256);
+        } else {
+            builder.signWith(key);
+        }
+
+        return builder.compact();
+    }
+
+    /**
+     * Verify JWT token once and return its claims
+     *
+     * @return the verified claims, or empty if the token is invalid or expired
+     */
+    public Optional<JwtClaims> parseVerifiedClaims(String token) {
+        if (tokenCache != null && token != null) {
+            JwtClaims cached = tokenCache.get(token);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        try {
+            Jws<Claims> jws = parser.parseSignedClaims(token);
+            JwtClaims claims = toJwtClaims(jws.getPayload());
+            if (tokenCache != null) {
+                tokenCache.put(token, claims, jws.getHeader().getKeyId());
+            }
+            return Optional.of(claims);
+        } catch (SecurityException ex) {
+            logger.error("Invalid JWT signature");
+        } catch (MalformedJwtException ex) {
+            logger.error("Invalid JWT token");
+        } catch (ExpiredJwtException ex) {
+            logger.error("Expired JWT token");
+        } catch (UnsupportedJwtException ex) {
+            logger.error("Unsupported JWT token");
+        } catch (IllegalArgumentException ex) {
+            logger.error("JWT claims string is empty");
+        }
+        return Optional.empty();
     }
 
     /**
      * Get user ID from JWT token
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return Long.parseLong(claims.getSubject());
+        return Long.parseLong(parseClaims(token).getSubject());
     }
 
     /**
      * Get email from JWT token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("email", String.class);
+        return parseClaims(token).get("email", String.class);
     }
 
     /**
      * Get role from JWT token
      */
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-
-        return claims.get("role", String.class);
+        return parseClaims(token).get("role", String.class);
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (SecurityException ex) {
-            logger.error("Invalid JWT signature");
-        } catch (MalformedJwtException ex) {
-            logger.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            logger.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            logger.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            logger.error("JWT claims string is empty");
-        }
-        return false;
+        return parseVerifiedClaims(authToken).isPresent();
+    }
+
+    private boolean usesKeyRing() {
+        return "ES256".equalsIgnoreCase(algorithm);
+    }
+
+    private Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    private JwtClaims toJwtClaims(Claims claims) {
+        Number permissions = claims.get("perm", Number.class);
+        return new JwtClaims(
+                claims.getId(),
+                Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                permissions != null ? permissions.longValue() : 0L,
+                claims.getExpiration().toInstant()
+        );
     }
 
     /**
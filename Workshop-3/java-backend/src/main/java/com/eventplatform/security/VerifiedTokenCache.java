@@ -0,0 +1,138 @@
+package com.eventplatform.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Verified Token Cache
+ * Keeps the claims of already-verified JWTs so repeated requests with the same
+ * bearer token skip signature verification. Entries are keyed by a SHA-256 digest
+ * of the token (the raw token is never retained) and expire at the token's exp.
+ *
+ * Each entry remembers the kid that signed its token; once that kid is retired from
+ * the JwtKeyRing, a hit is dropped instead, so the token fails verification again.
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.cache.enabled", havingValue = "true")
+public class VerifiedTokenCache {
+
+    @Value("${jwt.cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private JwtKeyRing keyRing;
+
+    /**
+     * Claims of a verified token, and the kid of the key it was verified with (null
+     * for HS256 tokens)
+     */
+    private record VerifiedToken(JwtClaims claims, String kid) {
+    }
+
+    private Cache<String, VerifiedToken> cache;
+
+    @PostConstruct
+    public void init() {
+        // Caffeine bounds the size with W-TinyLFU eviction and is safe for concurrent use
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .scheduler(Scheduler.systemScheduler())
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified-tokens");
+        }
+    }
+
+    /**
+     * Get the cached claims for a token, or null if it has not been verified yet
+     */
+    public JwtClaims get(String token) {
+        String key = digest(token);
+        VerifiedToken verified = cache.getIfPresent(key);
+        if (verified == null) {
+            return null;
+        }
+        if (verified.kid() != null && (keyRing == null || !keyRing.isAccepted(verified.kid()))) {
+            cache.invalidate(key);
+            return null;
+        }
+        return verified.claims();
+    }
+
+    /**
+     * Store claims for a token that has just been verified
+     *
+     * @param kid kid header of the token, or null if it has none
+     */
+    public void put(String token, JwtClaims claims, String kid) {
+        cache.put(digest(token), new VerifiedToken(claims, kid));
+    }
+
+    /**
+     * Remove a token from the cache
+     */
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    /**
+     * Number of cached tokens (approximate)
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Expires each entry exactly when the token itself expires
+     */
+    private static class ExpireAtTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken verified, long currentTime) {
+            long remaining = Duration.between(Instant.now(), verified.claims().expiresAt()).toNanos();
+            return Math.max(remaining, 0L);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken verified, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verified, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken verified, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
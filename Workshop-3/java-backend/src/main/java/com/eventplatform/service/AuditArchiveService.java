@@ -0,0 +1,311 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.archive.AuditSegment;
+import com.eventplatform.archive.AuditSegmentWriter;
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.JdbcStreaming;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Audit Archive Service
+ * Moves whole calendar months of audit_logs that are older than
+ * audit.archive.retention-days into compressed segment files (see AuditArchive),
+ * keeping the live table, its indexes and the buffer pool sized to recent data.
+ *
+ * A month is first written to its segment, then removed from the table: with
+ * audit.archive.partitioned=true (after scripts/05-audit-log-partitioning.sql) by
+ * dropping its monthly partition, otherwise by deleting the archived ids in batches.
+ * A crash between the two steps is repaired on the next run. Rows that arrive for
+ * an already archived month are merged into a rewritten segment.
+ */
+@Service
+public class AuditArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    private static final String SELECT_SQL = "SELECT id, user_id, admin_id, action, entity, entity_id, "
+            + "details, ip_address, user_agent, timestamp FROM audit_logs "
+            + "WHERE timestamp >= ? AND timestamp < ? AND id > ? ORDER BY timestamp, id";
+
+    private static final String PARTITIONS_SQL = "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+            + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND PARTITION_NAME IS NOT NULL";
+
+    private static final String FUTURE_PARTITION = "p_future";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AuditArchive auditArchive;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${audit.archive.retention-days:180}")
+    private int retentionDays;
+
+    @Value("${audit.archive.partitioned:false}")
+    private boolean partitioned;
+
+    // Months of partitions kept ahead of the current one
+    @Value("${audit.archive.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${audit.archive.block-rows:512}")
+    private int blockRows;
+
+    @Value("${audit.archive.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${audit.archive.delete-batch-size:1000}")
+    private int deleteBatchSize;
+
+    private Counter archivedRows;
+
+    @PostConstruct
+    public void init() {
+        archivedRows = Counter.builder("audit.archive.archived")
+                .description("Audit log rows moved from audit_logs into segments")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${audit.archive.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (partitioned) {
+                addFuturePartitions();
+            }
+            archiveExpiredMonths();
+        } catch (Exception e) {
+            logger.error("Audit archival failed, will retry on the next run", e);
+        }
+    }
+
+    /**
+     * Archive every month that ended before the retention cutoff
+     *
+     * @return number of rows archived
+     */
+    public long archiveExpiredMonths() throws IOException {
+        LocalDateTime oldest = jdbcTemplate.queryForObject("SELECT MIN(timestamp) FROM audit_logs", LocalDateTime.class);
+        if (oldest == null) {
+            return 0;
+        }
+
+        LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+        long total = 0;
+        for (YearMonth month = YearMonth.from(oldest); !start(month.plusMonths(1)).isAfter(cutoff);
+                month = month.plusMonths(1)) {
+            total += archiveMonth(month);
+        }
+        return total;
+    }
+
+    /**
+     * Write the month's rows to its segment, then remove them from audit_logs
+     *
+     * @return number of rows newly archived
+     */
+    public long archiveMonth(YearMonth month) throws IOException {
+        AuditSegment existing = auditArchive.get(month);
+
+        long written = existing == null
+                ? writeSegment(month, null, List.of())
+                : mergeLateRows(month, existing);
+        AuditSegment segment = written > 0 ? auditArchive.register(month) : existing;
+        if (segment == null) {
+            return 0;
+        }
+
+        removeArchivedRows(month, segment);
+        long added = segment.getRowCount() - (existing != null ? existing.getRowCount() : 0);
+        archivedRows.increment(added);
+        if (added > 0) {
+            logger.info("Archived {} audit log rows for {} ({} rows in segment)", added, month, segment.getRowCount());
+        }
+        return added;
+    }
+
+    /**
+     * Create the monthly partitions for the coming months by splitting p_future
+     */
+    public void addFuturePartitions() {
+        List<String> existing = jdbcTemplate.queryForList(PARTITIONS_SQL, String.class);
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String name = partitionName(month);
+            if (existing.contains(name)) {
+                continue;
+            }
+            jdbcTemplate.execute("ALTER TABLE audit_logs REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                    + "PARTITION " + name + " VALUES LESS THAN (UNIX_TIMESTAMP('" + month.plusMonths(1).atDay(1) + " 00:00:00')), "
+                    + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+            logger.info("Added audit_logs partition {}", name);
+        }
+    }
+
+    private long mergeLateRows(YearMonth month, AuditSegment existing) throws IOException {
+        // Late rows got their ids after the segment was written
+        List<AuditLogDTO> late = new ArrayList<>();
+        streamRows(month, existing.getMaxId(), late::add);
+        if (late.isEmpty()) {
+            return 0;
+        }
+        late.sort(Comparator.comparing(AuditLogDTO::getTimestamp).thenComparing(AuditLogDTO::getId));
+        return writeSegment(month, existing, late);
+    }
+
+    /**
+     * Write a segment for the month: the existing segment's rows merged with the
+     * given late rows, or, without an existing segment, the month streamed from the table
+     */
+    private long writeSegment(YearMonth month, AuditSegment existing, List<AuditLogDTO> late) throws IOException {
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(auditArchive.pathFor(month), blockRows)) {
+            Consumer<AuditLogDTO> append = row -> {
+                try {
+                    writer.append(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            };
+
+            try {
+                if (existing == null) {
+                    streamRows(month, 0, append);
+                } else {
+                    int[] next = {0};
+                    existing.forEach(new AuditLogFilter(), row -> {
+                        while (next[0] < late.size() && isBefore(late.get(next[0]), row)) {
+                            append.accept(late.get(next[0]++));
+                        }
+                        append.accept(row);
+                    });
+                    late.subList(next[0], late.size()).forEach(append);
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            if (writer.getRowCount() == 0) {
+                return 0;
+            }
+            writer.finish();
+            return writer.getRowCount();
+        }
+    }
+
+    private void removeArchivedRows(YearMonth month, AuditSegment segment) {
+        if (partitioned && dropPartition(month, segment)) {
+            return;
+        }
+
+        // Delete exactly the archived ids, so rows written meanwhile are never lost
+        List<Object[]> batch = new ArrayList<>(deleteBatchSize);
+        segment.forEach(new AuditLogFilter(), row -> {
+            batch.add(new Object[]{row.getId()});
+            if (batch.size() == deleteBatchSize) {
+                jdbcTemplate.batchUpdate("DELETE FROM audit_logs WHERE id = ?", batch);
+                batch.clear();
+            }
+        });
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM audit_logs WHERE id = ?", batch);
+        }
+    }
+
+    /**
+     * Drop the month's partition if every row in it is archived
+     *
+     * @return false if the partition does not exist or holds unarchived rows
+     */
+    private boolean dropPartition(YearMonth month, AuditSegment segment) {
+        String name = partitionName(month);
+        if (!jdbcTemplate.queryForList(PARTITIONS_SQL, String.class).contains(name)) {
+            return false;
+        }
+        Long unarchived = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs PARTITION (" + name + ") WHERE id > ?",
+                Long.class, segment.getMaxId());
+        if (unarchived != null && unarchived > 0) {
+            return false;
+        }
+        jdbcTemplate.execute("ALTER TABLE audit_logs DROP PARTITION " + name);
+        logger.info("Dropped audit_logs partition {}", name);
+        return true;
+    }
+
+    private void streamRows(YearMonth month, long afterId, Consumer<AuditLogDTO> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(SELECT_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            JdbcStreaming.setFetchSize(statement, fetchSize);
+            statement.setTimestamp(1, Timestamp.valueOf(start(month)));
+            statement.setTimestamp(2, Timestamp.valueOf(start(month.plusMonths(1))));
+            statement.setLong(3, afterId);
+            return statement;
+        }, resultSet -> {
+            consumer.accept(toDto(resultSet));
+        });
+    }
+
+    private static boolean isBefore(AuditLogDTO a, AuditLogDTO b) {
+        int result = a.getTimestamp().compareTo(b.getTimestamp());
+        return result < 0 || (result == 0 && a.getId() < b.getId());
+    }
+
+    private static LocalDateTime start(YearMonth month) {
+        return month.atDay(1).atStartOfDay();
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_NAME.format(month);
+    }
+
+    private static AuditLogDTO toDto(ResultSet rs) throws SQLException {
+        return AuditLogDTO.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getObject("user_id", Long.class))
+                .adminId(rs.getObject("admin_id", Long.class))
+                .action(rs.getString("action"))
+                .entity(rs.getString("entity"))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .details(rs.getString("details"))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .timestamp(rs.getTimestamp("timestamp").toLocalDateTime())
+                .build();
+    }
+}
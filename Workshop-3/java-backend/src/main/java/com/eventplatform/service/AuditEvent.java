@@ -0,0 +1,24 @@
+package com.eventplatform.service;
+
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Audit Event
+ * Immutable audit record handed to the AuditLogWriter; mirrors a row of audit_logs
+ * with plain ids instead of entity references.
+ */
+@Builder
+public record AuditEvent(
+        Long userId,
+        Long adminId,
+        String action,
+        String entity,
+        Long entityId,
+        String details,
+        String ipAddress,
+        String userAgent,
+        LocalDateTime timestamp
+) {
+}
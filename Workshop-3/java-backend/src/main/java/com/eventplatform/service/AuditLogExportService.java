@@ -0,0 +1,293 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.exception.DeadlineExceededException;
+import com.eventplatform.util.JdbcStreaming;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audit Log Export Service
+ * Streams audit_logs rows from a forward-only, read-only JDBC cursor straight to an
+ * output stream, one row at a time, so memory use does not depend on the row count.
+ *
+ * The export stops at its deadline and as soon as the client goes away (the next
+ * write fails), which also closes the cursor on the database side. Archived months
+ * are older than every row in the table and are written first.
+ *
+ * On the deadline the rows written so far are flushed to the output stream; the
+ * caller then ends the file with Format.deadlineTrailer() if the response has already
+ * started, or answers with an error status if it has not.
+ */
+@Service
+public class AuditLogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogExportService.class);
+
+    private static final String SELECT_SQL = "SELECT id, user_id, admin_id, action, entity, entity_id, "
+            + "details, ip_address, user_agent, timestamp FROM audit_logs";
+
+    private static final String CSV_HEADER = "id,userId,adminId,action,entity,entityId,details,ipAddress,userAgent,timestamp";
+
+    /**
+     * Output format of an export
+     */
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson") {
+            @Override
+            public String deadlineTrailer(String message) {
+                return "{\"status\":504,\"error\":\"Gateway Timeout\",\"message\":\""
+                        + new String(JsonStringEncoder.getInstance().quoteAsString(message)) + "\"}\n";
+            }
+        },
+        CSV("text/csv", "csv") {
+            @Override
+            public String deadlineTrailer(String message) {
+                return "# 504 Gateway Timeout: " + message.replaceAll("[\r\n]+", " ") + "\r\n";
+            }
+        };
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        /**
+         * Last line of an export cut off by its deadline, so the truncated file cannot
+         * be mistaken for a complete one
+         */
+        public abstract String deadlineTrailer(String message);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditArchive auditArchive;
+
+    // Rows per round trip; MySQL streams row by row instead (see JdbcStreaming)
+    @Value("${audit.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${audit.export.deadline-seconds:600}")
+    private long deadlineSeconds;
+
+    /**
+     * Write all audit logs matching the filter, oldest first
+     *
+     * @return number of rows written
+     * @throws IOException if writing fails, typically because the client disconnected
+     * @throws DeadlineExceededException if the export runs past audit.export.deadline-seconds,
+     *                                   after flushing the rows written so far
+     */
+    public long export(AuditLogFilter filter, Format format, OutputStream out) throws IOException {
+        long deadline = System.nanoTime() + deadlineSeconds * 1_000_000_000L;
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildQuery(filter, parameters);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] count = {0};
+
+        try {
+            rowWriter.begin();
+            auditArchive.forEach(filter, row -> {
+                if (System.nanoTime() > deadline) {
+                    throw new DeadlineExceededException("Export deadline exceeded after " + count[0] + " rows");
+                }
+                try {
+                    rowWriter.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                JdbcStreaming.setFetchSize(statement, fetchSize);
+                statement.setQueryTimeout((int) Math.max(1, deadlineSeconds));
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return statement;
+            }, resultSet -> {
+                if (System.nanoTime() > deadline) {
+                    throw new DeadlineExceededException("Export deadline exceeded after " + count[0] + " rows");
+                }
+                try {
+                    rowWriter.write(toDto(resultSet));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            logger.info("Audit export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+            throw e.getCause();
+        } catch (DeadlineExceededException e) {
+            writer.flush();
+            throw e;
+        } catch (QueryTimeoutException e) {
+            writer.flush();
+            throw new DeadlineExceededException("Export deadline exceeded after " + count[0] + " rows");
+        }
+
+        logger.info("Exported {} audit log rows as {}", count[0], format);
+        return count[0];
+    }
+
+    private String buildQuery(AuditLogFilter filter, List<Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            conditions.add("user_id = ?");
+            parameters.add(filter.getUserId());
+        }
+        if (filter.getAction() != null) {
+            conditions.add("action = ?");
+            parameters.add(filter.getAction());
+        }
+        if (filter.getFrom() != null) {
+            conditions.add("timestamp >= ?");
+            parameters.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            conditions.add("timestamp < ?");
+            parameters.add(Timestamp.valueOf(filter.getTo()));
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT_SQL);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY timestamp, id").toString();
+    }
+
+    private static AuditLogDTO toDto(ResultSet rs) throws SQLException {
+        Timestamp timestamp = rs.getTimestamp("timestamp");
+        return AuditLogDTO.builder()
+                .id(rs.getLong("id"))
+                .userId(rs.getObject("user_id", Long.class))
+                .adminId(rs.getObject("admin_id", Long.class))
+                .action(rs.getString("action"))
+                .entity(rs.getString("entity"))
+                .entityId(rs.getObject("entity_id", Long.class))
+                .details(rs.getString("details"))
+                .ipAddress(rs.getString("ip_address"))
+                .userAgent(rs.getString("user_agent"))
+                .timestamp(timestamp != null ? timestamp.toLocalDateTime() : null)
+                .build();
+    }
+
+    private interface RowWriter {
+
+        void begin() throws IOException;
+
+        void write(AuditLogDTO row) throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() {
+        }
+
+        @Override
+        public void write(AuditLogDTO row) throws IOException {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void begin() throws IOException {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(AuditLogDTO row) throws IOException {
+            writer.write(String.valueOf(row.getId()));
+            field(row.getUserId());
+            field(row.getAdminId());
+            field(row.getAction());
+            field(row.getEntity());
+            field(row.getEntityId());
+            field(row.getDetails());
+            field(row.getIpAddress());
+            field(row.getUserAgent());
+            field(row.getTimestamp());
+            writer.write("\r\n");
+        }
+
+        /**
+         * RFC 4180 field: quoted when it contains a separator, quote or line break
+         */
+        private void field(Object value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            String text = value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.dto.CursorPage;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.repository.AuditLogRepository;
+import com.eventplatform.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audit Log Service
+ * Read access to the audit trail for administrators. Archived months (see
+ * AuditArchiveService) are older than every row left in audit_logs, so a page is
+ * read from the table first and only continues into the archive once the table
+ * has no more matching rows.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuditLogService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private AuditArchive auditArchive;
+
+    /**
+     * Get one page of audit logs, newest first
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit page size, capped at MAX_PAGE_SIZE
+     */
+    public CursorPage<AuditLogDTO> findAuditLogs(AuditLogFilter filter, String cursor, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+        KeysetCursor after;
+        try {
+            after = cursor != null && !cursor.isBlank() ? KeysetCursor.decode(cursor) : null;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+
+        // One extra row tells whether another page follows
+        List<AuditLogDTO> rows = new ArrayList<>(auditLogRepository.findPage(filter, after, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            KeysetCursor archiveAfter = rows.isEmpty()
+                    ? after
+                    : new KeysetCursor(rows.get(rows.size() - 1).getTimestamp(), rows.get(rows.size() - 1).getId());
+            rows.addAll(auditArchive.findPage(filter, archiveAfter, pageSize + 1 - rows.size()));
+        }
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(List.copyOf(rows), null);
+        }
+
+        List<AuditLogDTO> items = rows.subList(0, pageSize);
+        AuditLogDTO last = items.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(items), new KeysetCursor(last.getTimestamp(), last.getId()).encode());
+    }
+}
@@ -0,0 +1,506 @@
+package com.eventplatform.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit Log Writer
+ * Takes audit events off the request path. Events go into a bounded queue and a
+ * background thread inserts them into audit_logs in JDBC batches.
+ *
+ * When the queue is full, the overflow policy decides: BLOCK waits for room, DROP
+ * discards the event, SPILL appends it to an NDJSON file that is replayed into
+ * the table once the writer is idle. A batch that fails to insert is retried row by
+ * row: rows the database rejects (integrity or data errors) go to a rejected-events
+ * file, and once the database fails for another reason the remaining rows are spilled.
+ *
+ * Replay records the number of lines it has written in a progress file after every
+ * batch, so a failed or interrupted replay resumes where it stopped (a crash can
+ * duplicate at most one batch). Unreadable lines are moved to the rejected file too,
+ * and failed replays are retried with exponential backoff.
+ */
+@Service
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs "
+            + "(user_id, admin_id, action, entity, entity_id, details, ip_address, user_agent, timestamp) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SPILL_FILE = "audit-spill.ndjson";
+    private static final String REPLAY_FILE = "audit-spill.replaying.ndjson";
+    private static final String REPLAY_PROGRESS_FILE = "audit-spill.replaying.progress";
+    private static final String REJECTED_FILE = "audit-spill.rejected.ndjson";
+
+    /**
+     * What to do with an event when the queue is full
+     */
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP,
+        SPILL
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${audit.writer.capacity:10000}")
+    private int capacity;
+
+    @Value("${audit.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMs;
+
+    @Value("${audit.writer.overflow-policy:SPILL}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${audit.writer.spill-directory:${java.io.tmpdir}/eventplatform-audit}")
+    private String spillDirectory;
+
+    @Value("${audit.writer.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMs;
+
+    @Value("${audit.writer.replay-max-backoff-ms:60000}")
+    private long replayMaxBackoffMs;
+
+    private BlockingQueue<AuditEvent> queue;
+
+    // Serializes appends to the spill file with its hand-over to replay
+    private final Object spillLock = new Object();
+
+    private volatile boolean running;
+
+    private volatile boolean stopped;
+
+    private Thread writerThread;
+
+    // Replay backoff, only touched by the writer thread
+    private long replayBackoffMs;
+
+    private long nextReplayAt;
+
+    private Counter written;
+
+    private Counter dropped;
+
+    private Counter spilled;
+
+    private Counter rejected;
+
+    @PostConstruct
+    public void init() {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        if (meterRegistry != null) {
+            Gauge.builder("audit.writer.queue", queue, BlockingQueue::size).register(meterRegistry);
+            this.written = meterRegistry.counter("audit.writer.events", "outcome", "written");
+            this.dropped = meterRegistry.counter("audit.writer.events", "outcome", "dropped");
+            this.spilled = meterRegistry.counter("audit.writer.events", "outcome", "spilled");
+            this.rejected = meterRegistry.counter("audit.writer.events", "outcome", "rejected");
+        }
+    }
+
+    /**
+     * Queue an audit event; inside a transaction it is queued only once the transaction commits
+     */
+    public void submit(AuditEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(AuditEvent event) {
+        // Late events after shutdown have no writer left to drain them
+        if (stopped) {
+            writeOrSpill(List.of(event));
+            return;
+        }
+
+        if (queue.offer(event)) {
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case BLOCK -> {
+                try {
+                    queue.put(event);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    spill(List.of(event));
+                }
+            }
+            case DROP -> {
+                increment(dropped, 1);
+                logger.warn("Audit queue full, dropped event: {}", event.action());
+            }
+            case SPILL -> spill(List.of(event));
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writerThread.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stopped = true;
+
+        // Whatever the writer could not insert in time goes to disk for the next start
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            logger.warn("Audit writer did not drain in time, spilling {} events", remaining.size());
+            spill(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the web server, so no request can audit into a stopped writer
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpill(false);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeOrSpill(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+        replaySpill(true);
+    }
+
+    private void writeOrSpill(List<AuditEvent> batch) {
+        int handled = writeAvailable(batch);
+        if (handled < batch.size()) {
+            spill(batch.subList(handled, batch.size()));
+        }
+    }
+
+    /**
+     * Insert events in one batch, or row by row if the batch fails. Rows the database
+     * rejects are moved to the rejected file; any other failure stops at that row.
+     *
+     * @return number of leading events inserted or rejected
+     */
+    private int writeAvailable(List<AuditEvent> batch) {
+        try {
+            write(batch);
+            return batch.size();
+        } catch (DataAccessException | TransactionException e) {
+            logger.warn("Failed to write {} audit events as a batch, retrying row by row: {}",
+                    batch.size(), e.getMessage());
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            AuditEvent event = batch.get(i);
+            try {
+                write(List.of(event));
+            } catch (DataIntegrityViolationException e) {
+                logger.error("Audit event rejected by the database: {}", event.action(), e);
+                reject(List.of(event));
+            } catch (DataAccessException | TransactionException e) {
+                logger.error("Failed to write {} audit events", batch.size() - i, e);
+                return i;
+            }
+        }
+        return batch.size();
+    }
+
+    /**
+     * Insert a batch in one transaction, so a failed batch leaves no rows behind to duplicate
+     */
+    private void write(List<AuditEvent> batch) {
+        transactionTemplate.executeWithoutResult(status -> insert(batch));
+        increment(written, batch.size());
+    }
+
+    private void insert(List<AuditEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setObject(1, event.userId(), Types.BIGINT);
+            ps.setObject(2, event.adminId(), Types.BIGINT);
+            ps.setString(3, event.action());
+            ps.setString(4, event.entity());
+            ps.setObject(5, event.entityId(), Types.BIGINT);
+            ps.setString(6, event.details());
+            ps.setString(7, event.ipAddress());
+            ps.setString(8, event.userAgent());
+            LocalDateTime timestamp = event.timestamp() != null ? event.timestamp() : LocalDateTime.now();
+            ps.setTimestamp(9, Timestamp.valueOf(timestamp));
+        });
+    }
+
+    private void spill(List<AuditEvent> events) {
+        synchronized (spillLock) {
+            try {
+                append(SPILL_FILE, serialize(events));
+                increment(spilled, events.size());
+            } catch (IOException e) {
+                increment(dropped, events.size());
+                logger.error("Failed to spill {} audit events, they are lost", events.size(), e);
+            }
+        }
+    }
+
+    /**
+     * Keep events the database will never accept out of the table and out of replay
+     */
+    private void reject(List<AuditEvent> events) {
+        try {
+            rejectLines(serialize(events));
+        } catch (IOException e) {
+            increment(dropped, events.size());
+            logger.error("Failed to serialize {} rejected audit events, they are lost", events.size(), e);
+        }
+    }
+
+    private void rejectLines(List<String> lines) {
+        synchronized (spillLock) {
+            try {
+                append(REJECTED_FILE, lines);
+                increment(rejected, lines.size());
+            } catch (IOException e) {
+                increment(dropped, lines.size());
+                logger.error("Failed to save {} rejected audit events, they are lost", lines.size(), e);
+            }
+        }
+    }
+
+    private List<String> serialize(List<AuditEvent> events) throws JsonProcessingException {
+        List<String> lines = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            lines.add(objectMapper.writeValueAsString(event));
+        }
+        return lines;
+    }
+
+    private void append(String file, List<String> lines) throws IOException {
+        Path directory = Paths.get(spillDirectory);
+        Files.createDirectories(directory);
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(file),
+                StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                writer.write(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Insert spilled events, resuming after the lines a previous attempt already wrote
+     *
+     * @param force ignore the backoff after a failed attempt (final replay on shutdown)
+     */
+    private void replaySpill(boolean force) {
+        if (!force && System.currentTimeMillis() < nextReplayAt) {
+            return;
+        }
+        Path directory = Paths.get(spillDirectory);
+        Path replay = directory.resolve(REPLAY_FILE);
+        Path progress = directory.resolve(REPLAY_PROGRESS_FILE);
+
+        try {
+            if (!Files.exists(replay)) {
+                synchronized (spillLock) {
+                    Path spill = directory.resolve(SPILL_FILE);
+                    if (!Files.exists(spill)) {
+                        return;
+                    }
+                    Files.deleteIfExists(progress);
+                    Files.move(spill, replay);
+                }
+            }
+
+            long done = readProgress(progress);
+            long lineNumber = 0;
+            int count = 0;
+            List<AuditEvent> batch = new ArrayList<>(batchSize);
+            List<Long> batchLines = new ArrayList<>(batchSize);
+            try (BufferedReader reader = Files.newBufferedReader(replay, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (lineNumber <= done || line.isBlank()) {
+                        continue;
+                    }
+
+                    AuditEvent event;
+                    try {
+                        event = objectMapper.readValue(line, AuditEvent.class);
+                    } catch (JsonProcessingException e) {
+                        // Write what precedes the line first, so the progress can move past it
+                        if (!replayBatch(batch, batchLines, progress)) {
+                            return;
+                        }
+                        count += batch.size();
+                        batch.clear();
+                        batchLines.clear();
+                        logger.error("Unreadable spilled audit event at line {}, moving it to {}",
+                                lineNumber, REJECTED_FILE);
+                        rejectLines(List.of(line));
+                        writeProgress(progress, lineNumber);
+                        continue;
+                    }
+
+                    batch.add(event);
+                    batchLines.add(lineNumber);
+                    if (batch.size() == batchSize) {
+                        if (!replayBatch(batch, batchLines, progress)) {
+                            return;
+                        }
+                        count += batch.size();
+                        batch.clear();
+                        batchLines.clear();
+                    }
+                }
+            }
+            if (!replayBatch(batch, batchLines, progress)) {
+                return;
+            }
+            count += batch.size();
+
+            Files.delete(replay);
+            Files.deleteIfExists(progress);
+            replayBackoffMs = 0;
+            logger.info("Replayed {} spilled audit events", count);
+        } catch (IOException e) {
+            logger.warn("Could not replay spilled audit events yet: {}", e.getMessage());
+            backOffReplay();
+        }
+    }
+
+    /**
+     * Write a batch of replayed events and record how far the replay got
+     *
+     * @param lines line number of each event in the replay file
+     * @return false if the database failed, after scheduling the next attempt
+     */
+    private boolean replayBatch(List<AuditEvent> batch, List<Long> lines, Path progress) throws IOException {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        int handled = writeAvailable(batch);
+        if (handled > 0) {
+            writeProgress(progress, handled == batch.size() ? lines.get(handled - 1) : lines.get(handled) - 1);
+        }
+        if (handled < batch.size()) {
+            logger.warn("Could not replay spilled audit events yet, {} left in this batch", batch.size() - handled);
+            backOffReplay();
+            return false;
+        }
+        return true;
+    }
+
+    private void backOffReplay() {
+        replayBackoffMs = Math.min(Math.max(replayBackoffMs * 2, flushIntervalMs), replayMaxBackoffMs);
+        nextReplayAt = System.currentTimeMillis() + replayBackoffMs;
+    }
+
+    private static long readProgress(Path progress) throws IOException {
+        if (!Files.exists(progress)) {
+            return 0;
+        }
+        String value = Files.readString(progress, StandardCharsets.UTF_8).trim();
+        try {
+            return value.isEmpty() ? 0 : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring unreadable audit replay progress '{}', replaying from the start", value);
+            return 0;
+        }
+    }
+
+    private static void writeProgress(Path progress, long lines) throws IOException {
+        Path temporary = progress.resolveSibling(progress.getFileName() + ".tmp");
+        Files.writeString(temporary, Long.toString(lines), StandardCharsets.UTF_8);
+        Files.move(temporary, progress, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void increment(Counter counter, int amount) {
+        if (counter != null) {
+            counter.increment(amount);
+        }
+    }
+}
@@ -1,20 +1,25 @@
 package com.eventplatform.service;
 
+import com.eventplatform.datasource.ReadYourWritesTracker;
 import com.eventplatform.dto.*;
-import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.exception.BadRequestException;
 import com.eventplatform.exception.UnauthorizedException;
 import com.eventplatform.model.*;
-import com.eventplatform.repository.AuditLogRepository;
-import com.eventplatform.repository.UserRepository;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.security.JwtClaims;
 import com.eventplatform.security.JwtTokenProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  * Authentication Service
@@ -27,63 +32,125 @@ public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     @Autowired
-    private UserRepository userRepository;
+    private UserStore userStore;
 
     @Autowired
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LastLoginWriteBehind lastLoginWriteBehind;
 
     @Autowired
     private JwtTokenProvider tokenProvider;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
     /**
      * Register new user
+     *
+     * The password is hashed on the hashing pool; the user is saved once the hash
+     * is ready, so no database connection is held while hashing. Duplicates are
+     * rejected by the store in that single insert (the unique key on email_normalized,
+     * or the shard directory's), which also closes the race between concurrent
+     * registrations of the same email.
+     *
+     * @throws BadRequestException for admin accounts, which only createAdmin() creates
      */
-    public AuthResponse register(RegisterRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         logger.info("Registering new user with email: {}", request.getEmail());
 
-        // Check if email already exists
-        if (userRepository.existsByEmailIgnoreCase(request.getEmail())) {
-            throw new DuplicateResourceException("Email already exists: " + request.getEmail());
+        if ("ADMIN".equalsIgnoreCase(request.getUserType())) {
+            throw new BadRequestException("Admin accounts cannot be self-registered");
         }
 
         // Create user based on type
         User user = createUserByType(request);
-        
-        // Encode password
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
-        
-        // Save user
-        user = userRepository.save(user);
-        
-        // Create audit log
-        createAuditLog(user, "USER_REGISTER", "User registered successfully");
 
-        // Generate JWT token
-        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole());
+        return save(user, request, null, "USER_REGISTER", "User registered successfully",
+                saved -> buildAuthResponse(saved, refreshTokenService.issue(saved)));
+    }
+
+    /**
+     * Create an admin account on behalf of another admin
+     *
+     * @param adminId id of the creating admin
+     * @param grantorPermissions permission mask of the creating admin; the new admin
+     *                           cannot be granted bits outside it
+     * @throws AccessDeniedException if a requested permission is not held by the grantor
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<UserDTO> createAdmin(RegisterRequest request, Long adminId, long grantorPermissions) {
+        logger.info("Creating admin with email: {}", request.getEmail());
 
-        logger.info("User registered successfully: {}", user.getEmail());
+        long permissions = Permission.toMask(request.getPermissions());
+        if ((permissions & ~grantorPermissions) != 0) {
+            throw new AccessDeniedException("Cannot grant permissions you do not hold");
+        }
 
-        return AuthResponse.builder()
-                .token(token)
-                .userId(user.getId())
-                .email(user.getEmail())
-                .name(user.getName())
-                .role(user.getRole())
-                .expiresIn(tokenProvider.getExpirationMs())
-                .build();
+        PlatformAdmin admin = new PlatformAdmin();
+        admin.setPermissions(permissions);
+        admin.setAccessLevel(request.getAccessLevel());
+        setCommonFields(admin, request);
+
+        return save(admin, request, adminId, "ADMIN_CREATE",
+                "Admin created with permissions " + Permission.fromMask(permissions), UserDTO::fromEntity);
+    }
+
+    /**
+     * Hash the password on the hashing pool, then insert the user and run then() in
+     * the same transaction
+     */
+    private <T> CompletableFuture<T> save(User user, RegisterRequest request, Long adminId, String auditAction,
+                                          String auditDetails, Function<User, T> then) {
+        return passwordHashingService.encode(request.getPassword())
+                .thenApply(encodedPassword -> transactionTemplate.execute(status -> {
+                    user.setPassword(encodedPassword);
+                    User saved = userStore.create(user);
+
+                    userCounters.userCreated(UserFilter.Role.of(saved), saved.getStatus());
+                    readYourWrites.recordWrite(saved.getId());
+
+                    // Create audit log
+                    createAuditLog(saved, adminId, auditAction, auditDetails);
+
+                    logger.info("User registered successfully: {}", saved.getEmail());
+
+                    return then.apply(saved);
+                }));
     }
 
     /**
      * User login
+     *
+     * The password check runs on the hashing pool; the login is recorded once it
+     * succeeds, so no database connection is held while hashing.
      */
-    public AuthResponse login(LoginRequest request) {
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
         logger.info("Login attempt for email: {}", request.getEmail());
 
         // Find user by email
-        User user = userRepository.findByEmailIgnoreCase(request.getEmail())
+        User user = userStore.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UnauthorizedException("Invalid email or password"));
 
         // Check if user is active
@@ -91,25 +158,89 @@ public class AuthService {
             throw new UnauthorizedException("User account is " + user.getStatus());
         }
 
-        // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new UnauthorizedException("Invalid email or password");
+        // Verify password, then record the login
+        return passwordHashingService.verify(request.getPassword(), user.getPassword())
+                .thenApply(verification -> {
+                    if (!verification.matches()) {
+                        throw new UnauthorizedException("Invalid email or password");
+                    }
+                    return transactionTemplate.execute(status -> completeLogin(user, verification.upgradedHash()));
+                });
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and a rotated refresh token
+     */
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public AuthResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = userStore.findById(rotation.userId())
+                .orElseThrow(() -> new UnauthorizedException("Invalid refresh token"));
+
+        // Check if user is still active
+        if (user.getStatus() != User.UserStatus.ACTIVE) {
+            throw new UnauthorizedException("User account is " + user.getStatus());
+        }
+
+        logger.debug("Access token refreshed for user: {}", user.getEmail());
+
+        return buildAuthResponse(user, rotation.refreshToken());
+    }
+
+    /**
+     * Logout: revoke the current access token and, if given, the refresh token's family
+     *
+     * @param claims claims of the access token used for this request, or null if unauthenticated
+     * @param refreshToken refresh token to revoke, or null
+     */
+    public void logout(JwtClaims claims, String refreshToken) {
+        if (claims != null) {
+            revocationService.revoke(claims);
+            if (claims.userId() != null) {
+                cacheInvalidationService.publish(CacheInvalidationService.TOKEN_REVOCATION, claims.userId());
+            }
+            logger.info("User logged out: {}", claims.email());
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+    }
+
+    /**
+     * Record a successful login and issue its tokens
+     *
+     * @param upgradedHash rehashed password to store when the old hash was outdated, or null
+     */
+    private AuthResponse completeLogin(User user, String upgradedHash) {
+        // Replace an outdated password hash
+        if (upgradedHash != null) {
+            userStore.updatePassword(user.getId(), upgradedHash);
+            logger.info("Password hash upgraded for user: {}", user.getEmail());
         }
 
-        // Update last login
-        user.setLastLogin(LocalDateTime.now());
-        userRepository.save(user);
+        // Update last login (written behind, in batches)
+        lastLoginWriteBehind.record(user.getId(), LocalDateTime.now());
 
         // Create audit log
         createAuditLog(user, "USER_LOGIN", "User logged in successfully");
 
-        // Generate JWT token
-        String token = tokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole());
-
         logger.info("User logged in successfully: {}", user.getEmail());
 
+        return buildAuthResponse(user, refreshTokenService.issue(user));
+    }
+
+    /**
+     * Build the token response for an authenticated user
+     */
+    private AuthResponse buildAuthResponse(User user, String refreshToken) {
+        // Generate JWT token
+        String token = user instanceof PlatformAdmin admin
+                ? tokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole(), admin.getPermissionMask())
+                : tokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole());
+
         return AuthResponse.builder()
                 .token(token)
+                .refreshToken(refreshToken)
                 .userId(user.getId())
                 .email(user.getEmail())
                 .name(user.getName())
@@ -119,19 +250,13 @@ public class AuthService {
     }
 
     /**
-     * Create user entity based on type
+     * Create user entity based on type; permissions and accessLevel are admin-only
+     * and ignored here
      */
     private User createUserByType(RegisterRequest request) {
         User user;
 
         switch (request.getUserType().toUpperCase()) {
-            case "ADMIN":
-                PlatformAdmin admin = new PlatformAdmin();
-                admin.setPermissions(request.getPermissions());
-                admin.setAccessLevel(request.getAccessLevel());
-                user = admin;
-                break;
-
             case "ORGANIZER":
                 EventOrganizer organizer = new EventOrganizer();
                 organizer.setOrganizationName(request.getOrganizationName());
@@ -146,20 +271,28 @@ public class AuthService {
                 throw new IllegalArgumentException("Invalid user type: " + request.getUserType());
         }
 
+        setCommonFields(user, request);
+        return user;
+    }
+
+    private static void setCommonFields(User user, RegisterRequest request) {
         user.setName(request.getName());
         user.setEmail(request.getEmail());
         user.setPhoneNumber(request.getPhoneNumber());
         user.setStatus(User.UserStatus.ACTIVE);
-
-        return user;
     }
 
     /**
-     * Create audit log entry
+     * Create audit log entry (written asynchronously once the transaction commits)
      */
     private void createAuditLog(User user, String action, String details) {
-        AuditLog auditLog = AuditLog.builder()
-                .user(user)
+        createAuditLog(user, null, action, details);
+    }
+
+    private void createAuditLog(User user, Long adminId, String action, String details) {
+        AuditEvent event = AuditEvent.builder()
+                .userId(user.getId())
+                .adminId(adminId)
                 .action(action)
                 .entity("User")
                 .entityId(user.getId())
@@ -167,6 +300,6 @@ public class AuthService {
                 .timestamp(LocalDateTime.now())
                 .build();
 
-        auditLogRepository.save(auditLog);
+        auditLogWriter.submit(event);
     }
 }
@@ -0,0 +1,167 @@
+package com.eventplatform.service;
+
+import com.eventplatform.model.CacheInvalidation;
+import com.eventplatform.repository.CacheInvalidationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache Invalidation Service
+ * Invalidation bus between instances built on the cache_invalidations table.
+ *
+ * Writers append a row in the same transaction as their change. Every instance
+ * polls for rows with an id above the highest one it has seen and evicts the
+ * matching local cache entries, or re-reads changed user statuses and token
+ * revocations. Auto-increment ids are assigned at insert but
+ * become visible at commit, so a poll can see id 12 before id 11 commits: ids
+ * skipped over are re-checked on later polls until gap-timeout-ms, after which
+ * they are assumed rolled back.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    public static final String USER = "User";
+
+    // A user's status changed; instances re-read it into their InactiveUserRegistry
+    public static final String USER_STATUS = "UserStatus";
+
+    // An access token of the user was revoked; instances reload that user's revocations
+    public static final String TOKEN_REVOCATION = "TokenRevocation";
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
+    @Autowired(required = false)
+    private UserCache userCache;
+
+    @Autowired(required = false)
+    private InactiveUserRegistry inactiveUserRegistry;
+
+    @Autowired(required = false)
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    @Value("${cache-invalidation.batch-size:500}")
+    private int batchSize;
+
+    @Value("${cache-invalidation.gap-timeout-ms:10000}")
+    private long gapTimeoutMs;
+
+    @Value("${cache-invalidation.max-tracked-gaps:1000}")
+    private int maxTrackedGaps;
+
+    @Value("${cache-invalidation.retention-minutes:60}")
+    private long retentionMinutes;
+
+    // Only touched by poll(), which the scheduler never runs concurrently
+    private long lastSeenId;
+    private final Map<Long, Long> gaps = new HashMap<>();
+
+    private Counter applied;
+
+    @PostConstruct
+    public void init() {
+        // Entries cached from now on are loaded after every change already in the table
+        Long maxId = invalidationRepository.findMaxId();
+        this.lastSeenId = maxId != null ? maxId : 0L;
+
+        if (meterRegistry != null) {
+            applied = Counter.builder("cache.invalidations.applied")
+                    .description("Invalidations from the change log applied to local caches")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Record that an entity changed; must be called inside the writing transaction
+     */
+    public void publish(String entity, Long entityId) {
+        invalidationRepository.save(CacheInvalidation.builder()
+                .entity(entity)
+                .entityId(entityId)
+                .version(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * Apply invalidations written since the previous poll
+     */
+    @Scheduled(fixedDelayString = "${cache-invalidation.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (userCache == null && inactiveUserRegistry == null && tokenRevocationService == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+
+        if (!gaps.isEmpty()) {
+            for (CacheInvalidation row : invalidationRepository.findByIdIn(List.copyOf(gaps.keySet()))) {
+                gaps.remove(row.getId());
+                apply(row);
+            }
+            gaps.values().removeIf(firstMissed -> now - firstMissed > gapTimeoutMs);
+        }
+
+        List<CacheInvalidation> rows;
+        do {
+            rows = invalidationRepository.findByIdGreaterThanOrderByIdAsc(lastSeenId, PageRequest.of(0, batchSize));
+            for (CacheInvalidation row : rows) {
+                trackGap(lastSeenId + 1, row.getId(), now);
+                apply(row);
+                lastSeenId = row.getId();
+            }
+        } while (rows.size() == batchSize);
+    }
+
+    /**
+     * Delete rows older than the retention period; every instance has long read them
+     */
+    @Scheduled(fixedDelayString = "${cache-invalidation.purge-interval-ms:600000}")
+    @Transactional
+    public void purge() {
+        int deleted = invalidationRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(retentionMinutes));
+        if (deleted > 0) {
+            logger.debug("Purged {} cache invalidations", deleted);
+        }
+    }
+
+    private void trackGap(long fromId, long toId, long now) {
+        if (toId - fromId > maxTrackedGaps - gaps.size()) {
+            logger.warn("Not tracking {} skipped cache invalidation ids before {}", toId - fromId, toId);
+            return;
+        }
+        for (long id = fromId; id < toId; id++) {
+            gaps.put(id, now);
+        }
+    }
+
+    private void apply(CacheInvalidation row) {
+        if (USER.equals(row.getEntity()) && userCache != null) {
+            userCache.invalidate(row.getEntityId());
+        } else if (USER_STATUS.equals(row.getEntity()) && inactiveUserRegistry != null) {
+            inactiveUserRegistry.refresh(row.getEntityId());
+        } else if (TOKEN_REVOCATION.equals(row.getEntity()) && tokenRevocationService != null) {
+            tokenRevocationService.refresh(row.getEntityId());
+        }
+        if (applied != null) {
+            applied.increment();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.eventplatform.service;
+
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.LongHashSet;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inactive User Registry
+ * In-memory set of ids of users whose status is not ACTIVE, so tokens issued
+ * before a suspension or deletion stop working without a per-request query.
+ *
+ * Lookups read immutable primitive sets and never lock, box or allocate: the set
+ * loaded from the user store, plus the users changed since, added or removed. A
+ * change copies only those small sets; the reload every reload-interval-ms folds
+ * them into a freshly loaded set.
+ *
+ * Changes made through other instances arrive through the cache_invalidations table
+ * (see CacheInvalidationService.USER_STATUS). The reload also picks up any change
+ * that notification missed.
+ */
+@Service
+public class InactiveUserRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(InactiveUserRegistry.class);
+
+    @Autowired
+    private UserStore userStore;
+
+    /**
+     * What lookups read; replaced as a whole
+     */
+    private record Snapshot(LongHashSet loaded, LongHashSet added, LongHashSet removed) {
+
+        boolean contains(long userId) {
+            return added.contains(userId) || (loaded.contains(userId) && !removed.contains(userId));
+        }
+    }
+
+    private volatile Snapshot snapshot = new Snapshot(LongHashSet.empty(), LongHashSet.empty(), LongHashSet.empty());
+
+    // Guarded by this: user id -> inactive, changed since the loaded set was queried.
+    // A reload keeps the changes made while it queries, as the query may predate them.
+    private LongHashSet loaded = LongHashSet.empty();
+    private Map<Long, Boolean> changesBeforeReload = new HashMap<>();
+    private Map<Long, Boolean> changes = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        reload();
+        logger.info("Loaded {} inactive users", loaded.size());
+    }
+
+    /**
+     * Replace the loaded set with the inactive users in the user store; the
+     * scheduler never runs this concurrently with init()
+     */
+    @Scheduled(fixedDelayString = "${inactive-users.reload-interval-ms:300000}",
+            initialDelayString = "${inactive-users.reload-interval-ms:300000}")
+    public void reload() {
+        synchronized (this) {
+            changesBeforeReload.putAll(changes);
+            changes = new HashMap<>();
+        }
+        List<Long> ids = userStore.findIdsByStatusNot(User.UserStatus.ACTIVE);
+        LongHashSet reloaded = LongHashSet.of(ids.stream().mapToLong(Long::longValue).toArray());
+        synchronized (this) {
+            loaded = reloaded;
+            changesBeforeReload = new HashMap<>();
+            publish();
+        }
+    }
+
+    /**
+     * Check whether a user is suspended, deleted or otherwise not active
+     */
+    public boolean isInactive(long userId) {
+        return snapshot.contains(userId);
+    }
+
+    /**
+     * Record a user's new status once the current transaction commits
+     */
+    public void statusChanged(long userId, User.UserStatus status) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(userId, status != User.UserStatus.ACTIVE);
+                }
+            });
+        } else {
+            apply(userId, status != User.UserStatus.ACTIVE);
+        }
+    }
+
+    /**
+     * Re-read one user's status from the user store, after another instance changed it
+     */
+    public void refresh(long userId) {
+        userStore.findById(userId).ifPresent(user -> apply(userId, user.getStatus() != User.UserStatus.ACTIVE));
+    }
+
+    private synchronized void apply(long userId, boolean inactive) {
+        changes.put(userId, inactive);
+        publish();
+    }
+
+    private void publish() {
+        Map<Long, Boolean> merged = new HashMap<>(changesBeforeReload);
+        merged.putAll(changes);
+        long[] added = merged.entrySet().stream()
+                .filter(Map.Entry::getValue).mapToLong(Map.Entry::getKey).toArray();
+        long[] removed = merged.entrySet().stream()
+                .filter(change -> !change.getValue()).mapToLong(Map.Entry::getKey).toArray();
+        snapshot = new Snapshot(loaded, LongHashSet.of(added), LongHashSet.of(removed));
+    }
+}
@@ -0,0 +1,113 @@
+package com.eventplatform.service;
+
+import com.eventplatform.repository.UserStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Last Login Write-Behind
+ * Buffers users' last login times in memory and writes them in batches (see
+ * UserStore.updateLastLogins), so a login does not update its users row inside
+ * the request transaction.
+ *
+ * Repeated logins of the same user between flushes collapse into one row update.
+ * The buffer is flushed on an interval, when it reaches the batch size, and on
+ * shutdown. A crash loses at most one interval of last-login times.
+ *
+ * Flushed times are also set on this instance's cached users, which stay cached.
+ * Other instances are not notified: their cached copies show the previous last
+ * login until another change invalidates them or they expire.
+ */
+@Service
+public class LastLoginWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginWriteBehind.class);
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired(required = false)
+    private UserCache userCache;
+
+    @Value("${auth.last-login.batch-size:500}")
+    private int batchSize;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private ExecutorService flushExecutor;
+
+    @PostConstruct
+    public void init() {
+        this.flushExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "last-login-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record a login; only the latest time per user is kept until the next flush
+     */
+    public void record(Long userId, LocalDateTime loginTime) {
+        pending.merge(userId, loginTime, (current, next) -> next.isAfter(current) ? next : current);
+
+        if (pending.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    /**
+     * Write all buffered login times
+     */
+    @Scheduled(fixedDelayString = "${auth.last-login.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        flushRequested.set(false);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<Long, LocalDateTime> batch = new HashMap<>(pending.size());
+        for (Long userId : pending.keySet()) {
+            LocalDateTime loginTime = pending.remove(userId);
+            if (loginTime != null) {
+                batch.put(userId, loginTime);
+            }
+        }
+
+        try {
+            userStore.updateLastLogins(batch);
+            logger.debug("Flushed last login for {} users", batch.size());
+        } catch (RuntimeException e) {
+            // Put the times back so the next flush retries them
+            batch.forEach((userId, failed) -> pending.merge(userId, failed,
+                    (current, retry) -> retry.isAfter(current) ? retry : current));
+            logger.warn("Failed to flush last login for {} users, will retry", batch.size(), e);
+            return;
+        }
+        if (userCache != null) {
+            batch.forEach(userCache::updateLastLogin);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        flush();
+    }
+}
@@ -0,0 +1,158 @@
+package com.eventplatform.service;
+
+import com.eventplatform.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Password Hashing Service
+ * Runs password encoding and verification on a bounded pool sized to the CPU
+ * count, so a burst of logins cannot occupy every request thread.
+ *
+ * When the pool and its queue are full, work is rejected immediately with a
+ * ServiceUnavailableException (503 + Retry-After) instead of queueing unbounded.
+ * Hash durations are recorded as histograms under auth.password-hashing.duration.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    // 0 means one thread per available processor
+    @Value("${auth.hashing.threads:0}")
+    private int threads;
+
+    @Value("${auth.hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${auth.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private ExecutorService executor;
+
+    private Counter rejected;
+
+    private Timer encodeTimer;
+
+    private Timer verifyTimer;
+
+    @PostConstruct
+    public void init() {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        if (meterRegistry != null) {
+            this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "auth.password-hashing");
+            this.rejected = meterRegistry.counter("auth.password-hashing.rejected");
+            this.encodeTimer = durationTimer("encode");
+            this.verifyTimer = durationTimer("verify");
+        } else {
+            this.executor = pool;
+        }
+
+        logger.info("Password hashing pool started with {} threads and a queue of {}", poolSize, queueCapacity);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Encode a raw password
+     */
+    public CompletableFuture<String> encode(CharSequence rawPassword) {
+        return submit(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Check a raw password against its stored hash
+     *
+     * If it matches but the hash uses outdated parameters, the password is rehashed
+     * in the same task, so an upgrade never needs a second trip through the queue.
+     */
+    public CompletableFuture<Verification> verify(CharSequence rawPassword, String encodedPassword) {
+        return submit(verifyTimer, () -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(encodedPassword)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    private <T> CompletableFuture<T> submit(Timer timer, Supplier<T> task) {
+        Supplier<T> timed = timer != null ? () -> timer.record(task) : task;
+        try {
+            return CompletableFuture.supplyAsync(timed, executor);
+        } catch (RejectedExecutionException e) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            logger.warn("Password hashing pool saturated, rejecting request");
+            throw new ServiceUnavailableException("Server is busy, please retry shortly", retryAfterSeconds);
+        }
+    }
+
+    private Timer durationTimer(String operation) {
+        return Timer.builder("auth.password-hashing.duration")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Outcome of a password check
+     *
+     * @param matches whether the password matched
+     * @param upgradedHash new hash to store when the old one used outdated parameters, otherwise null
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    /**
+     * Daemon threads named password-hash-N, so they show up clearly in thread dumps
+     */
+    private static class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.eventplatform.service;
+
+import com.eventplatform.model.RevokedToken;
+import com.eventplatform.repository.RevokedTokenRepository;
+import com.eventplatform.security.JwtClaims;
+import com.eventplatform.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token Revocation Service
+ * Tracks access tokens revoked before their expiry.
+ *
+ * Revoked jtis are kept in memory and persisted so they survive restarts. A Bloom
+ * filter sits in front of the map, so the common case (token not revoked) is
+ * answered without a map lookup or a database query.
+ *
+ * Revocations made through other instances arrive through the cache_invalidations
+ * table (see CacheInvalidationService.TOKEN_REVOCATION), which names the user whose
+ * revocations are then reloaded.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.revocation.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+
+    // Guards filter rebuilds against concurrent revocations; reads never lock
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter filter;
+
+    @PostConstruct
+    public void init() {
+        LocalDateTime now = LocalDateTime.now();
+        for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+        }
+        rebuildFilter();
+        logger.info("Loaded {} revoked tokens", revoked.size());
+    }
+
+    /**
+     * Check whether a token has been revoked
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+        Instant expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    /**
+     * Load a user's revocations made through another instance
+     */
+    public void refresh(long userId) {
+        List<RevokedToken> tokens = revokedTokenRepository.findByUserIdAndExpiresAtAfter(userId, LocalDateTime.now());
+        synchronized (writeLock) {
+            for (RevokedToken token : tokens) {
+                revoked.put(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant());
+                filter.add(token.getJti());
+            }
+        }
+    }
+
+    /**
+     * Revoke a token until it expires
+     */
+    @Transactional
+    public void revoke(JwtClaims claims) {
+        if (claims.tokenId() == null || !claims.expiresAt().isAfter(Instant.now())) {
+            return;
+        }
+
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.tokenId())
+                .userId(claims.userId())
+                .expiresAt(LocalDateTime.ofInstant(claims.expiresAt(), ZoneId.systemDefault()))
+                .build());
+
+        synchronized (writeLock) {
+            revoked.put(claims.tokenId(), claims.expiresAt());
+            filter.add(claims.tokenId());
+        }
+        logger.debug("Revoked token {} of user ID: {}", claims.tokenId(), claims.userId());
+    }
+
+    /**
+     * Drop revocations of tokens that have expired since they were revoked
+     *
+     * Bloom filters cannot remove entries, so the filter is rebuilt from what remains.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    @Transactional
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        rebuildFilter();
+
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.ofInstant(now, ZoneId.systemDefault()));
+        if (deleted > 0 || before != revoked.size()) {
+            logger.info("Purged {} expired token revocations", Math.max(deleted, before - revoked.size()));
+        }
+    }
+
+    private void rebuildFilter() {
+        synchronized (writeLock) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, revoked.size() * 2L), falsePositiveRate);
+            revoked.keySet().forEach(rebuilt::add);
+            this.filter = rebuilt;
+        }
+    }
+}
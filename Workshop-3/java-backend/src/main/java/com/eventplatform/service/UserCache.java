@@ -0,0 +1,105 @@
+package com.eventplatform.service;
+
+import com.eventplatform.dto.UserDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * User Cache
+ * Bounded in-process cache of UserDTOs by user id, for profile lookups.
+ *
+ * Writers call invalidate(); the entry is dropped immediately and again once the
+ * transaction completes, so a lookup that reloads it between the two cannot keep
+ * pre-commit data. Changes made by other instances arrive through the
+ * cache_invalidations table and are evicted at the next poll (see
+ * CacheInvalidationService); last login times are the exception, as they are only
+ * updated on the instance that flushed them (see LastLoginWriteBehind). Entries
+ * still expire after ttl-seconds, which bounds how long one stays stale then or if
+ * an invalidation is missed.
+ */
+@Component
+@ConditionalOnProperty(name = "user-cache.enabled", havingValue = "true")
+public class UserCache {
+
+    @Value("${user-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry;
+
+    private Cache<Long, UserDTO> cache;
+
+    @PostConstruct
+    public void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+
+        if (meterRegistry != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+            Gauge.builder("user.cache.hit.ratio", cache, c -> c.stats().hitRate())
+                    .description("Share of user lookups answered from the cache")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Get a cached user, loading it on a miss. Loader exceptions propagate and
+     * nothing is cached.
+     */
+    public UserDTO get(Long userId, Function<Long, UserDTO> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * Drop a user now and again when the current transaction completes
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Set a cached user's last login time, unless it already has a later one. The
+     * cached copy is replaced, not modified, as it may be serialized concurrently.
+     */
+    public void updateLastLogin(Long userId, LocalDateTime lastLogin) {
+        cache.asMap().computeIfPresent(userId, (id, user) ->
+                user.getLastLogin() == null || user.getLastLogin().isBefore(lastLogin)
+                        ? user.toBuilder().lastLogin(lastLogin).build()
+                        : user);
+    }
+
+    /**
+     * Number of cached users (approximate)
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,174 @@
+package com.eventplatform.service;
+
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * User Counters
+ * In-memory number of users per (role, status), so statistics and listing totals
+ * are answered without a count query.
+ *
+ * Counts are seeded with one GROUP BY at startup and adjusted after each committed
+ * registration, import, status change and deletion. Writes that bypass this service
+ * (or race with a reconciliation) make the counts drift; the periodic reconciliation
+ * replaces them with fresh database counts and logs any difference.
+ */
+@Service
+public class UserCounters {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCounters.class);
+
+    private static final UserFilter.Role[] ROLES = UserFilter.Role.values();
+    private static final User.UserStatus[] STATUSES = User.UserStatus.values();
+
+    @Autowired
+    private UserStore userStore;
+
+    // One adder per (role, status), indexed by role.ordinal() * STATUSES.length + status.ordinal()
+    private volatile LongAdder[] cells = newCells();
+
+    @PostConstruct
+    public void init() {
+        this.cells = load();
+        logger.info("Loaded user counters: {} users", snapshot().getTotal());
+    }
+
+    /**
+     * Recount from the database and replace the in-memory counts
+     */
+    @Scheduled(fixedDelayString = "${user-stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${user-stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        LongAdder[] fresh = load();
+        LongAdder[] current = cells;
+        cells = fresh;
+
+        for (int i = 0; i < fresh.length; i++) {
+            long drift = current[i].sum() - fresh[i].sum();
+            if (drift != 0) {
+                logger.warn("User counter {}/{} was off by {}", ROLES[i / STATUSES.length],
+                        STATUSES[i % STATUSES.length], drift);
+            }
+        }
+    }
+
+    /**
+     * Count a new user once the current transaction commits
+     */
+    public void userCreated(UserFilter.Role role, User.UserStatus status) {
+        afterCommit(() -> cell(role, status).increment());
+    }
+
+    /**
+     * Move a user from one status to another once the current transaction commits
+     */
+    public void statusChanged(UserFilter.Role role, User.UserStatus from, User.UserStatus to) {
+        if (from == to) {
+            return;
+        }
+        afterCommit(() -> {
+            cell(role, from).decrement();
+            cell(role, to).increment();
+        });
+    }
+
+    /**
+     * Number of users matching a filter; null filter fields match everything
+     */
+    public long count(UserFilter filter) {
+        LongAdder[] current = cells;
+        long count = 0;
+        for (UserFilter.Role role : ROLES) {
+            if (filter.getRole() != null && filter.getRole() != role) {
+                continue;
+            }
+            for (User.UserStatus status : STATUSES) {
+                if (filter.getStatus() == null || filter.getStatus() == status) {
+                    count += current[index(role, status)].sum();
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Current counts broken down by role and status
+     */
+    public UserStatistics snapshot() {
+        LongAdder[] current = cells;
+        Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+        Map<UserFilter.Role, UserStatistics.RoleStatistics> byRole = new EnumMap<>(UserFilter.Role.class);
+        long total = 0;
+
+        for (UserFilter.Role role : ROLES) {
+            Map<User.UserStatus, Long> roleByStatus = new EnumMap<>(User.UserStatus.class);
+            long roleTotal = 0;
+            for (User.UserStatus status : STATUSES) {
+                long count = current[index(role, status)].sum();
+                roleByStatus.put(status, count);
+                byStatus.merge(status, count, Long::sum);
+                roleTotal += count;
+            }
+            byRole.put(role, new UserStatistics.RoleStatistics(roleTotal, roleByStatus));
+            total += roleTotal;
+        }
+
+        return UserStatistics.builder()
+                .total(total)
+                .active(byStatus.get(User.UserStatus.ACTIVE))
+                .suspended(byStatus.get(User.UserStatus.SUSPENDED))
+                .byStatus(byStatus)
+                .byRole(byRole)
+                .build();
+    }
+
+    private LongAdder[] load() {
+        LongAdder[] loaded = newCells();
+        userStore.countByRoleAndStatus().forEach((role, byStatus) ->
+                byStatus.forEach((status, count) -> loaded[index(role, status)].add(count)));
+        return loaded;
+    }
+
+    private LongAdder cell(UserFilter.Role role, User.UserStatus status) {
+        return cells[index(role, status)];
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    private static int index(UserFilter.Role role, User.UserStatus status) {
+        return role.ordinal() * STATUSES.length + status.ordinal();
+    }
+
+    private static LongAdder[] newCells() {
+        LongAdder[] cells = new LongAdder[ROLES.length * STATUSES.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new LongAdder();
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,466 @@
+package com.eventplatform.service;
+
+import com.eventplatform.datasource.ReadYourWritesTracker;
+import com.eventplatform.dto.RegisterRequest;
+import com.eventplatform.dto.UserImportError;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserImportProgress;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.CsvFormatException;
+import com.eventplatform.util.CsvReader;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * User Import Service
+ * Bulk-creates accounts from a streamed CSV or NDJSON body, one chunk of rows at a
+ * time, so memory use does not depend on the size of the file. For each chunk:
+ * rows are validated like a registration, duplicate emails are dropped (within the
+ * chunk, then against the UserStore in one query), passwords are hashed in parallel
+ * on a dedicated fork-join pool, and the accounts are inserted with one createAll()
+ * (a single JDBC batch in the application database).
+ *
+ * The pool is separate from the login hashing pool, so an import cannot starve
+ * logins; only user-import.max-concurrent imports run at once.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    /**
+     * Input format of an import
+     */
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    /**
+     * Receives import results as they happen
+     */
+    public interface Listener {
+
+        void onError(UserImportError error) throws IOException;
+
+        void onProgress(UserImportProgress progress) throws IOException;
+    }
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Value("${user-import.chunk-size:500}")
+    private int chunkSize;
+
+    // 0 means one hashing thread per available processor
+    @Value("${user-import.hashing-parallelism:0}")
+    private int hashingParallelism;
+
+    @Value("${user-import.max-concurrent:1}")
+    private int maxConcurrent;
+
+    @Value("${user-import.retry-after-seconds:60}")
+    private long retryAfterSeconds;
+
+    // Longest CSV record or NDJSON line; far above any valid row
+    @Value("${user-import.max-record-length:8192}")
+    private int maxRecordLength;
+
+    private ForkJoinPool hashingPool;
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        int parallelism = hashingParallelism > 0 ? hashingParallelism : Runtime.getRuntime().availableProcessors();
+        this.hashingPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("user-import-hash-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    /**
+     * Import users from a CSV (with a header row) or NDJSON stream
+     *
+     * @param adminId administrator running the import, recorded in the audit log
+     * @return final totals
+     * @throws IOException if reading the input or notifying the listener fails
+     * @throws BadRequestException if the CSV header is malformed or lacks a required column
+     * @throws ServiceUnavailableException if max-concurrent imports are already running
+     */
+    public UserImportProgress importUsers(InputStream in, Format format, Long adminId, Listener listener)
+            throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new ServiceUnavailableException("A user import is already running", retryAfterSeconds);
+        }
+
+        UserImportProgress totals = new UserImportProgress();
+        boolean completed = false;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            RowSource source = format == Format.CSV
+                    ? new CsvRowSource(reader, maxRecordLength)
+                    : new NdjsonRowSource(reader);
+
+            List<Row> chunk;
+            while (!(chunk = source.next(chunkSize)).isEmpty()) {
+                importChunk(chunk, totals, listener);
+                listener.onProgress(copy(totals));
+            }
+
+            totals.setDone(true);
+            listener.onProgress(copy(totals));
+            completed = true;
+            return totals;
+        } finally {
+            permits.release();
+            logger.info("User import by admin {} {}: {} processed, {} imported, {} duplicates, {} failed",
+                    adminId, completed ? "completed" : "aborted", totals.getProcessed(), totals.getImported(),
+                    totals.getDuplicates(), totals.getFailed());
+            if (totals.getImported() > 0) {
+                readYourWrites.recordWrite(adminId);
+            }
+            if (totals.getProcessed() > 0) {
+                auditLogWriter.submit(AuditEvent.builder()
+                        .adminId(adminId)
+                        .action("USER_BULK_IMPORT")
+                        .entity("User")
+                        .details(String.format("Bulk import %s: %d processed, %d imported, %d duplicates, %d failed",
+                                completed ? "completed" : "aborted", totals.getProcessed(), totals.getImported(),
+                                totals.getDuplicates(), totals.getFailed()))
+                        .timestamp(LocalDateTime.now())
+                        .build());
+            }
+        }
+    }
+
+    private void importChunk(List<Row> chunk, UserImportProgress totals, Listener listener) throws IOException {
+        totals.setProcessed(totals.getProcessed() + chunk.size());
+
+        // Validate and drop duplicates within the chunk
+        Map<String, Row> candidates = new HashMap<>();
+        for (Row row : chunk) {
+            String error = row.error() != null ? row.error() : validate(row.request());
+            if (error != null) {
+                totals.setFailed(totals.getFailed() + 1);
+                listener.onError(new UserImportError(row.record(), row.email(), error));
+            } else if (candidates.putIfAbsent(User.normalizeEmail(row.email()), row) != null) {
+                totals.setDuplicates(totals.getDuplicates() + 1);
+                listener.onError(new UserImportError(row.record(), row.email(), "Duplicate email in import"));
+            }
+        }
+
+        // Drop emails that already have an account
+        Set<String> existing = userStore.findExistingEmails(candidates.keySet());
+        List<Row> accepted = new ArrayList<>();
+        for (Row row : chunk) {
+            String normalized = row.error() == null ? User.normalizeEmail(row.email()) : null;
+            if (normalized == null || candidates.get(normalized) != row) {
+                continue;
+            }
+            if (existing.contains(normalized)) {
+                totals.setDuplicates(totals.getDuplicates() + 1);
+                listener.onError(new UserImportError(row.record(), row.email(), "Email already exists"));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = hashingPool.submit(() -> accepted.parallelStream()
+                .map(row -> passwordEncoder.encode(row.request().getPassword()))
+                .toList()).join();
+
+        insert(accepted, hashes, totals, listener);
+    }
+
+    /**
+     * Insert the chunk; a row whose account was created after the existence check is
+     * reported as a duplicate
+     */
+    private void insert(List<Row> rows, List<String> hashes, UserImportProgress totals, Listener listener)
+            throws IOException {
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            users.add(toUser(rows.get(i).request(), hashes.get(i)));
+        }
+
+        List<UserStore.CreateResult> results = userStore.createAll(users);
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            switch (results.get(i)) {
+                case CREATED -> {
+                    totals.setImported(totals.getImported() + 1);
+                    userCounters.userCreated(UserFilter.Role.of(users.get(i)), User.UserStatus.ACTIVE);
+                }
+                case DUPLICATE_EMAIL -> {
+                    totals.setDuplicates(totals.getDuplicates() + 1);
+                    listener.onError(new UserImportError(row.record(), row.email(), "Email already exists"));
+                }
+                case REJECTED -> {
+                    totals.setFailed(totals.getFailed() + 1);
+                    listener.onError(new UserImportError(row.record(), row.email(), "Rejected by the database"));
+                }
+            }
+        }
+    }
+
+    private static User toUser(RegisterRequest request, String hash) {
+        User user;
+        if ("ORGANIZER".equals(request.getUserType())) {
+            EventOrganizer organizer = new EventOrganizer();
+            organizer.setOrganizationName(request.getOrganizationName());
+            user = organizer;
+        } else {
+            user = new TicketBuyer();
+        }
+        user.setName(request.getName());
+        user.setEmail(request.getEmail());
+        user.setPhoneNumber(request.getPhoneNumber());
+        user.setPassword(hash);
+        user.setStatus(User.UserStatus.ACTIVE);
+        return user;
+    }
+
+    /**
+     * Same rules as registration, except that admin accounts cannot be imported
+     *
+     * @return the error message, or null if the row is valid
+     */
+    private String validate(RegisterRequest request) {
+        if (request.getUserType() == null || request.getUserType().isBlank()) {
+            request.setUserType("BUYER");
+        } else {
+            request.setUserType(request.getUserType().trim().toUpperCase(Locale.ROOT));
+        }
+        if ("ADMIN".equals(request.getUserType())) {
+            return "Admin accounts cannot be imported";
+        }
+
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private static UserImportProgress copy(UserImportProgress totals) {
+        return new UserImportProgress(totals.getProcessed(), totals.getImported(), totals.getDuplicates(),
+                totals.getFailed(), totals.isDone());
+    }
+
+    /**
+     * A parsed input row; error is set when the row could not be parsed
+     */
+    private record Row(long record, RegisterRequest request, String error) {
+
+        String email() {
+            return request != null ? request.getEmail() : null;
+        }
+    }
+
+    private interface RowSource {
+
+        /**
+         * Up to max rows; empty at end of input
+         */
+        List<Row> next(int max) throws IOException;
+    }
+
+    // Marker returned by NdjsonRowSource.readLine(), compared by identity
+    private static final String TOO_LONG = new String("");
+
+    private class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public List<Row> next(int max) throws IOException {
+            List<Row> rows = new ArrayList<>(max);
+            String text;
+            while (rows.size() < max && (text = readLine()) != null) {
+                line++;
+                if (text == TOO_LONG) {
+                    rows.add(new Row(line, null, "Line longer than " + maxRecordLength + " characters"));
+                    continue;
+                }
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    rows.add(new Row(line, objectMapper.readValue(text, RegisterRequest.class), null));
+                } catch (JsonProcessingException e) {
+                    rows.add(new Row(line, null, "Malformed JSON"));
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Next line, or TOO_LONG (after skipping to the end of the line) if it exceeds
+         * maxRecordLength; null at end of input
+         */
+        private String readLine() throws IOException {
+            StringBuilder text = new StringBuilder();
+            int c;
+            while ((c = reader.read()) != -1 && c != '\n') {
+                if (text.length() == maxRecordLength) {
+                    while ((c = reader.read()) != -1 && c != '\n') {
+                        // skip the rest of the line
+                    }
+                    return TOO_LONG;
+                }
+                text.append((char) c);
+            }
+            if (c == -1 && text.isEmpty()) {
+                return null;
+            }
+            int end = text.length();
+            return end > 0 && text.charAt(end - 1) == '\r' ? text.substring(0, end - 1) : text.toString();
+        }
+    }
+
+    private static class CsvRowSource implements RowSource {
+
+        private static final List<String> REQUIRED_COLUMNS = List.of("name", "email", "password");
+
+        private final CsvReader reader;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private long record;
+        private boolean failed;
+
+        CsvRowSource(BufferedReader reader, int maxRecordLength) throws IOException {
+            this.reader = new CsvReader(reader, maxRecordLength);
+            List<String> header;
+            try {
+                header = this.reader.readRecord();
+            } catch (CsvFormatException e) {
+                throw new BadRequestException("Malformed CSV header: " + e.getMessage());
+            }
+            if (header != null) {
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+                }
+            }
+            for (String column : REQUIRED_COLUMNS) {
+                if (!columns.containsKey(column)) {
+                    throw new BadRequestException("CSV header must include the columns " + REQUIRED_COLUMNS);
+                }
+            }
+        }
+
+        /**
+         * After malformed input the reader cannot find the next record, so the failing
+         * record is reported as an error row and the rest of the input is not read
+         */
+        @Override
+        public List<Row> next(int max) throws IOException {
+            List<Row> rows = new ArrayList<>(max);
+            if (failed) {
+                return rows;
+            }
+            List<String> fields;
+            while (rows.size() < max) {
+                try {
+                    fields = reader.readRecord();
+                } catch (CsvFormatException e) {
+                    failed = true;
+                    rows.add(new Row(record + 1, null,
+                            "Malformed CSV, rest of the input not imported: " + e.getMessage()));
+                    return rows;
+                }
+                if (fields == null) {
+                    break;
+                }
+                record++;
+                RegisterRequest request = new RegisterRequest();
+                request.setName(field(fields, "name"));
+                request.setEmail(field(fields, "email"));
+                request.setPassword(field(fields, "password"));
+                request.setPhoneNumber(field(fields, "phonenumber"));
+                request.setUserType(field(fields, "usertype"));
+                request.setOrganizationName(field(fields, "organizationname"));
+                rows.add(new Row(record, request, null));
+            }
+            return rows;
+        }
+
+        /**
+         * Trimmed value of a column, or null when the column is absent or empty
+         */
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
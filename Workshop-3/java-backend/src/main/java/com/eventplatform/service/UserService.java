@@ -1,23 +1,41 @@
 package com.eventplatform.service;
 
+import com.eventplatform.datasource.ReadYourWritesTracker;
+import com.eventplatform.dto.CursorPage;
 import com.eventplatform.dto.UpdateUserRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.exception.BadRequestException;
 import com.eventplatform.exception.ResourceNotFoundException;
 import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.Permission;
+import com.eventplatform.model.PlatformAdmin;
 import com.eventplatform.model.User;
-import com.eventplatform.repository.UserRepository;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.SortCursor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Set;
 
 /**
  * User Service
- * Handles user management operations
+ * Handles user management operations. Reads run in read-only transactions (no
+ * dirty checking, and served by the replica when one is configured).
  */
 @Service
 @Transactional
@@ -25,30 +43,101 @@ public class UserService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private UserStore userStore;
+
+    @Autowired
+    private InactiveUserRegistry inactiveUserRegistry;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @Autowired(required = false)
+    private UserCache userCache;
+
     @Autowired
-    private UserRepository userRepository;
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Read-write, so the routing data source sends it to the primary
+    private TransactionTemplate primaryRead;
+
+    @PostConstruct
+    public void init() {
+        this.primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     /**
-     * Get user by ID
+     * Get user by ID, from the user cache when it is enabled. Cache misses are loaded
+     * from the primary: a replica may still return the row an invalidation was for,
+     * which would then stay cached until it expires.
      */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserDTO getUserById(Long userId) {
+        if (userCache != null) {
+            return userCache.get(userId, id -> primaryRead.execute(status -> loadUser(id)));
+        }
+        return loadUser(userId);
+    }
+
+    private UserDTO loadUser(Long userId) {
         logger.info("Fetching user with ID: {}", userId);
-        
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        return UserDTO.fromEntity(user);
+        return userStore.findDtoById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
     /**
-     * Get all users
+     * Get one page of users
+     *
+     * @param cursor nextCursor of the previous page, or null for the first page
+     * @param limit page size, capped at MAX_PAGE_SIZE
+     * @param includeTotal whether to add the number of matching users (from UserCounters, so it may lag
+     *                     behind by a few concurrent writes)
      */
-    public List<UserDTO> getAllUsers() {
-        logger.info("Fetching all users");
-        
-        return userRepository.findAll().stream()
-                .map(UserDTO::fromEntity)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<UserDTO> findUsers(UserFilter filter, UserSort sort, boolean descending, String cursor,
+                                         int limit, boolean includeTotal) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+
+        SortCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = SortCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (!after.sort().equals(sort.getProperty())) {
+                throw new BadRequestException("Cursor does not match sort " + sort.getProperty());
+            }
+            if (!isValidSortValue(sort, after.value())) {
+                throw new BadRequestException("Invalid cursor");
+            }
+        }
+
+        // One extra row tells whether another page follows
+        List<UserDTO> rows = userStore.findPage(filter, sort, descending, after, pageSize + 1);
+        Long total = includeTotal ? userCounters.count(filter) : null;
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null, total);
+        }
+
+        List<UserDTO> items = rows.subList(0, pageSize);
+        UserDTO last = items.get(pageSize - 1);
+        return new CursorPage<>(List.copyOf(items), new SortCursor(sort.getProperty(), sortValue(sort, last),
+                last.getId()).encode(), total);
     }
 
     /**
@@ -57,7 +146,7 @@ public class UserService {
     public UserDTO updateUser(Long userId, UpdateUserRequest request) {
         logger.info("Updating user with ID: {}", userId);
         
-        User user = userRepository.findById(userId)
+        User user = userStore.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         // Update fields if provided
@@ -76,7 +165,8 @@ public class UserService {
             ((EventOrganizer) user).setOrganizationName(request.getOrganizationName());
         }
 
-        user = userRepository.save(user);
+        user = userStore.update(user);
+        userChanged(userId);
         logger.info("User updated successfully: {}", user.getEmail());
 
         return UserDTO.fromEntity(user);
@@ -88,27 +178,111 @@ public class UserService {
     public void deleteUser(Long userId) {
         logger.info("Deleting user with ID: {}", userId);
         
-        User user = userRepository.findById(userId)
+        User user = userStore.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
+        User.UserStatus previous = user.getStatus();
         user.setStatus(User.UserStatus.DELETED);
-        userRepository.save(user);
+        userStore.update(user);
+        inactiveUserRegistry.statusChanged(userId, User.UserStatus.DELETED);
+        cacheInvalidationService.publish(CacheInvalidationService.USER_STATUS, userId);
+        userCounters.statusChanged(UserFilter.Role.of(user), previous, User.UserStatus.DELETED);
+        userChanged(userId);
         
         logger.info("User deleted successfully: {}", user.getEmail());
     }
 
     /**
-     * Get user statistics
+     * Change user status (suspend, deactivate or reactivate)
      */
-    public Object getUserStatistics() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByStatus(User.UserStatus.ACTIVE);
-        long suspendedUsers = userRepository.countByStatus(User.UserStatus.SUSPENDED);
-
-        return new Object() {
-            public final long total = totalUsers;
-            public final long active = activeUsers;
-            public final long suspended = suspendedUsers;
+    public UserDTO updateUserStatus(Long userId, User.UserStatus status) {
+        logger.info("Changing status of user with ID: {} to {}", userId, status);
+
+        User user = userStore.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        User.UserStatus previous = user.getStatus();
+        user.setStatus(status);
+        user = userStore.update(user);
+        inactiveUserRegistry.statusChanged(userId, status);
+        cacheInvalidationService.publish(CacheInvalidationService.USER_STATUS, userId);
+        userCounters.statusChanged(UserFilter.Role.of(user), previous, status);
+        userChanged(userId);
+
+        return UserDTO.fromEntity(user);
+    }
+
+    /**
+     * Replace an admin's permissions. The change applies from the admin's next access token.
+     *
+     * @param grantorPermissions permission mask of the calling admin; only bits it holds
+     *                           can be granted or revoked
+     * @throws BadRequestException if the user is not an admin
+     * @throws AccessDeniedException if a changed permission is not held by the grantor
+     */
+    public UserDTO updatePermissions(Long userId, Set<Permission> permissions, long grantorPermissions) {
+        logger.info("Changing permissions of user with ID: {} to {}", userId, permissions);
+
+        User user = userStore.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        if (!(user instanceof PlatformAdmin admin)) {
+            throw new BadRequestException("User " + userId + " is not an admin");
+        }
+
+        long mask = Permission.toMask(permissions);
+        if (((mask ^ admin.getPermissionMask()) & ~grantorPermissions) != 0) {
+            throw new AccessDeniedException("Cannot grant or revoke permissions you do not hold");
+        }
+
+        admin.setPermissions(mask);
+        user = userStore.update(admin);
+        userChanged(userId);
+
+        return UserDTO.fromEntity(user);
+    }
+
+    /**
+     * Get user statistics, read from the in-memory counters
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public UserStatistics getUserStatistics() {
+        return userCounters.snapshot();
+    }
+
+    /**
+     * Drop the user from this instance's cache, tell the other instances to do the same,
+     * and keep the user's reads on the primary until replicas catch up
+     */
+    private void userChanged(Long userId) {
+        if (userCache != null) {
+            userCache.invalidate(userId);
+        }
+        cacheInvalidationService.publish(CacheInvalidationService.USER, userId);
+        readYourWrites.recordWrite(userId);
+    }
+
+    /**
+     * Whether a cursor value can be bound as the sort key, so a tampered cursor is a
+     * 400 rather than a failing query
+     */
+    private static boolean isValidSortValue(UserSort sort, String value) {
+        if (sort != UserSort.CREATED_AT) {
+            return true;
+        }
+        try {
+            LocalDateTime.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static String sortValue(UserSort sort, UserDTO user) {
+        return switch (sort) {
+            case CREATED_AT -> user.getCreatedAt().toString();
+            case NAME -> user.getName();
+            case EMAIL -> user.getEmail();
+            case ID -> "";
         };
     }
 }
@@ -0,0 +1,242 @@
+package com.eventplatform.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Shard Directory
+ * Global tables kept on the first shard database:
+ * - user_directory hands out user ids and maps every normalized email to its user id,
+ *   which also keeps emails unique across shards
+ * - shard_buckets maps each of the BUCKETS virtual buckets to the shard holding it
+ *
+ * A user's bucket is a fixed hash of the id, so users move between shards a bucket at a
+ * time and only the bucket map changes. The map is cached in memory and reloaded every
+ * sharding.reload-interval-ms, which is how other instances learn about bucket moves.
+ */
+public class ShardDirectory {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardDirectory.class);
+
+    /**
+     * Number of virtual buckets; fixed for the lifetime of the data
+     */
+    public static final int BUCKETS = 1024;
+
+    /**
+     * Lifecycle of a bucket while it is moved by ShardRebalancer
+     */
+    public enum BucketState {
+        // Owned by shard, no copies elsewhere
+        STABLE,
+        // Being copied to other_shard; reads and writes still go to shard
+        COPYING,
+        // Final catch-up copy to other_shard; writes are rejected
+        FROZEN,
+        // Moved to shard; stale rows are being deleted from other_shard
+        CLEANING
+    }
+
+    private final JdbcTemplate jdbc;
+    private final int shardCount;
+
+    private volatile Assignment assignment;
+
+    public ShardDirectory(DataSource directory, int shardCount) {
+        this.jdbc = new JdbcTemplate(directory);
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Load the bucket map, first spreading the buckets round-robin over the shards if
+     * the directory is new
+     */
+    public void init() {
+        Integer mapped = jdbc.queryForObject("SELECT COUNT(*) FROM shard_buckets", Integer.class);
+        if (mapped == null || mapped == 0) {
+            List<Object[]> rows = new ArrayList<>(BUCKETS);
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                rows.add(new Object[]{bucket, bucket % shardCount, BucketState.STABLE.name()});
+            }
+            jdbc.batchUpdate("INSERT INTO shard_buckets (bucket, shard, state) VALUES (?, ?, ?)", rows);
+            logger.info("Spread {} buckets over {} shards", BUCKETS, shardCount);
+        }
+        reload();
+    }
+
+    /**
+     * Re-read the bucket map
+     */
+    @Scheduled(fixedDelayString = "${sharding.reload-interval-ms:5000}",
+            initialDelayString = "${sharding.reload-interval-ms:5000}")
+    public void reload() {
+        int[] owner = new int[BUCKETS];
+        int[] other = new int[BUCKETS];
+        BucketState[] state = new BucketState[BUCKETS];
+        Arrays.fill(other, -1);
+
+        jdbc.query("SELECT bucket, shard, other_shard, state FROM shard_buckets", rs -> {
+            int bucket = rs.getInt("bucket");
+            owner[bucket] = rs.getInt("shard");
+            int otherShard = rs.getInt("other_shard");
+            other[bucket] = rs.wasNull() ? -1 : otherShard;
+            state[bucket] = BucketState.valueOf(rs.getString("state"));
+        });
+
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (state[bucket] == null) {
+                throw new IllegalStateException("Bucket " + bucket + " is not mapped to a shard");
+            }
+            if (owner[bucket] >= shardCount || other[bucket] >= shardCount) {
+                throw new IllegalStateException("Bucket " + bucket + " is mapped to a shard that is not configured");
+            }
+        }
+        this.assignment = new Assignment(owner, other, state);
+    }
+
+    /**
+     * Virtual bucket of a user id (MurmurHash3 finalizer, so sequential ids spread evenly)
+     */
+    public static int bucketOf(long userId) {
+        long hash = userId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) Math.floorMod(hash, (long) BUCKETS);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Shard that owns a bucket
+     */
+    public int ownerOf(int bucket) {
+        return assignment.owner[bucket];
+    }
+
+    /**
+     * Shard that owns a user
+     */
+    public int shardOf(long userId) {
+        return ownerOf(bucketOf(userId));
+    }
+
+    public BucketState stateOf(int bucket) {
+        return assignment.state[bucket];
+    }
+
+    /**
+     * Shard being copied to (COPYING, FROZEN) or cleaned up (CLEANING), or -1
+     */
+    public int otherShardOf(int bucket) {
+        return assignment.other[bucket];
+    }
+
+    /**
+     * Buckets that may have rows on a shard without being owned by it (copies in
+     * flight or not yet cleaned up); scatter-gather queries exclude them there
+     */
+    public List<Integer> foreignBuckets(int shard) {
+        Assignment current = assignment;
+        List<Integer> buckets = new ArrayList<>();
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            if (current.other[bucket] == shard) {
+                buckets.add(bucket);
+            }
+        }
+        return buckets;
+    }
+
+    /**
+     * Number of buckets owned by each shard
+     */
+    public int[] bucketCounts() {
+        int[] counts = new int[shardCount];
+        for (int owner : assignment.owner) {
+            counts[owner]++;
+        }
+        return counts;
+    }
+
+    /**
+     * Claim an email and allocate the id of the new user
+     *
+     * @throws org.springframework.dao.DuplicateKeyException if the email is taken
+     */
+    public long register(String emailNormalized) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    "INSERT INTO user_directory (email_normalized) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, emailNormalized);
+            return ps;
+        }, keys);
+        return keys.getKey().longValue();
+    }
+
+    /**
+     * Release the email (and id) claimed by register(), e.g. when the shard insert failed
+     */
+    public void unregister(long userId) {
+        jdbc.update("DELETE FROM user_directory WHERE user_id = ?", userId);
+    }
+
+    public Optional<Long> lookup(String emailNormalized) {
+        return jdbc.queryForList("SELECT user_id FROM user_directory WHERE email_normalized = ?",
+                Long.class, emailNormalized).stream().findFirst();
+    }
+
+    /**
+     * Which of the given normalized emails are registered
+     */
+    public Set<String> findRegistered(Collection<String> emailsNormalized) {
+        if (emailsNormalized.isEmpty()) {
+            return Collections.emptySet();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(emailsNormalized.size(), "?"));
+        return new HashSet<>(jdbc.queryForList("SELECT email_normalized FROM user_directory "
+                + "WHERE email_normalized IN (" + placeholders + ")", String.class, emailsNormalized.toArray()));
+    }
+
+    /**
+     * @throws org.springframework.dao.DuplicateKeyException if the new email is taken
+     */
+    public void changeEmail(long userId, String emailNormalized) {
+        jdbc.update("UPDATE user_directory SET email_normalized = ? WHERE user_id = ?", emailNormalized, userId);
+    }
+
+    /**
+     * Persist a bucket's owner and move state, then reload the map
+     */
+    public void updateBucket(int bucket, int shard, Integer otherShard, BucketState state) {
+        jdbc.update("UPDATE shard_buckets SET shard = ?, other_shard = ?, state = ? WHERE bucket = ?",
+                shard, otherShard, state.name(), bucket);
+        reload();
+    }
+
+    /**
+     * Immutable snapshot of the bucket map, swapped as a whole on reload
+     */
+    private record Assignment(int[] owner, int[] other, BucketState[] state) {
+    }
+}
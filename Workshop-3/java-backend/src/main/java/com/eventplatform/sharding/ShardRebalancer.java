@@ -0,0 +1,297 @@
+package com.eventplatform.sharding;
+
+import com.eventplatform.dto.ShardStatus;
+import com.eventplatform.exception.ServiceUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shard Rebalancer
+ * Moves buckets between shards while the application keeps serving them, e.g. to fill
+ * a newly added shard. A bucket move:
+ * 1. COPYING: copy the bucket's rows to the target in id-ordered batches, then re-copy
+ *    rows updated since the previous pass until a pass is small
+ * 2. FROZEN: writes to the bucket are rejected; copy the last updates
+ * 3. CLEANING: the target owns the bucket; delete the copies left on the source
+ *
+ * Each step waits propagation-delay-ms so every instance has reloaded the bucket map
+ * (and writes that passed the FROZEN check have finished) before the next one starts.
+ * Moves interrupted by a restart are finished by the next rebalance.
+ */
+public class ShardRebalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardRebalancer.class);
+
+    // Rows updated this long before a copy pass started are picked up again by the next
+    // pass, to absorb clock differences between instances
+    private static final long CLOCK_SKEW_MARGIN_MS = 2000;
+
+    private static final long RETRY_AFTER_SECONDS = 60;
+
+    private final ShardedUserStore store;
+    private final ShardDirectory directory;
+    private final List<TransactionTemplate> transactions;
+    private final int batchSize;
+    private final long propagationDelayMs;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * @param batchSize          rows copied or deleted per statement
+     * @param propagationDelayMs at least sharding.reload-interval-ms plus the longest write
+     */
+    public ShardRebalancer(ShardedUserStore store, ShardDirectory directory, int batchSize, long propagationDelayMs) {
+        this.store = store;
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.propagationDelayMs = propagationDelayMs;
+        this.transactions = new ArrayList<>();
+        for (int shard = 0; shard < store.getShardCount(); shard++) {
+            transactions.add(new TransactionTemplate(
+                    new DataSourceTransactionManager(store.shard(shard).getDataSource())));
+        }
+    }
+
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    /**
+     * Buckets and users per shard
+     */
+    public ShardStatus status() {
+        int[] buckets = directory.bucketCounts();
+        long[] users = store.countByShard();
+        List<ShardStatus.ShardInfo> shards = new ArrayList<>();
+        for (int shard = 0; shard < buckets.length; shard++) {
+            shards.add(new ShardStatus.ShardInfo(shard, buckets[shard], users[shard]));
+        }
+        int moving = 0;
+        for (int bucket = 0; bucket < ShardDirectory.BUCKETS; bucket++) {
+            if (directory.stateOf(bucket) != ShardDirectory.BucketState.STABLE) {
+                moving++;
+            }
+        }
+        return ShardStatus.builder()
+                .shards(shards)
+                .movingBuckets(moving)
+                .rebalancing(running.get())
+                .build();
+    }
+
+    /**
+     * Rebalance on a background thread
+     *
+     * @throws ServiceUnavailableException if a rebalance is already running
+     */
+    public void startRebalance() {
+        acquire();
+        Thread thread = new Thread(() -> {
+            try {
+                doRebalance();
+            } catch (RuntimeException e) {
+                logger.error("Shard rebalance failed; the next rebalance resumes it", e);
+            } finally {
+                running.set(false);
+            }
+        }, "shard-rebalance");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Finish interrupted moves, then move buckets until every shard owns an equal share
+     *
+     * @return number of buckets moved
+     * @throws ServiceUnavailableException if a rebalance is already running
+     */
+    public int rebalance() {
+        acquire();
+        try {
+            return doRebalance();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Move one bucket to a shard
+     *
+     * @throws ServiceUnavailableException if a rebalance is already running
+     */
+    public void moveBucket(int bucket, int target) {
+        if (target < 0 || target >= directory.getShardCount()) {
+            throw new IllegalArgumentException("No such shard: " + target);
+        }
+        acquire();
+        try {
+            move(bucket, target);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void acquire() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ServiceUnavailableException("A shard rebalance is already running", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private int doRebalance() {
+        directory.reload();
+        for (int bucket = 0; bucket < ShardDirectory.BUCKETS; bucket++) {
+            switch (directory.stateOf(bucket)) {
+                case COPYING, FROZEN -> move(bucket, directory.otherShardOf(bucket));
+                case CLEANING -> cleanUp(bucket, directory.otherShardOf(bucket));
+                default -> {
+                }
+            }
+        }
+
+        int shardCount = directory.getShardCount();
+        int[] counts = directory.bucketCounts();
+        int[] targets = new int[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            targets[shard] = ShardDirectory.BUCKETS / shardCount + (shard < ShardDirectory.BUCKETS % shardCount ? 1 : 0);
+        }
+
+        int moved = 0;
+        for (int bucket = 0; bucket < ShardDirectory.BUCKETS; bucket++) {
+            int source = directory.ownerOf(bucket);
+            if (counts[source] <= targets[source]) {
+                continue;
+            }
+            int target = -1;
+            for (int shard = 0; shard < shardCount && target < 0; shard++) {
+                if (counts[shard] < targets[shard]) {
+                    target = shard;
+                }
+            }
+            if (target < 0) {
+                break;
+            }
+            move(bucket, target);
+            counts[source]--;
+            counts[target]++;
+            moved++;
+        }
+        logger.info("Shard rebalance finished, {} buckets moved", moved);
+        return moved;
+    }
+
+    private void move(int bucket, int target) {
+        int source = directory.ownerOf(bucket);
+        if (source == target) {
+            return;
+        }
+
+        if (directory.stateOf(bucket) != ShardDirectory.BucketState.FROZEN) {
+            directory.updateBucket(bucket, source, target, ShardDirectory.BucketState.COPYING);
+            awaitPropagation();
+        }
+
+        LocalDateTime since = null;
+        int copied;
+        do {
+            LocalDateTime passStarted = LocalDateTime.now().minusNanos(CLOCK_SKEW_MARGIN_MS * 1_000_000);
+            copied = copy(bucket, source, target, since);
+            since = passStarted;
+        } while (copied > batchSize);
+
+        directory.updateBucket(bucket, source, target, ShardDirectory.BucketState.FROZEN);
+        awaitPropagation();
+        copy(bucket, source, target, since);
+
+        directory.updateBucket(bucket, target, source, ShardDirectory.BucketState.CLEANING);
+        awaitPropagation();
+        cleanUp(bucket, source);
+        logger.info("Moved bucket {} from shard {} to shard {}", bucket, source, target);
+    }
+
+    /**
+     * Copy the bucket's rows (only those updated since the given time, if set), replacing
+     * existing copies on the target
+     *
+     * @return number of rows copied
+     */
+    private int copy(int bucket, int source, int target, LocalDateTime since) {
+        String sql = "SELECT " + ShardedUserStore.COLUMNS + " FROM users WHERE bucket = ? AND id > ?"
+                + (since != null ? " AND updated_at >= ?" : "") + " ORDER BY id LIMIT ?";
+        int columnCount = ShardedUserStore.COLUMNS.split(",").length;
+        String insert = "INSERT INTO users (" + ShardedUserStore.COLUMNS + ") VALUES ("
+                + String.join(", ", Collections.nCopies(columnCount, "?")) + ")";
+
+        JdbcTemplate from = store.shard(source);
+        JdbcTemplate to = store.shard(target);
+        long lastId = 0;
+        int copied = 0;
+        while (true) {
+            Object[] args = since != null
+                    ? new Object[]{bucket, lastId, Timestamp.valueOf(since), batchSize}
+                    : new Object[]{bucket, lastId, batchSize};
+            List<Object[]> rows = from.query(sql, (rs, rowNum) -> {
+                Object[] row = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    row[i] = rs.getObject(i + 1);
+                }
+                return row;
+            }, args);
+            if (rows.isEmpty()) {
+                return copied;
+            }
+
+            List<Object> ids = rows.stream().map(row -> row[0]).toList();
+            transactions.get(target).executeWithoutResult(status -> {
+                to.update("DELETE FROM users WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+                to.batchUpdate(insert, rows);
+            });
+
+            copied += rows.size();
+            lastId = ((Number) ids.get(ids.size() - 1)).longValue();
+            if (rows.size() < batchSize) {
+                return copied;
+            }
+        }
+    }
+
+    /**
+     * Delete the bucket's rows from a shard that no longer owns it, then mark it stable
+     */
+    private void cleanUp(int bucket, int staleShard) {
+        JdbcTemplate shard = store.shard(staleShard);
+        List<Long> ids;
+        do {
+            ids = shard.queryForList("SELECT id FROM users WHERE bucket = ? ORDER BY id LIMIT ?",
+                    Long.class, bucket, batchSize);
+            if (!ids.isEmpty()) {
+                shard.update("DELETE FROM users WHERE id IN (" + placeholders(ids.size()) + ")", ids.toArray());
+            }
+        } while (ids.size() == batchSize);
+        directory.updateBucket(bucket, directory.ownerOf(bucket), null, ShardDirectory.BucketState.STABLE);
+    }
+
+    private void awaitPropagation() {
+        if (propagationDelayMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(propagationDelayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while moving a bucket", e);
+        }
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,511 @@
+package com.eventplatform.sharding;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.PlatformAdmin;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserRepositoryImpl;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.SortCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Sharded User Store
+ * Users spread over N databases. Single-user operations go to the shard that owns the
+ * user's bucket (see ShardDirectory); email lookups go through the directory first.
+ * Listings and counts are scattered to every shard in parallel and merged.
+ *
+ * While a bucket is being moved its rows can exist on two shards; scatter-gather
+ * queries skip them on the shard that does not own the bucket, and writes to the
+ * bucket are rejected with 503 during the short FROZEN phase.
+ *
+ * Listings merge the shards' pages in Java, so name and email must sort on the
+ * shards as String.compareTo does (binary collation, see scripts/09-user-shards.sql).
+ *
+ * Every write sets updated_at, which is how the rebalancer finds rows changed while
+ * their bucket was being copied.
+ */
+public class ShardedUserStore implements UserStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedUserStore.class);
+
+    static final String COLUMNS = "id, bucket, user_type, name, email, email_normalized, phone_number, password, "
+            + "status, created_at, updated_at, last_login, permissions, access_level, organization_name";
+
+    private static final String DTO_COLUMNS = "id, user_type, name, email, phone_number, status, created_at, "
+            + "last_login, organization_name, permissions, access_level";
+
+    private static final long FROZEN_RETRY_AFTER_SECONDS = 5;
+
+    private final List<JdbcTemplate> shards;
+    private final ShardDirectory directory;
+    private final ExecutorService executor;
+    private final long timeoutMs;
+
+    /**
+     * @param threads   threads running scatter-gather queries
+     * @param timeoutMs give up on a scatter-gather query when a shard has not answered by then
+     */
+    public ShardedUserStore(List<? extends DataSource> shards, ShardDirectory directory, int threads, long timeoutMs) {
+        if (shards.size() != directory.getShardCount()) {
+            throw new IllegalArgumentException("Directory expects " + directory.getShardCount()
+                    + " shards but " + shards.size() + " are configured");
+        }
+        this.shards = shards.stream().map(JdbcTemplate::new).toList();
+        this.directory = directory;
+        this.timeoutMs = timeoutMs;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    JdbcTemplate shard(int shard) {
+        return shards.get(shard);
+    }
+
+    /**
+     * Insert a new user; the id is allocated by the directory and set on the user
+     *
+     * @throws DuplicateResourceException if the email is already registered
+     */
+    @Override
+    public User create(User user) {
+        long id;
+        try {
+            id = directory.register(user.getEmailNormalized());
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Email already exists: " + user.getEmail());
+        }
+
+        int bucket = ShardDirectory.bucketOf(id);
+        try {
+            checkWritable(bucket);
+            if (user.getCreatedAt() == null) {
+                user.setCreatedAt(LocalDateTime.now());
+            }
+            if (user.getStatus() == null) {
+                user.setStatus(User.UserStatus.ACTIVE);
+            }
+            user.setUpdatedAt(user.getCreatedAt());
+            user.setId(id);
+            shard(directory.ownerOf(bucket)).update("INSERT INTO users (" + COLUMNS + ") "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", toRow(user, bucket));
+            return user;
+        } catch (RuntimeException e) {
+            user.setId(null);
+            directory.unregister(id);
+            throw e;
+        }
+    }
+
+    /**
+     * Insert the users one by one, each with its own directory entry
+     */
+    @Override
+    public List<CreateResult> createAll(List<User> users) {
+        List<CreateResult> results = new ArrayList<>(users.size());
+        for (User user : users) {
+            try {
+                create(user);
+                results.add(CreateResult.CREATED);
+            } catch (DuplicateResourceException e) {
+                results.add(CreateResult.DUPLICATE_EMAIL);
+            } catch (DataIntegrityViolationException e) {
+                logger.warn("Insert of user {} rejected by the shard: {}", user.getEmail(),
+                        e.getMostSpecificCause().getMessage());
+                results.add(CreateResult.REJECTED);
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<User> findById(long id) {
+        return shard(directory.shardOf(id))
+                .query("SELECT " + COLUMNS + " FROM users WHERE id = ?", ShardedUserStore::mapUser, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return directory.lookup(User.normalizeEmail(email)).flatMap(this::findById);
+    }
+
+    @Override
+    public Optional<UserDTO> findDtoById(long id) {
+        return shard(directory.shardOf(id))
+                .query("SELECT " + DTO_COLUMNS + " FROM users WHERE id = ?", UserRepositoryImpl::mapDto, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Set<String> findExistingEmails(Collection<String> normalizedEmails) {
+        return directory.findRegistered(normalizedEmails);
+    }
+
+    /**
+     * Write back a user's mutable columns, moving its directory entry first if the
+     * email changed
+     */
+    @Override
+    public User update(User user) {
+        long id = user.getId();
+        checkWritable(ShardDirectory.bucketOf(id));
+        String normalized = user.getEmailNormalized();
+        if (!directory.lookup(normalized).equals(Optional.of(id))) {
+            try {
+                directory.changeEmail(id, normalized);
+            } catch (DuplicateKeyException e) {
+                throw new DuplicateResourceException("Email already exists: " + user.getEmail());
+            }
+        }
+
+        user.setUpdatedAt(LocalDateTime.now());
+        shard(directory.shardOf(id)).update("UPDATE users SET name = ?, email = ?, email_normalized = ?, "
+                        + "phone_number = ?, status = ?, permissions = ?, access_level = ?, organization_name = ?, "
+                        + "updated_at = ? WHERE id = ?",
+                user.getName(), user.getEmail(), normalized, user.getPhoneNumber(), user.getStatus().name(),
+                user instanceof PlatformAdmin admin ? admin.getPermissions() : null,
+                user instanceof PlatformAdmin admin ? admin.getAccessLevel() : null,
+                user instanceof EventOrganizer organizer ? organizer.getOrganizationName() : null,
+                Timestamp.valueOf(user.getUpdatedAt()), id);
+        return user;
+    }
+
+    @Override
+    public void updatePassword(long id, String passwordHash) {
+        checkWritable(ShardDirectory.bucketOf(id));
+        shard(directory.shardOf(id)).update("UPDATE users SET password = ?, updated_at = ? WHERE id = ?",
+                passwordHash, Timestamp.valueOf(LocalDateTime.now()), id);
+    }
+
+    /**
+     * One batch per shard. Rejected as a whole while any of the users' buckets is
+     * FROZEN, so the caller retries rather than writing to a copy being dropped.
+     */
+    @Override
+    public void updateLastLogins(Map<Long, LocalDateTime> loginTimes) {
+        Map<Integer, List<Object[]>> batches = new HashMap<>();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        loginTimes.forEach((userId, loginTime) -> {
+            checkWritable(ShardDirectory.bucketOf(userId));
+            Timestamp timestamp = Timestamp.valueOf(loginTime);
+            batches.computeIfAbsent(directory.shardOf(userId), shard -> new ArrayList<>())
+                    .add(new Object[]{timestamp, now, userId, timestamp});
+        });
+        batches.forEach((shard, batch) -> shard(shard).batchUpdate("UPDATE users SET last_login = ?, updated_at = ? "
+                + "WHERE id = ? AND (last_login IS NULL OR last_login < ?)", batch));
+    }
+
+    /**
+     * @return false if there is no such user
+     */
+    public boolean updateStatus(long id, User.UserStatus status) {
+        checkWritable(ShardDirectory.bucketOf(id));
+        return shard(directory.shardOf(id)).update("UPDATE users SET status = ?, updated_at = ? WHERE id = ?",
+                status.name(), Timestamp.valueOf(LocalDateTime.now()), id) > 0;
+    }
+
+    /**
+     * @return false if there is no such user
+     * @throws DuplicateResourceException if another user has the email
+     */
+    public boolean updateEmail(long id, String email) {
+        checkWritable(ShardDirectory.bucketOf(id));
+        String normalized = User.normalizeEmail(email);
+        try {
+            directory.changeEmail(id, normalized);
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Email already exists: " + email);
+        }
+        return shard(directory.shardOf(id)).update(
+                "UPDATE users SET email = ?, email_normalized = ?, updated_at = ? WHERE id = ?",
+                email, normalized, Timestamp.valueOf(LocalDateTime.now()), id) > 0;
+    }
+
+    /**
+     * One page of the user listing, in the same order as UserRepositoryCustom.findPage:
+     * every shard returns its first limit rows after the cursor and the merged list is cut
+     * back to limit
+     */
+    @Override
+    public List<UserDTO> findPage(UserFilter filter, UserSort sort, boolean descending, SortCursor after, int limit) {
+        String key = column(sort);
+        String direction = descending ? "DESC" : "ASC";
+        String comparison = descending ? "<" : ">";
+
+        List<List<UserDTO>> pages = scatter(shard -> {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            addFilter(filter, shard, conditions, args);
+            if (after != null) {
+                if (sort == UserSort.ID) {
+                    conditions.add("id " + comparison + " ?");
+                } else {
+                    Object value = sort == UserSort.CREATED_AT
+                            ? Timestamp.valueOf(LocalDateTime.parse(after.value()))
+                            : after.value();
+                    conditions.add("(" + key + " " + comparison + " ? OR (" + key + " = ? AND id " + comparison + " ?))");
+                    args.add(value);
+                    args.add(value);
+                }
+                args.add(after.id());
+            }
+
+            StringBuilder sql = new StringBuilder("SELECT " + DTO_COLUMNS + " FROM users");
+            if (!conditions.isEmpty()) {
+                sql.append(" WHERE ").append(String.join(" AND ", conditions));
+            }
+            sql.append(" ORDER BY ");
+            if (sort != UserSort.ID) {
+                sql.append(key).append(' ').append(direction).append(", ");
+            }
+            sql.append("id ").append(direction).append(" LIMIT ?");
+            args.add(limit);
+
+            return shard(shard).query(sql.toString(), UserRepositoryImpl::mapDto, args.toArray());
+        });
+
+        Comparator<UserDTO> order = comparator(sort);
+        if (descending) {
+            order = order.reversed();
+        }
+        List<UserDTO> merged = new ArrayList<>();
+        pages.forEach(merged::addAll);
+        merged.sort(order);
+        return merged.size() > limit ? merged.subList(0, limit) : merged;
+    }
+
+    /**
+     * Number of users per role and status, summed over all shards
+     */
+    @Override
+    public Map<UserFilter.Role, Map<User.UserStatus, Long>> countByRoleAndStatus() {
+        List<List<Object[]>> counts = scatter(shard -> {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            addFilter(new UserFilter(), shard, conditions, args);
+            String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+            return shard(shard).query("SELECT user_type, status, COUNT(*) FROM users" + where
+                            + " GROUP BY user_type, status",
+                    (rs, rowNum) -> new Object[]{rs.getString(1), rs.getString(2), rs.getLong(3)}, args.toArray());
+        });
+
+        Map<UserFilter.Role, Map<User.UserStatus, Long>> totals = new EnumMap<>(UserFilter.Role.class);
+        for (UserFilter.Role role : UserFilter.Role.values()) {
+            Map<User.UserStatus, Long> byStatus = new EnumMap<>(User.UserStatus.class);
+            for (User.UserStatus status : User.UserStatus.values()) {
+                byStatus.put(status, 0L);
+            }
+            totals.put(role, byStatus);
+        }
+        for (List<Object[]> rows : counts) {
+            for (Object[] row : rows) {
+                totals.get(UserFilter.Role.ofDiscriminator((String) row[0]))
+                        .merge(User.UserStatus.valueOf((String) row[1]), (Long) row[2], Long::sum);
+            }
+        }
+        return totals;
+    }
+
+    @Override
+    public List<Long> findIdsByStatusNot(User.UserStatus status) {
+        List<List<Long>> ids = scatter(shard -> {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            conditions.add("status <> ?");
+            args.add(status.name());
+            addFilter(new UserFilter(), shard, conditions, args);
+            return shard(shard).queryForList("SELECT id FROM users WHERE " + String.join(" AND ", conditions),
+                    Long.class, args.toArray());
+        });
+        return ids.stream().flatMap(List::stream).toList();
+    }
+
+    /**
+     * Number of users owned by each shard
+     */
+    public long[] countByShard() {
+        List<Long> counts = scatter(shard -> {
+            List<String> conditions = new ArrayList<>();
+            List<Object> args = new ArrayList<>();
+            addFilter(new UserFilter(), shard, conditions, args);
+            String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+            return shard(shard).queryForObject("SELECT COUNT(*) FROM users" + where, Long.class, args.toArray());
+        });
+        return counts.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Run a query on every shard in parallel
+     *
+     * @return the results, indexed by shard
+     */
+    private <T> List<T> scatter(IntFunction<T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(target), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw new QueryTimeoutException("Shard query did not finish within " + timeoutMs + " ms");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new QueryTimeoutException("Interrupted while waiting for shards");
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    /**
+     * Filter conditions, plus the exclusion of rows the shard holds but does not own
+     */
+    private void addFilter(UserFilter filter, int shard, List<String> conditions, List<Object> args) {
+        if (filter.getRole() != null) {
+            conditions.add("user_type = ?");
+            args.add(filter.getRole().getDiscriminator());
+        }
+        if (filter.getStatus() != null) {
+            conditions.add("status = ?");
+            args.add(filter.getStatus().name());
+        }
+        List<Integer> foreign = directory.foreignBuckets(shard);
+        if (!foreign.isEmpty()) {
+            conditions.add("bucket NOT IN (" + String.join(", ", Collections.nCopies(foreign.size(), "?")) + ")");
+            args.addAll(foreign);
+        }
+    }
+
+    private void checkWritable(int bucket) {
+        if (directory.stateOf(bucket) == ShardDirectory.BucketState.FROZEN) {
+            throw new ServiceUnavailableException("User is being moved to another shard, retry shortly",
+                    FROZEN_RETRY_AFTER_SECONDS);
+        }
+    }
+
+    private static String column(UserSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> "created_at";
+            case NAME -> "name";
+            case EMAIL -> "email";
+            case ID -> "id";
+        };
+    }
+
+    private static Comparator<UserDTO> comparator(UserSort sort) {
+        Comparator<UserDTO> byId = Comparator.comparing(UserDTO::getId);
+        return switch (sort) {
+            case CREATED_AT -> Comparator.comparing(UserDTO::getCreatedAt).thenComparing(byId);
+            case NAME -> Comparator.comparing(UserDTO::getName).thenComparing(byId);
+            case EMAIL -> Comparator.comparing(UserDTO::getEmail).thenComparing(byId);
+            case ID -> byId;
+        };
+    }
+
+    private static Object[] toRow(User user, int bucket) {
+        return new Object[]{
+                user.getId(),
+                bucket,
+                UserFilter.Role.of(user).getDiscriminator(),
+                user.getName(),
+                user.getEmail(),
+                user.getEmailNormalized(),
+                user.getPhoneNumber(),
+                user.getPassword(),
+                user.getStatus().name(),
+                Timestamp.valueOf(user.getCreatedAt()),
+                user.getUpdatedAt() != null ? Timestamp.valueOf(user.getUpdatedAt()) : null,
+                user.getLastLogin() != null ? Timestamp.valueOf(user.getLastLogin()) : null,
+                user instanceof PlatformAdmin admin ? admin.getPermissions() : null,
+                user instanceof PlatformAdmin admin ? admin.getAccessLevel() : null,
+                user instanceof EventOrganizer organizer ? organizer.getOrganizationName() : null
+        };
+    }
+
+    private static User mapUser(ResultSet rs, int rowNum) throws SQLException {
+        User user = switch (UserFilter.Role.ofDiscriminator(rs.getString("user_type"))) {
+            case ADMIN -> {
+                PlatformAdmin admin = new PlatformAdmin();
+                admin.setPermissions(rs.getObject("permissions", Long.class));
+                admin.setAccessLevel(rs.getString("access_level"));
+                yield admin;
+            }
+            case ORGANIZER -> {
+                EventOrganizer organizer = new EventOrganizer();
+                organizer.setOrganizationName(rs.getString("organization_name"));
+                yield organizer;
+            }
+            case BUYER -> new TicketBuyer();
+        };
+        user.setId(rs.getLong("id"));
+        user.setName(rs.getString("name"));
+        user.setEmail(rs.getString("email"));
+        user.setPhoneNumber(rs.getString("phone_number"));
+        user.setPassword(rs.getString("password"));
+        user.setStatus(User.UserStatus.valueOf(rs.getString("status")));
+        user.setCreatedAt(toLocalDateTime(rs.getTimestamp("created_at")));
+        user.setUpdatedAt(toLocalDateTime(rs.getTimestamp("updated_at")));
+        user.setLastLogin(toLocalDateTime(rs.getTimestamp("last_login")));
+        return user;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
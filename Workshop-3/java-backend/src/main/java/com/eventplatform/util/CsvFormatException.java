@@ -0,0 +1,15 @@
+package com.eventplatform.util;
+
+import java.io.IOException;
+
+/**
+ * CSV Format Exception
+ * The input is not valid CSV (e.g. a quoted field is never closed) or a record is
+ * longer than allowed. Reading cannot resume after it.
+ */
+public class CsvFormatException extends IOException {
+
+    public CsvFormatException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventplatform.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * JDBC Streaming
+ * Fetch size for a forward-only, read-only statement over a large result set.
+ * MySQL Connector/J streams such a statement row by row when the fetch size is
+ * Integer.MIN_VALUE; the alternative, useCursorFetch=true in the URL, would turn every
+ * statement of the application into a server-side prepared statement. Other drivers
+ * take the configured fetch size as rows per round trip.
+ */
+public final class JdbcStreaming {
+
+    private JdbcStreaming() {
+    }
+
+    public static void setFetchSize(PreparedStatement statement, int fetchSize) throws SQLException {
+        String driver = statement.getConnection().getMetaData().getDriverName();
+        statement.setFetchSize(driver != null && driver.startsWith("MySQL") ? Integer.MIN_VALUE : fetchSize);
+    }
+}
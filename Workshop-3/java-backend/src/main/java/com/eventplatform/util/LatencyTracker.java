@@ -0,0 +1,68 @@
+package com.eventplatform.util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Tracker
+ * Sliding window of the most recent latencies with a cached percentile.
+ * record() is lock-free and does not allocate; every refreshEvery samples the
+ * percentile is recomputed from a sorted copy of the window.
+ */
+public class LatencyTracker {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final double percentile;
+    private final int refreshEvery;
+
+    private volatile long percentileNanos = -1;
+
+    /**
+     * @param windowSize number of most recent samples kept
+     * @param percentile percentile to report, e.g. 0.95
+     * @param refreshEvery recompute the percentile after this many samples
+     */
+    public LatencyTracker(int windowSize, double percentile, int refreshEvery) {
+        this.samples = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.refreshEvery = refreshEvery;
+    }
+
+    /**
+     * Record one latency
+     */
+    public void record(long nanos) {
+        long n = count.getAndIncrement();
+        samples.set((int) (n % samples.length()), nanos);
+        if ((n + 1) % refreshEvery == 0) {
+            recompute();
+        }
+    }
+
+    /**
+     * Latency at the configured percentile, or -1 until refreshEvery samples were recorded
+     */
+    public long getPercentileNanos() {
+        return percentileNanos;
+    }
+
+    /**
+     * Number of latencies recorded so far
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    private void recompute() {
+        int size = (int) Math.min(count.get(), samples.length());
+        long[] window = new long[size];
+        for (int i = 0; i < size; i++) {
+            window[i] = samples.get(i);
+        }
+        Arrays.sort(window);
+        int rank = (int) Math.ceil(percentile * size) - 1;
+        percentileNanos = window[Math.max(0, Math.min(rank, size - 1))];
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventplatform.util;
+
+/**
+ * Long Hash Set
+ * Immutable open-addressing set of primitive longs. contains() does not box and
+ * does not allocate, which suits sets that are read on every request (publish a new
+ * set via a volatile field to change it).
+ */
+public final class LongHashSet {
+
+    private static final LongHashSet EMPTY = new LongHashSet(new long[0]);
+
+    // 0 marks an empty slot; the value 0 itself is tracked separately
+    private final long[] slots;
+    private final int mask;
+    private final boolean containsZero;
+    private final int size;
+
+    private LongHashSet(long[] values) {
+        int capacity = Integer.highestOneBit(Math.max(4, values.length * 2 - 1)) << 1;
+        long[] table = new long[capacity];
+        int m = capacity - 1;
+        boolean zero = false;
+        int count = 0;
+
+        for (long value : values) {
+            if (value == 0) {
+                if (!zero) {
+                    zero = true;
+                    count++;
+                }
+                continue;
+            }
+            int index = spread(value) & m;
+            while (table[index] != 0 && table[index] != value) {
+                index = (index + 1) & m;
+            }
+            if (table[index] == 0) {
+                table[index] = value;
+                count++;
+            }
+        }
+
+        this.slots = table;
+        this.mask = m;
+        this.containsZero = zero;
+        this.size = count;
+    }
+
+    public static LongHashSet empty() {
+        return EMPTY;
+    }
+
+    public static LongHashSet of(long... values) {
+        return values.length == 0 ? EMPTY : new LongHashSet(values);
+    }
+
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        int index = spread(value) & mask;
+        long slot;
+        while ((slot = slots[index]) != 0) {
+            if (slot == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        if (containsZero) {
+            values[i++] = 0;
+        }
+        for (long slot : slots) {
+            if (slot != 0) {
+                values[i++] = slot;
+            }
+        }
+        return values;
+    }
+
+    private static int spread(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,32 @@
+package com.eventplatform.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Sort Cursor
+ * Position in a listing ordered by (sort key, id), encoded as an opaque URL-safe
+ * string. Carries the name of the sort key so a cursor cannot be replayed against
+ * a different ordering. The next page starts strictly after this position.
+ */
+public record SortCursor(String sort, String value, long id) {
+
+    public String encode() {
+        String raw = sort + "|" + id + "|" + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the value is not a cursor produced by encode()
+     */
+    public static SortCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The value comes last, so it may itself contain the separator
+            String[] parts = raw.split("\\|", 3);
+            return new SortCursor(parts[0], parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -184,7 +184,6 @@ export const RegisterForm: React.FC = () => {
               >
                 <option value="BUYER">Comprador de tickets</option>
                 <option value="ORGANIZER">Organizador de eventos</option>
-                <option value="ADMIN">Administrador</option>
               </select>
             </div>
 
@@ -0,0 +1,145 @@
+package com.eventplatform.archive;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditSegmentTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2025, 3, 1, 0, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteAndOpen_RoundTripsAllFields() throws Exception {
+        // Arrange
+        AuditLogDTO row = AuditLogDTO.builder()
+                .id(7L).userId(3L).adminId(null).action("USER_LOGIN").entity("User").entityId(3L)
+                .details("Détails, \"quoted\"\nline").ipAddress("10.0.0.1").userAgent(null)
+                .timestamp(START.withNano(123_456_000))
+                .build();
+
+        // Act
+        AuditSegment segment = write(List.of(row), 4);
+
+        // Assert
+        assertEquals(1, segment.getRowCount());
+        assertEquals(7L, segment.getMaxId());
+        assertEquals(List.of(row), segment.findPage(new AuditLogFilter(), null, 10));
+    }
+
+    @Test
+    void testFindPage_NewestFirstAcrossBlocksFromCursor() throws Exception {
+        // Arrange - 100 rows, one minute apart, 8 rows per block
+        AuditSegment segment = write(rows(100), 8);
+        KeysetCursor after = new KeysetCursor(START.plusMinutes(49), 50L);
+
+        // Act
+        List<AuditLogDTO> page = segment.findPage(new AuditLogFilter(), after, 20);
+
+        // Assert
+        assertEquals(20, page.size());
+        assertEquals(49L, page.get(0).getId());
+        assertEquals(30L, page.get(19).getId());
+    }
+
+    @Test
+    void testFindPage_AppliesFilterAndTimeRange() throws Exception {
+        // Arrange
+        AuditSegment segment = write(rows(100), 8);
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(2L)
+                .from(START.plusMinutes(10))
+                .to(START.plusMinutes(20))
+                .build();
+
+        // Act
+        List<AuditLogDTO> page = segment.findPage(filter, null, 50);
+
+        // Assert - ids 10..19 fall in the range, the even ones belong to user 2
+        assertEquals(List.of(18L, 16L, 14L, 12L, 10L), page.stream().map(AuditLogDTO::getId).toList());
+    }
+
+    @Test
+    void testForEach_OldestFirstWithinRange() throws Exception {
+        // Arrange
+        AuditSegment segment = write(rows(100), 8);
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .from(START.plusMinutes(40))
+                .to(START.plusMinutes(45))
+                .build();
+        List<Long> ids = new ArrayList<>();
+
+        // Act
+        segment.forEach(filter, row -> ids.add(row.getId()));
+
+        // Assert
+        assertEquals(List.of(40L, 41L, 42L, 43L, 44L), ids);
+    }
+
+    @Test
+    void testAppend_OutOfOrderRejected() throws Exception {
+        // Arrange
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(directory.resolve("audit-2025-03.seg"), 8)) {
+            writer.append(rows(2).get(1));
+
+            // Act & Assert
+            assertThrows(IllegalArgumentException.class, () -> {
+                writer.append(rows(2).get(0));
+            });
+        }
+    }
+
+    @Test
+    void testClose_WithoutFinishLeavesNoSegment() throws Exception {
+        // Arrange
+        Path target = directory.resolve("audit-2025-03.seg");
+
+        // Act
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(target, 8)) {
+            writer.append(rows(1).get(0));
+        }
+
+        // Assert
+        assertFalse(Files.exists(target));
+        try (var files = Files.list(directory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private AuditSegment write(List<AuditLogDTO> rows, int blockRows) throws IOException {
+        Path target = directory.resolve("audit-2025-03.seg");
+        try (AuditSegmentWriter writer = new AuditSegmentWriter(target, blockRows)) {
+            for (AuditLogDTO row : rows) {
+                writer.append(row);
+            }
+            writer.finish();
+        }
+        return AuditSegment.open(target);
+    }
+
+    private static List<AuditLogDTO> rows(int count) {
+        List<AuditLogDTO> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(AuditLogDTO.builder()
+                    .id(id)
+                    .userId(id % 2 == 0 ? 2L : 3L)
+                    .action("USER_LOGIN")
+                    .timestamp(START.plusMinutes(id))
+                    .build());
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,62 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.model.Permission;
+import com.eventplatform.security.TestSecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ActuatorSecurityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testHealth_Public() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void testMetrics_AnonymousForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testMetrics_BuyerForbidden() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(2L, "ROLE_BUYER");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testMetrics_Admin() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isOk());
+    }
+}
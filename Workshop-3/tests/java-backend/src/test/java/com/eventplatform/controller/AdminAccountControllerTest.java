@@ -0,0 +1,92 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.model.Permission;
+import com.eventplatform.security.TestSecurityUtils;
+import com.eventplatform.service.AuthService;
+import com.eventplatform.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.EnumSet;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AdminAccountControllerTest {
+
+    private static final String PERMISSIONS_BODY = "{\"permissions\":[\"USERS_READ\",\"AUDIT_READ\"]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserService userService;
+
+    @MockBean
+    private AuthService authService;
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testUpdatePermissions_PassesCallerMask() throws Exception {
+        // Arrange
+        long callerMask = Permission.ADMINS_MANAGE.getBit() | Permission.USERS_READ.getBit()
+                | Permission.AUDIT_READ.getBit();
+        TestSecurityUtils.setSecurityContext(1L, callerMask, "ROLE_ADMIN");
+        EnumSet<Permission> granted = EnumSet.of(Permission.USERS_READ, Permission.AUDIT_READ);
+        when(userService.updatePermissions(3L, granted, callerMask)).thenReturn(UserDTO.builder()
+                .id(3L).role("ROLE_ADMIN").permissions(granted).build());
+
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/admins/3/permissions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PERMISSIONS_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.permissions.length()").value(2));
+    }
+
+    @Test
+    void testUpdatePermissions_WithoutAdminsManageForbidden() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.USERS_READ.getBit() | Permission.AUDIT_READ.getBit(),
+                "ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/admins/3/permissions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(PERMISSIONS_BODY))
+                .andExpect(status().isForbidden());
+
+        verify(userService, never()).updatePermissions(anyLong(), any(), anyLong());
+    }
+
+    @Test
+    void testUpdatePermissions_UnknownPermissionRejected() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(put("/api/admin/admins/3/permissions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"permissions\":[\"EVERYTHING\"]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).updatePermissions(anyLong(), any(), anyLong());
+    }
+}
@@ -0,0 +1,188 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.dto.CursorPage;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.exception.DeadlineExceededException;
+import com.eventplatform.model.Permission;
+import com.eventplatform.security.TestSecurityUtils;
+import com.eventplatform.service.AuditLogExportService;
+import com.eventplatform.service.AuditLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuditLogControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AuditLogService auditLogService;
+
+    @MockBean
+    private AuditLogExportService auditLogExportService;
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testGetAuditLogs_AsAdmin() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        AuditLogDTO log = AuditLogDTO.builder()
+                .id(10L)
+                .userId(2L)
+                .action("USER_LOGIN")
+                .timestamp(LocalDateTime.of(2026, 1, 1, 10, 0))
+                .build();
+        when(auditLogService.findAuditLogs(any(AuditLogFilter.class), eq("abc"), eq(20)))
+                .thenReturn(new CursorPage<>(List.of(log), "next"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/audit-logs")
+                        .param("userId", "2")
+                        .param("action", "USER_LOGIN")
+                        .param("from", "2026-01-01T00:00:00")
+                        .param("cursor", "abc")
+                        .param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value(10L))
+                .andExpect(jsonPath("$.items[0].userId").value(2L))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+
+        ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+        verify(auditLogService).findAuditLogs(filter.capture(), eq("abc"), eq(20));
+        assertEquals(2L, filter.getValue().getUserId());
+        assertEquals("USER_LOGIN", filter.getValue().getAction());
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), filter.getValue().getFrom());
+    }
+
+    @Test
+    void testGetAuditLogs_InvalidCursor() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        when(auditLogService.findAuditLogs(any(AuditLogFilter.class), eq("garbage"), anyInt()))
+                .thenThrow(new BadRequestException("Invalid cursor"));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/audit-logs").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
+
+    @Test
+    void testGetAuditLogs_Forbidden() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, "ROLE_BUYER");
+
+        // Act & Assert - Non-admin user should get 403
+        mockMvc.perform(get("/api/admin/audit-logs"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testExportAuditLogs_CsvGzip() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("id,userId\r\n1,2\r\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        }).when(auditLogExportService).export(any(AuditLogFilter.class), eq(AuditLogExportService.Format.CSV), any(OutputStream.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/admin/audit-logs/export")
+                        .param("format", "CSV")
+                        .param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"audit-logs.csv.gz\""))
+                .andReturn();
+
+        // Assert
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream gunzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id,userId\r\n1,2\r\n", new String(gunzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void testExportAuditLogs_DeadlineBeforeResponseStarted() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            throw new DeadlineExceededException("Export deadline exceeded after 1 rows");
+        }).when(auditLogExportService).export(any(AuditLogFilter.class), eq(AuditLogExportService.Format.NDJSON), any(OutputStream.class));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/audit-logs/export"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(header().doesNotExist("Content-Disposition"))
+                .andExpect(jsonPath("$.message").value("Export deadline exceeded after 1 rows"));
+    }
+
+    @Test
+    void testExportAuditLogs_DeadlineAfterResponseStarted() throws Exception {
+        // Arrange - more rows than the response buffer holds, so the response is committed
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        String rows = "{\"id\":1}\n".repeat(2000);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(2);
+            out.write(rows.getBytes(StandardCharsets.UTF_8));
+            throw new DeadlineExceededException("Export deadline exceeded after 2000 rows");
+        }).when(auditLogExportService).export(any(AuditLogFilter.class), eq(AuditLogExportService.Format.NDJSON), any(OutputStream.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/admin/audit-logs/export"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        String body = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(body.startsWith(rows));
+        assertEquals("{\"status\":504,\"error\":\"Gateway Timeout\","
+                + "\"message\":\"Export deadline exceeded after 2000 rows\"}\n", body.substring(rows.length()));
+    }
+
+    @Test
+    void testExportAuditLogs_Forbidden() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, "ROLE_ORGANIZER");
+
+        // Act & Assert - Non-admin user should get 403
+        mockMvc.perform(get("/api/admin/audit-logs/export"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -2,8 +2,13 @@ package com.eventplatform.controller;
 
 import com.eventplatform.dto.AuthResponse;
 import com.eventplatform.dto.LoginRequest;
+import com.eventplatform.dto.RefreshTokenRequest;
 import com.eventplatform.dto.RegisterRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.exception.TooManyRequestsException;
+import com.eventplatform.security.AuthRateLimiter;
+import com.eventplatform.exception.UnauthorizedException;
 import com.eventplatform.service.AuthService;
 import com.eventplatform.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -18,8 +23,15 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,6 +50,9 @@ class AuthControllerTest {
     @MockBean
     private UserService userService;
 
+    @MockBean
+    private AuthRateLimiter rateLimiter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -86,12 +101,18 @@ class AuthControllerTest {
     @Test
     void testRegister_Success() throws Exception {
         // Arrange
-        when(authService.register(any(RegisterRequest.class))).thenReturn(authResponse);
+        when(authService.register(any(RegisterRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(authResponse));
 
-        // Act & Assert
-        mockMvc.perform(post("/api/auth/register")
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/register")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.token").value("test-token"))
                 .andExpect(jsonPath("$.userId").value(1L))
@@ -103,18 +124,97 @@ class AuthControllerTest {
     @Test
     void testLogin_Success() throws Exception {
         // Arrange
-        when(authService.login(any(LoginRequest.class))).thenReturn(authResponse);
+        when(authService.login(any(LoginRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(authResponse));
 
-        // Act & Assert
-        mockMvc.perform(post("/api/auth/login")
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.token").value("test-token"))
                 .andExpect(jsonPath("$.userId").value(1L))
                 .andExpect(jsonPath("$.email").value("test@example.com"));
     }
 
+    @Test
+    void testLogin_InvalidCredentials() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new UnauthorizedException("Invalid email or password")));
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isUnauthorized())
+                .andExpect(jsonPath("$.message").value("Invalid email or password"));
+    }
+
+    @Test
+    void testLogin_HashingPoolSaturated() throws Exception {
+        // Arrange
+        when(authService.login(any(LoginRequest.class)))
+                .thenThrow(new ServiceUnavailableException("Server is busy, please retry shortly", 2));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "2"));
+    }
+
+    @Test
+    void testLogin_RateLimited() throws Exception {
+        // Arrange
+        doThrow(new TooManyRequestsException("Too many attempts, please retry later", 30))
+                .when(rateLimiter).check(anyString(), eq("test@example.com"));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "30"));
+
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    void testRefresh_Success() throws Exception {
+        // Arrange
+        authResponse.setRefreshToken("new-refresh");
+        when(authService.refresh(any(RefreshTokenRequest.class))).thenReturn(authResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshTokenRequest("old-refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("test-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+    }
+
+    @Test
+    void testRefresh_MissingToken() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetCurrentUser_Success() throws Exception {
         // Arrange
@@ -0,0 +1,101 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.ShardStatus;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.model.Permission;
+import com.eventplatform.security.TestSecurityUtils;
+import com.eventplatform.sharding.ShardDirectory;
+import com.eventplatform.sharding.ShardRebalancer;
+import com.eventplatform.sharding.ShardedUserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"sharding.enabled=true", "sharding.urls=jdbc:h2:mem:unused"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardAdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ShardRebalancer shardRebalancer;
+
+    @MockBean
+    private ShardedUserStore shardedUserStore;
+
+    @MockBean
+    private ShardDirectory shardDirectory;
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testGetStatus_Admin() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        when(shardRebalancer.status()).thenReturn(ShardStatus.builder()
+                .shards(List.of(new ShardStatus.ShardInfo(0, 512, 40L), new ShardStatus.ShardInfo(1, 512, 38L)))
+                .build());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/shards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.shards[1].buckets").value(512))
+                .andExpect(jsonPath("$.shards[1].users").value(38));
+    }
+
+    @Test
+    void testRebalance_StartsInBackground() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        when(shardRebalancer.status()).thenReturn(ShardStatus.builder().shards(List.of()).rebalancing(true).build());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/shards/rebalance"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.rebalancing").value(true));
+
+        verify(shardRebalancer).startRebalance();
+    }
+
+    @Test
+    void testRebalance_AlreadyRunning() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        doThrow(new ServiceUnavailableException("A shard rebalance is already running", 60))
+                .when(shardRebalancer).startRebalance();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/shards/rebalance"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "60"));
+    }
+
+    @Test
+    void testGetStatus_NotAdmin() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(2L, "ROLE_BUYER");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/admin/shards"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(shardRebalancer);
+    }
+}
@@ -1,7 +1,14 @@
 package com.eventplatform.controller;
 
+import com.eventplatform.dto.CursorPage;
 import com.eventplatform.dto.UpdateUserRequest;
+import com.eventplatform.dto.UpdateUserStatusRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.model.Permission;
+import com.eventplatform.model.User;
 import com.eventplatform.service.UserService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,10 +25,15 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -82,7 +94,7 @@ class UserControllerTest {
     @Test
     void testGetAllUsers_Success() throws Exception {
         // Arrange
-        TestSecurityUtils.setSecurityContext(1L, "ROLE_ADMIN");
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
         UserDTO user2 = UserDTO.builder()
                 .id(2L)
                 .name("User 2")
@@ -91,14 +103,54 @@ class UserControllerTest {
                 .build();
 
         List<UserDTO> users = Arrays.asList(userDTO, user2);
-        when(userService.getAllUsers()).thenReturn(users);
+        when(userService.findUsers(any(UserFilter.class), eq(UserSort.CREATED_AT), eq(true), isNull(),
+                eq(UserService.DEFAULT_PAGE_SIZE), eq(false)))
+                .thenReturn(new CursorPage<>(users, "next"));
 
         // Act & Assert
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.length()").value(2))
-                .andExpect(jsonPath("$[0].id").value(1L))
-                .andExpect(jsonPath("$[1].id").value(2L));
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(1L))
+                .andExpect(jsonPath("$.items[1].id").value(2L))
+                .andExpect(jsonPath("$.nextCursor").value("next"))
+                .andExpect(jsonPath("$.totalEstimate").doesNotExist());
+    }
+
+    @Test
+    void testGetUsers_FiltersSortAndTotal() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        UserFilter filter = UserFilter.builder()
+                .role(UserFilter.Role.ORGANIZER)
+                .status(User.UserStatus.SUSPENDED)
+                .build();
+        when(userService.findUsers(filter, UserSort.NAME, false, "abc", 10, true))
+                .thenReturn(new CursorPage<>(List.of(userDTO), null, 1234L));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users")
+                        .param("role", "ORGANIZER")
+                        .param("status", "SUSPENDED")
+                        .param("sort", "name")
+                        .param("order", "asc")
+                        .param("cursor", "abc")
+                        .param("limit", "10")
+                        .param("includeTotal", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalEstimate").value(1234L));
+    }
+
+    @Test
+    void testGetUsers_InvalidParameters() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+
+        // Act & Assert
+        mockMvc.perform(get("/api/users").param("sort", "password"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("role", "SUPERUSER"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -147,7 +199,7 @@ class UserControllerTest {
     @Test
     void testUpdateUser_AdminCanUpdateAnyUser() throws Exception {
         // Arrange
-        TestSecurityUtils.setSecurityContext(1L, "ROLE_ADMIN");
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
         UserDTO updatedUser = UserDTO.builder()
                 .id(2L)
                 .name("Updated Name")
@@ -164,10 +216,37 @@ class UserControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testUpdateUserStatus_AsAdmin() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        userDTO.setStatus("SUSPENDED");
+        when(userService.updateUserStatus(2L, User.UserStatus.SUSPENDED)).thenReturn(userDTO);
+
+        // Act & Assert
+        mockMvc.perform(put("/api/users/2/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateUserStatusRequest(User.UserStatus.SUSPENDED))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("SUSPENDED"));
+    }
+
+    @Test
+    void testUpdateUserStatus_Forbidden() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, "ROLE_BUYER");
+
+        // Act & Assert - Non-admin user should get 403
+        mockMvc.perform(put("/api/users/2/status")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UpdateUserStatusRequest(User.UserStatus.SUSPENDED))))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     void testDeleteUser_Success() throws Exception {
         // Arrange
-        TestSecurityUtils.setSecurityContext(1L, "ROLE_ADMIN");
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
         doNothing().when(userService).deleteUser(1L);
 
         // Act & Assert
@@ -185,21 +264,39 @@ class UserControllerTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void testDeleteUser_AdminWithoutPermission() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.USERS_READ.getBit(), "ROLE_ADMIN");
+
+        // Act & Assert - Admin lacking USERS_DELETE should get 403
+        mockMvc.perform(delete("/api/users/2"))
+                .andExpect(status().isForbidden());
+
+        verify(userService, never()).deleteUser(anyLong());
+    }
+
     @Test
     void testGetUserStatistics_Success() throws Exception {
         // Arrange
-        TestSecurityUtils.setSecurityContext(1L, "ROLE_ADMIN");
-        Object statistics = new Object() {
-            public final long total = 10;
-            public final long active = 8;
-            public final long suspended = 2;
-        };
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        UserStatistics statistics = UserStatistics.builder()
+                .total(10)
+                .active(8)
+                .suspended(2)
+                .byStatus(Map.of(User.UserStatus.ACTIVE, 8L, User.UserStatus.SUSPENDED, 2L))
+                .byRole(Map.of(UserFilter.Role.BUYER, new UserStatistics.RoleStatistics(10,
+                        Map.of(User.UserStatus.ACTIVE, 8L, User.UserStatus.SUSPENDED, 2L))))
+                .build();
 
         when(userService.getUserStatistics()).thenReturn(statistics);
 
         // Act & Assert
         mockMvc.perform(get("/api/users/statistics"))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(10))
+                .andExpect(jsonPath("$.byStatus.SUSPENDED").value(2))
+                .andExpect(jsonPath("$.byRole.BUYER.byStatus.ACTIVE").value(8));
     }
 
     @Test
@@ -0,0 +1,115 @@
+package com.eventplatform.controller;
+
+import com.eventplatform.dto.UserImportError;
+import com.eventplatform.dto.UserImportProgress;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.model.Permission;
+import com.eventplatform.security.TestSecurityUtils;
+import com.eventplatform.service.UserImportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserImportService userImportService;
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testImportUsers_StreamsErrorsAndProgress() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        doAnswer(invocation -> {
+            UserImportService.Listener listener = invocation.getArgument(3);
+            listener.onError(new UserImportError(2, "bad", "Email must be valid"));
+            UserImportProgress done = new UserImportProgress(2, 1, 0, 1, true);
+            listener.onProgress(done);
+            return done;
+        }).when(userImportService).importUsers(any(InputStream.class), eq(UserImportService.Format.CSV), eq(1L), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/admin/users/import")
+                        .contentType("text/csv")
+                        .content("name,email,password\r\nAna,ana@example.com,Secret@123\r\nBad,bad,Secret@123\r\n"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"type\":\"error\",\"record\":2,\"email\":\"bad\",\"message\":\"Email must be valid\"}", lines[0]);
+        assertEquals("{\"type\":\"progress\",\"processed\":2,\"imported\":1,\"duplicates\":0,\"failed\":1,\"done\":true}", lines[1]);
+    }
+
+    @Test
+    void testImportUsers_NdjsonBody() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        when(userImportService.importUsers(any(InputStream.class), any(), anyLong(), any()))
+                .thenReturn(new UserImportProgress());
+
+        // Act
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isOk());
+
+        // Assert
+        verify(userImportService).importUsers(any(InputStream.class), eq(UserImportService.Format.NDJSON), eq(1L), any());
+    }
+
+    @Test
+    void testImportUsers_AlreadyRunning() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        when(userImportService.importUsers(any(InputStream.class), any(), anyLong(), any()))
+                .thenThrow(new ServiceUnavailableException("A user import is already running", 60));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType("text/csv")
+                        .content("name,email,password\r\n"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "60"));
+    }
+
+    @Test
+    void testImportUsers_AsBuyer() throws Exception {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(2L, "ROLE_BUYER");
+
+        // Act & Assert
+        mockMvc.perform(post("/api/admin/users/import")
+                        .contentType("text/csv")
+                        .content("name,email,password\r\n"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(userImportService);
+    }
+}
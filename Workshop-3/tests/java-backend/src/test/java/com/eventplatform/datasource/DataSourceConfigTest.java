@@ -0,0 +1,53 @@
+package com.eventplatform.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class DataSourceConfigTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testReadOnlyTransactionsUseReplicaPool() {
+        // Arrange
+        new JdbcTemplate(replicaDataSource).execute("CREATE TABLE IF NOT EXISTS replica_marker (id INT)");
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Act
+        Integer onReplica = readOnly.execute(status -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REPLICA_MARKER'", Integer.class));
+        Integer onPrimary = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_NAME = 'REPLICA_MARKER'", Integer.class);
+
+        // Assert
+        assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+        assertEquals(1, onReplica);
+        assertEquals(0, onPrimary);
+    }
+}
@@ -0,0 +1,190 @@
+package com.eventplatform.datasource;
+
+import com.eventplatform.security.TestSecurityUtils;
+import com.eventplatform.util.LatencyTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgedReadExecutorTest {
+
+    private static final String QUERY = "SELECT name FROM whoami WHERE id = ?";
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadYourWritesTracker readYourWrites;
+    private HedgedReadExecutor hedgedReads;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        new JdbcTemplate(primary).execute("CREATE TABLE whoami (id INT, name VARCHAR(20))");
+        new JdbcTemplate(primary).update("INSERT INTO whoami VALUES (1, 'primary')");
+        replica = database("replica");
+
+        meterRegistry = new SimpleMeterRegistry();
+        readYourWrites = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(readYourWrites, "windowMs", 60000L);
+        ReflectionTestUtils.setField(readYourWrites, "maximumSize", 100L);
+        readYourWrites.init();
+
+        hedgedReads = new HedgedReadExecutor(primary, replica, readYourWrites, meterRegistry, 4, 4, 0.95, 1, 50, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        hedgedReads.shutdown();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testQuery_FastReplicaAnswersWithoutHedging() {
+        // Arrange
+        replicaTable(0);
+
+        // Act
+        List<String> names = query();
+
+        // Assert
+        assertEquals(List.of("replica"), names);
+        assertEquals(1.0, counter("datasource.hedged.reads"));
+        assertEquals(0.0, counter("datasource.hedged.hedges"));
+    }
+
+    @Test
+    void testQuery_SlowReplicaIsHedgedAndPrimaryWins() {
+        // Arrange
+        replicaTable(2000);
+
+        // Act
+        long started = System.nanoTime();
+        List<String> names = query();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert
+        assertEquals(List.of("primary"), names);
+        assertTrue(elapsedMs < 1500, "hedged read took " + elapsedMs + " ms");
+        assertEquals(1.0, counter("datasource.hedged.hedges"));
+        assertEquals(1.0, counter("datasource.hedged.wins"));
+        // The cancelled replica attempt still counts, as a lower bound of its latency
+        assertEquals(1, replicaSamples());
+    }
+
+    @Test
+    void testQuery_FailedReplicaFallsBackToPrimary() {
+        // Act - the replica has no whoami table
+        List<String> names = query();
+
+        // Assert
+        assertEquals(List.of("primary"), names);
+        assertEquals(0.0, counter("datasource.hedged.hedges"));
+        assertEquals(1, replicaSamples());
+    }
+
+    @Test
+    void testQuery_FullPoolReadsPrimary() throws Exception {
+        // Arrange - one thread, held by a stalled replica read whose hedge fills the queue
+        hedgedReads.shutdown();
+        hedgedReads = new HedgedReadExecutor(primary, replica, readYourWrites, meterRegistry, 1, 1, 0.95, 1, 50, 5000);
+        replicaTable(1000);
+        CompletableFuture<List<String>> stalled = CompletableFuture.supplyAsync(this::query);
+        while (counter("datasource.hedged.hedges") < 1.0) {
+            Thread.sleep(5);
+        }
+
+        // Act
+        long started = System.nanoTime();
+        List<String> names = query();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        // Assert
+        assertEquals(List.of("primary"), names);
+        assertTrue(elapsedMs < 500, "read took " + elapsedMs + " ms");
+        assertEquals(1.0, counter("datasource.hedged.rejected"));
+        assertEquals(List.of("replica"), stalled.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testQuery_PinnedUserReadsPrimaryOnly() {
+        // Arrange
+        replicaTable(0);
+        TestSecurityUtils.setSecurityContext(7L, "ROLE_BUYER");
+        readYourWrites.recordWrite(7L);
+
+        // Act
+        List<String> names = query();
+
+        // Assert
+        assertEquals(List.of("primary"), names);
+        assertEquals(0.0, counter("datasource.hedged.reads"));
+    }
+
+    @Test
+    void testQueryUser_UserWrittenBySomeoneElseReadsPrimaryOnly() {
+        // Arrange - an admin (not the user read) wrote to user 1
+        replicaTable(0);
+        TestSecurityUtils.setSecurityContext(2L, "ROLE_ADMIN");
+        readYourWrites.recordWrite(1L);
+        SecurityContextHolder.clearContext();
+
+        // Act
+        List<String> names = hedgedReads.queryUser(1L, QUERY, (rs, rowNum) -> rs.getString("name"), 1);
+
+        // Assert
+        assertEquals(List.of("primary"), names);
+        assertEquals(0.0, counter("datasource.hedged.reads"));
+    }
+
+    /**
+     * Function called by H2 on the replica to simulate a stalled query
+     */
+    public static class SlowFunction {
+
+        public static String slowName(String name, int delayMs) throws InterruptedException {
+            Thread.sleep(delayMs);
+            return name;
+        }
+    }
+
+    private void replicaTable(int delayMs) {
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.execute("CREATE ALIAS SLOW_NAME FOR \"" + SlowFunction.class.getName() + ".slowName\"");
+        jdbc.execute("CREATE VIEW whoami AS SELECT 1 AS id, SLOW_NAME('replica', " + delayMs + ") AS name");
+    }
+
+    private List<String> query() {
+        return hedgedReads.query(QUERY, (rs, rowNum) -> rs.getString("name"), 1);
+    }
+
+    private long replicaSamples() {
+        return ((LatencyTracker) ReflectionTestUtils.getField(hedgedReads, "replicaLatency")).getCount();
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+    }
+}
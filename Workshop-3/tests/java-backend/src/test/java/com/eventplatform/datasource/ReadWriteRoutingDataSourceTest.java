@@ -0,0 +1,166 @@
+package com.eventplatform.datasource;
+
+import com.eventplatform.security.TestSecurityUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.http.Cookie;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private ReadYourWritesTracker readYourWrites;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+
+        readYourWrites = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(readYourWrites, "windowMs", 60000L);
+        ReflectionTestUtils.setField(readYourWrites, "maximumSize", 100L);
+        readYourWrites.init();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, readYourWrites));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void testRouting_ReadOnlyToReplicaAndWritesToPrimary() {
+        // Act
+        String read = readOnlyTransaction.execute(status -> whoAmI());
+        String written = writeTransaction.execute(status -> whoAmI());
+        String outsideTransaction = whoAmI();
+
+        // Assert
+        assertEquals("replica", read);
+        assertEquals("primary", written);
+        assertEquals("primary", outsideTransaction);
+    }
+
+    @Test
+    void testRouting_RecentWriterReadsFromPrimaryUntilWindowEnds() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(7L, "ROLE_BUYER");
+        writeTransaction.executeWithoutResult(status -> readYourWrites.recordWrite(7L));
+
+        // Act
+        String ownRead = readOnlyTransaction.execute(status -> whoAmI());
+        TestSecurityUtils.setSecurityContext(8L, "ROLE_BUYER");
+        String otherRead = readOnlyTransaction.execute(status -> whoAmI());
+
+        // Assert
+        assertEquals("primary", ownRead);
+        assertEquals("replica", otherRead);
+    }
+
+    @Test
+    void testRecordWrite_RolledBackWriteDoesNotPin() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(7L, "ROLE_BUYER");
+
+        // Act
+        writeTransaction.executeWithoutResult(status -> {
+            readYourWrites.recordWrite(7L);
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertFalse(readYourWrites.isCurrentUserPinned());
+        assertEquals("replica", readOnlyTransaction.execute(status -> whoAmI()));
+    }
+
+    @Test
+    void testRecordWrite_CookieKeepsWriterOnPrimaryOnOtherInstances() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(7L, "ROLE_BUYER");
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+        writeTransaction.executeWithoutResult(status -> readYourWrites.recordWrite(7L));
+        Cookie cookie = writeResponse.getCookie(ReadYourWritesTracker.COOKIE_NAME);
+
+        ReadYourWritesTracker otherInstance = new ReadYourWritesTracker();
+        ReflectionTestUtils.setField(otherInstance, "windowMs", 60000L);
+        ReflectionTestUtils.setField(otherInstance, "maximumSize", 100L);
+        otherInstance.init();
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(cookie);
+
+        // Act
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+        boolean writerPinned = otherInstance.isCurrentUserPinned();
+        TestSecurityUtils.setSecurityContext(8L, "ROLE_BUYER");
+        boolean otherUserPinned = otherInstance.isCurrentUserPinned();
+
+        // Assert
+        assertNotNull(cookie);
+        assertTrue(cookie.isHttpOnly());
+        assertTrue(writerPinned);
+        assertFalse(otherUserPinned);
+    }
+
+    @Test
+    void testIsCurrentUserPinned_CookieBeyondWindowIgnored() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(7L, "ROLE_BUYER");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(new Cookie(ReadYourWritesTracker.COOKIE_NAME,
+                "7." + (System.currentTimeMillis() + 3600_000L)));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // Act & Assert
+        assertFalse(readYourWrites.isCurrentUserPinned());
+        assertEquals("replica", readOnlyTransaction.execute(status -> whoAmI()));
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name + "-" + UUID.randomUUID())
+                .build();
+        JdbcTemplate jdbc = new JdbcTemplate(database);
+        jdbc.execute("CREATE TABLE whoami (name VARCHAR(20))");
+        jdbc.update("INSERT INTO whoami VALUES (?)", name);
+        return database;
+    }
+}
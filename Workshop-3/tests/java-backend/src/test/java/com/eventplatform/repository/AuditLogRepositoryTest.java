@@ -0,0 +1,155 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.model.AuditLog;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.util.KeysetCursor;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class AuditLogRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    private User alice;
+    private User bob;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("alice@example.com");
+        bob = persistUser("bob@example.com");
+
+        // Pairs of rows share a timestamp, so the id tiebreak is exercised
+        for (int i = 0; i < 10; i++) {
+            persistLog(i % 2 == 0 ? alice : bob, i % 3 == 0 ? "USER_LOGIN" : "USER_REGISTER", BASE.plusMinutes(i / 2));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testFindPage_WalksAllRowsNewestFirst() {
+        // Act
+        List<AuditLogDTO> all = new ArrayList<>();
+        KeysetCursor cursor = null;
+        List<AuditLogDTO> page;
+        do {
+            page = auditLogRepository.findPage(new AuditLogFilter(), cursor, 3);
+            all.addAll(page);
+            if (!page.isEmpty()) {
+                AuditLogDTO last = page.get(page.size() - 1);
+                cursor = new KeysetCursor(last.getTimestamp(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        // Assert
+        assertEquals(10, all.size());
+        assertEquals(10, all.stream().map(AuditLogDTO::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            AuditLogDTO previous = all.get(i - 1);
+            AuditLogDTO current = all.get(i);
+            assertTrue(previous.getTimestamp().isAfter(current.getTimestamp())
+                    || (previous.getTimestamp().equals(current.getTimestamp()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void testFindPage_FiltersByUserActionAndTime() {
+        // Arrange
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .userId(alice.getId())
+                .action("USER_LOGIN")
+                .from(BASE)
+                .to(BASE.plusMinutes(4))
+                .build();
+
+        // Act
+        List<AuditLogDTO> logs = auditLogRepository.findPage(filter, null, 50);
+
+        // Assert - rows 0 and 6 are alice's logins; row 6 is at minute 3
+        assertEquals(2, logs.size());
+        assertTrue(logs.stream().allMatch(log -> log.getUserId().equals(alice.getId())));
+        assertTrue(logs.stream().allMatch(log -> log.getAction().equals("USER_LOGIN")));
+        assertEquals(BASE.plusMinutes(3), logs.get(0).getTimestamp());
+    }
+
+    @Test
+    void testFindById_LoadsDetailsOnFirstAccess() {
+        // Arrange
+        AuditLog log = entityManager.persistAndFlush(AuditLog.builder()
+                .userId(alice.getId())
+                .action("USER_UPDATE")
+                .details("{\"changed\":[\"name\"]}")
+                .timestamp(BASE)
+                .build());
+        entityManager.clear();
+
+        // Act
+        AuditLog found = auditLogRepository.findById(log.getId()).orElseThrow();
+
+        // Assert
+        assertFalse(Hibernate.isPropertyInitialized(found, "details"));
+        assertEquals("{\"changed\":[\"name\"]}", found.getDetails());
+    }
+
+    @Test
+    void testSave_UserNotInUsersTable() {
+        // Arrange - with sharding enabled the user lives on a shard, not in this database
+        long shardedUserId = alice.getId() + 1000;
+
+        // Act
+        entityManager.persistAndFlush(AuditLog.builder()
+                .userId(shardedUserId)
+                .adminId(shardedUserId + 1)
+                .action("USER_LOGIN")
+                .timestamp(BASE)
+                .build());
+        entityManager.clear();
+
+        // Assert
+        List<AuditLogDTO> logs = auditLogRepository.findPage(
+                AuditLogFilter.builder().userId(shardedUserId).build(), null, 50);
+        assertEquals(1, logs.size());
+        assertEquals(shardedUserId + 1, logs.get(0).getAdminId());
+    }
+
+    private User persistUser(String email) {
+        User user = new TicketBuyer();
+        user.setName("Test User");
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setStatus(User.UserStatus.ACTIVE);
+        return entityManager.persist(user);
+    }
+
+    private void persistLog(User user, String action, LocalDateTime timestamp) {
+        entityManager.persist(AuditLog.builder()
+                .userId(user.getId())
+                .action(action)
+                .entity("User")
+                .entityId(user.getId())
+                .timestamp(timestamp)
+                .build());
+    }
+}
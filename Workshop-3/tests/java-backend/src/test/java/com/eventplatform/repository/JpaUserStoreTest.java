@@ -0,0 +1,109 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JpaUserStoreTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private JpaUserStore userStore;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        testUser = new TicketBuyer();
+        testUser.setName("Test User");
+        testUser.setEmail("test@example.com");
+        testUser.setPassword("hash");
+    }
+
+    @Test
+    void testCreate_EmailConflictIsDuplicate() {
+        // Arrange
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "uk_users_email_normalized")));
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> {
+            userStore.create(testUser);
+        });
+    }
+
+    @Test
+    void testCreate_OtherConstraintViolationPropagates() {
+        // Arrange
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("Column cannot be null", new SQLException(), "name")));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            userStore.create(testUser);
+        });
+    }
+
+    @Test
+    void testCreate_UnnamedViolationMentioningEmailPropagates() {
+        // Arrange - the driver message lists the INSERT columns, including email
+        when(userRepository.saveAndFlush(any(User.class))).thenThrow(new DataIntegrityViolationException(
+                "could not execute statement [Data too long for column 'access_level'] "
+                        + "[insert into users (email,email_normalized,access_level) values (?,?,?)]"));
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> {
+            userStore.create(testUser);
+        });
+    }
+
+    @Test
+    void testFindByEmail_LooksUpNormalizedEmail() {
+        // Arrange
+        when(userRepository.findByEmailNormalized("test@example.com")).thenReturn(Optional.of(testUser));
+
+        // Act
+        Optional<User> found = userStore.findByEmail("  Test@Example.COM ");
+
+        // Assert
+        assertSame(testUser, found.orElseThrow());
+    }
+
+    @Test
+    void testCountByRoleAndStatus_FillsEveryCombination() {
+        // Arrange
+        when(userRepository.countByTypeAndStatus()).thenReturn(List.of(
+                new Object[]{EventOrganizer.class, User.UserStatus.ACTIVE, 3L},
+                new Object[]{TicketBuyer.class, User.UserStatus.SUSPENDED, 2L}));
+
+        // Act
+        Map<UserFilter.Role, Map<User.UserStatus, Long>> counts = userStore.countByRoleAndStatus();
+
+        // Assert
+        assertEquals(3L, counts.get(UserFilter.Role.ORGANIZER).get(User.UserStatus.ACTIVE));
+        assertEquals(2L, counts.get(UserFilter.Role.BUYER).get(User.UserStatus.SUSPENDED));
+        assertEquals(0L, counts.get(UserFilter.Role.ADMIN).get(User.UserStatus.DELETED));
+    }
+}
@@ -0,0 +1,88 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.datasource.HedgedReadExecutor;
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Which data source findDtoById reads from when hedged reads are enabled; the users
+ * are committed, as UserService loads cache misses in a transaction of their own
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryHedgingTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private HedgedReadExecutor hedgedReads;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testFindDtoById_CacheMissInPrimaryReadNeverReachesReplica() {
+        // Arrange - as UserService.primaryRead
+        User saved = userRepository.save(newUser("alice@example.com"));
+        TransactionTemplate primaryRead = new TransactionTemplate(transactionManager);
+        primaryRead.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // Act
+        Optional<UserDTO> found = primaryRead.execute(status -> userRepository.findDtoById(saved.getId()));
+
+        // Assert
+        assertEquals("alice@example.com", found.orElseThrow().getEmail());
+        verifyNoInteractions(hedgedReads);
+    }
+
+    @Test
+    void testFindDtoById_ReadOnlyTransactionIsHedged() {
+        // Arrange
+        UserDTO replicaRow = UserDTO.builder().id(7L).email("bob@example.com").build();
+        when(hedgedReads.queryUser(eq(7L), anyString(), any(), eq(7L))).thenReturn(List.of(replicaRow));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // Act
+        Optional<UserDTO> found = readOnly.execute(status -> userRepository.findDtoById(7L));
+
+        // Assert
+        assertSame(replicaRow, found.orElseThrow());
+    }
+
+    private static User newUser(String email) {
+        User user = new TicketBuyer();
+        user.setName("Test User");
+        user.setEmail(email);
+        user.setPassword("hash");
+        return user;
+    }
+}
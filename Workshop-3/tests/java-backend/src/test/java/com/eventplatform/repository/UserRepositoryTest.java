@@ -0,0 +1,193 @@
+package com.eventplatform.repository;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.eventplatform.util.SortCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testSave_StoresNormalizedEmail() {
+        // Act
+        User saved = userRepository.saveAndFlush(newUser("Alice@Example.COM"));
+
+        // Assert
+        assertEquals("alice@example.com", saved.getEmailNormalized());
+        Optional<User> found = userRepository.findByEmailNormalized("alice@example.com");
+        assertTrue(found.isPresent());
+        assertEquals(saved.getId(), found.get().getId());
+    }
+
+    @Test
+    void testSave_CaseVariantOfExistingEmailRejected() {
+        // Arrange
+        userRepository.saveAndFlush(newUser("alice@example.com"));
+
+        // Act
+        DataIntegrityViolationException thrown = assertThrows(DataIntegrityViolationException.class, () -> {
+            userRepository.saveAndFlush(newUser("ALICE@example.com"));
+        });
+
+        // Assert - registration recognizes the conflict by this constraint name
+        ConstraintViolationException violation = assertInstanceOf(ConstraintViolationException.class, thrown.getCause());
+        assertTrue(violation.getConstraintName().toLowerCase().contains(User.EMAIL_UNIQUE_KEY));
+    }
+
+    @Test
+    void testFindPage_ProjectsRoleAndSubtypeFields() {
+        // Arrange
+        EventOrganizer organizer = new EventOrganizer();
+        organizer.setName("Olga");
+        organizer.setEmail("olga@example.com");
+        organizer.setPassword("hash");
+        organizer.setOrganizationName("Olga Events");
+        userRepository.saveAndFlush(organizer);
+        userRepository.saveAndFlush(newUser("bob@example.com"));
+
+        // Act
+        List<UserDTO> page = userRepository.findPage(new UserFilter(), UserSort.EMAIL, false, null, 10);
+
+        // Assert
+        assertEquals(2, page.size());
+        assertEquals("bob@example.com", page.get(0).getEmail());
+        assertEquals("ROLE_BUYER", page.get(0).getRole());
+        assertNull(page.get(0).getOrganizationName());
+        assertEquals("ROLE_ORGANIZER", page.get(1).getRole());
+        assertEquals("Olga Events", page.get(1).getOrganizationName());
+    }
+
+    @Test
+    void testFindDtoById_ProjectsSingleUser() {
+        // Arrange
+        User saved = userRepository.saveAndFlush(newUser("solo@example.com"));
+
+        // Act
+        Optional<UserDTO> found = userRepository.findDtoById(saved.getId());
+        Optional<UserDTO> missing = userRepository.findDtoById(saved.getId() + 1000);
+
+        // Assert
+        assertTrue(found.isPresent());
+        assertEquals("solo@example.com", found.get().getEmail());
+        assertEquals("ROLE_BUYER", found.get().getRole());
+        assertEquals("ACTIVE", found.get().getStatus());
+        assertTrue(missing.isEmpty());
+    }
+
+    @Test
+    void testFindPage_KeysetContinuesAfterCursorOnTies() {
+        // Arrange
+        User first = userRepository.saveAndFlush(newUser("a@example.com"));
+        User second = userRepository.saveAndFlush(newUser("b@example.com"));
+        User third = userRepository.saveAndFlush(newUser("c@example.com"));
+        SortCursor after = new SortCursor("name", "Alice", first.getId());
+
+        // Act
+        List<UserDTO> page = userRepository.findPage(new UserFilter(), UserSort.NAME, false, after, 10);
+
+        // Assert
+        assertEquals(List.of(second.getId(), third.getId()), page.stream().map(UserDTO::getId).toList());
+    }
+
+    @Test
+    void testFindPage_FiltersByRoleAndStatus() {
+        // Arrange
+        User active = userRepository.saveAndFlush(newUser("active@example.com"));
+        User suspended = newUser("suspended@example.com");
+        suspended.setStatus(User.UserStatus.SUSPENDED);
+        userRepository.saveAndFlush(suspended);
+        UserFilter filter = UserFilter.builder()
+                .role(UserFilter.Role.BUYER)
+                .status(User.UserStatus.ACTIVE)
+                .build();
+
+        // Act
+        List<UserDTO> page = userRepository.findPage(filter, UserSort.CREATED_AT, true, null, 10);
+
+        // Assert
+        assertEquals(1, page.size());
+        assertEquals(active.getId(), page.get(0).getId());
+    }
+
+    @Test
+    void testCountByTypeAndStatus_GroupsPerEntityType() {
+        // Arrange
+        userRepository.saveAndFlush(newUser("a@example.com"));
+        userRepository.saveAndFlush(newUser("b@example.com"));
+        User suspended = newUser("c@example.com");
+        suspended.setStatus(User.UserStatus.SUSPENDED);
+        userRepository.saveAndFlush(suspended);
+
+        // Act
+        List<Object[]> rows = userRepository.countByTypeAndStatus();
+
+        // Assert
+        assertEquals(2, rows.size());
+        for (Object[] row : rows) {
+            assertEquals(TicketBuyer.class, row[0]);
+            assertEquals(row[1] == User.UserStatus.ACTIVE ? 2L : 1L, ((Number) row[2]).longValue());
+        }
+    }
+
+    @Test
+    void testFindById_LeavesPasswordUnloadedUntilAccessed() {
+        // Arrange
+        Long id = userRepository.saveAndFlush(newUser("lazy@example.com")).getId();
+        entityManager.clear();
+
+        // Act
+        User user = userRepository.findById(id).orElseThrow();
+
+        // Assert
+        assertFalse(Hibernate.isPropertyInitialized(user, "password"));
+        assertEquals("hash", user.getPassword());
+        assertTrue(Hibernate.isPropertyInitialized(user, "password"));
+    }
+
+    @Test
+    void testFindByEmailNormalized_LoadsPasswordWithRow() {
+        // Arrange
+        userRepository.saveAndFlush(newUser("login@example.com"));
+        entityManager.clear();
+
+        // Act
+        User user = userRepository.findByEmailNormalized("login@example.com").orElseThrow();
+
+        // Assert
+        assertTrue(Hibernate.isPropertyInitialized(user, "password"));
+        assertEquals("hash", user.getPassword());
+    }
+
+    private static User newUser(String email) {
+        User user = new TicketBuyer();
+        user.setName("Alice");
+        user.setEmail(email);
+        user.setPassword("hash");
+        return user;
+    }
+}
@@ -0,0 +1,66 @@
+package com.eventplatform.security;
+
+import com.eventplatform.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimiterTest {
+
+    private AuthRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "ipCapacity", 3L);
+        ReflectionTestUtils.setField(rateLimiter, "ipRefillPerMinute", 1d);
+        ReflectionTestUtils.setField(rateLimiter, "emailCapacity", 2L);
+        ReflectionTestUtils.setField(rateLimiter, "emailRefillPerMinute", 1d);
+        ReflectionTestUtils.setField(rateLimiter, "maxKeys", 1000L);
+        ReflectionTestUtils.setField(rateLimiter, "idleExpiryMinutes", 10L);
+        rateLimiter.init();
+    }
+
+    @Test
+    void testCheck_EmailLimitIgnoresCaseAndWhitespace() {
+        // Arrange
+        rateLimiter.check("10.0.0.1", "Test@Example.com");
+        rateLimiter.check("10.0.0.2", " test@example.com ");
+
+        // Act & Assert
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class, () -> {
+            rateLimiter.check("10.0.0.3", "TEST@example.com");
+        });
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1);
+    }
+
+    @Test
+    void testCheck_IpLimitAcrossEmails() {
+        // Arrange
+        rateLimiter.check("10.0.0.1", "a@example.com");
+        rateLimiter.check("10.0.0.1", "b@example.com");
+        rateLimiter.check("10.0.0.1", "c@example.com");
+
+        // Act & Assert
+        assertThrows(TooManyRequestsException.class, () -> {
+            rateLimiter.check("10.0.0.1", "d@example.com");
+        });
+
+        assertDoesNotThrow(() -> rateLimiter.check("10.0.0.2", "d@example.com"));
+    }
+
+    @Test
+    void testCheck_Disabled() {
+        // Arrange
+        ReflectionTestUtils.setField(rateLimiter, "enabled", false);
+
+        // Act & Assert
+        for (int i = 0; i < 10; i++) {
+            assertDoesNotThrow(() -> rateLimiter.check("10.0.0.1", "a@example.com"));
+        }
+    }
+}
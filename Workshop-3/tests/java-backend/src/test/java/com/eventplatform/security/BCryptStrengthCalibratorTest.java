@@ -0,0 +1,28 @@
+package com.eventplatform.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BCryptStrengthCalibratorTest {
+
+    @Test
+    void testCalibrate_TinyBudgetKeepsMinimum() {
+        // Act
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofNanos(1), 4, 8);
+
+        // Assert
+        assertEquals(4, strength);
+    }
+
+    @Test
+    void testCalibrate_LargeBudgetCappedAtMaximum() {
+        // Act
+        int strength = BCryptStrengthCalibrator.calibrate(Duration.ofMinutes(1), 4, 6);
+
+        // Assert
+        assertEquals(6, strength);
+    }
+}
@@ -0,0 +1,148 @@
+package com.eventplatform.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    private static final long TEST_EXPIRATION = 3600000L; // 1 hour
+
+    @TempDir
+    Path keysDirectory;
+
+    private JwtKeyRing keyRing;
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        writeKeyPair("2026-01-a");
+
+        keyRing = new JwtKeyRing();
+        ReflectionTestUtils.setField(keyRing, "keysDirectory", keysDirectory.toString());
+        keyRing.init();
+
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "algorithm", "ES256");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", TEST_EXPIRATION);
+        ReflectionTestUtils.setField(tokenProvider, "keyRing", keyRing);
+        tokenProvider.init();
+    }
+
+    @Test
+    void testGenerateToken_SignedWithCurrentKid() {
+        // Act
+        String token = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))),
+                StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(header.contains("\"kid\":\"2026-01-a\""));
+        assertTrue(header.contains("\"alg\":\"ES256\""));
+        assertEquals(1L, tokenProvider.parseVerifiedClaims(token).orElseThrow().userId());
+    }
+
+    @Test
+    void testReload_RotatesSigningKeyAndKeepsOldTokensValid() throws Exception {
+        // Arrange
+        String oldToken = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+        writeKeyPair("2026-02-a");
+
+        // Act
+        keyRing.reload();
+        String newToken = tokenProvider.generateToken(2L, "new@example.com", "ROLE_BUYER");
+
+        // Assert
+        assertEquals("2026-02-a", keyRing.getSigningKey().kid());
+        assertTrue(tokenProvider.validateToken(oldToken));
+        assertTrue(tokenProvider.validateToken(newToken));
+    }
+
+    @Test
+    void testReload_RetiredKeyNoLongerVerifies() throws Exception {
+        // Arrange
+        String oldToken = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+        writeKeyPair("2026-02-a");
+        Files.delete(keysDirectory.resolve("2026-01-a.key"));
+        Files.delete(keysDirectory.resolve("2026-01-a.pub"));
+
+        // Act
+        keyRing.reload();
+
+        // Assert
+        assertFalse(tokenProvider.validateToken(oldToken));
+    }
+
+    @Test
+    void testReload_RetiredKeyNoLongerVerifiesCachedToken() throws Exception {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(cache, "keyRing", keyRing);
+        cache.init();
+        ReflectionTestUtils.setField(tokenProvider, "tokenCache", cache);
+        String oldToken = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+        assertTrue(tokenProvider.validateToken(oldToken));
+        writeKeyPair("2026-02-a");
+        Files.delete(keysDirectory.resolve("2026-01-a.key"));
+        Files.delete(keysDirectory.resolve("2026-01-a.pub"));
+
+        // Act
+        keyRing.reload();
+
+        // Assert
+        assertFalse(tokenProvider.validateToken(oldToken));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testToJwks_PublishesPublicKeysOnly() throws Exception {
+        // Arrange
+        writeKeyPair("2026-02-a");
+        keyRing.reload();
+
+        // Act
+        Map<String, Object> jwks = keyRing.toJwks();
+
+        // Assert
+        List<?> keys = (List<?>) jwks.get("keys");
+        assertEquals(2, keys.size());
+        for (Object key : keys) {
+            Map<?, ?> jwk = (Map<?, ?>) key;
+            assertEquals("EC", jwk.get("kty"));
+            assertEquals("sig", jwk.get("use"));
+            assertEquals("ES256", jwk.get("alg"));
+            assertNotNull(jwk.get("x"));
+            assertFalse(jwk.containsKey("d"));
+        }
+        String json = new ObjectMapper().writeValueAsString(jwks);
+        assertTrue(json.contains("\"kid\":\"2026-02-a\""));
+        assertTrue(json.contains("\"crv\":\"P-256\""));
+    }
+
+    private void writeKeyPair(String kid) throws Exception {
+        KeyPair pair = Jwts.SIG.ES256.keyPair().build();
+        writePem(keysDirectory.resolve(kid + ".key"), "PRIVATE KEY", pair.getPrivate().getEncoded());
+        writePem(keysDirectory.resolve(kid + ".pub"), "PUBLIC KEY", pair.getPublic().getEncoded());
+    }
+
+    private static void writePem(Path file, String type, byte[] der) throws Exception {
+        String pem = "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+        Files.writeString(file, pem, StandardCharsets.US_ASCII);
+    }
+}
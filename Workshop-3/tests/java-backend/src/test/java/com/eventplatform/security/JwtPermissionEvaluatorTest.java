@@ -0,0 +1,40 @@
+package com.eventplatform.security;
+
+import com.eventplatform.model.Permission;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtPermissionEvaluatorTest {
+
+    @AfterEach
+    void tearDown() {
+        TestSecurityUtils.clearSecurityContext();
+    }
+
+    @Test
+    void testIsGranted_ChecksPermissionBit() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.USERS_READ.getBit(), "ROLE_ADMIN");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // Act & Assert
+        assertTrue(JwtPermissionEvaluator.isGranted(authentication, "USERS_READ"));
+        assertTrue(JwtPermissionEvaluator.isGranted(authentication, Permission.USERS_READ));
+        assertFalse(JwtPermissionEvaluator.isGranted(authentication, "USERS_DELETE"));
+    }
+
+    @Test
+    void testIsGranted_UnknownNameIsNotGranted() {
+        // Arrange
+        TestSecurityUtils.setSecurityContext(1L, Permission.ALL, "ROLE_ADMIN");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // Act & Assert
+        assertFalse(JwtPermissionEvaluator.isGranted(authentication, "USERS_EVERYTHING"));
+        assertFalse(JwtPermissionEvaluator.isGranted(authentication, null));
+    }
+}
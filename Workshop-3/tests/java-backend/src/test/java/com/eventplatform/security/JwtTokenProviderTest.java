@@ -1,5 +1,6 @@
 package com.eventplatform.security;
 
+import com.eventplatform.model.Permission;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
@@ -7,6 +8,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Instant;
+import java.util.Optional;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtTokenProviderTest {
@@ -155,5 +159,77 @@ class JwtTokenProviderTest {
         assertEquals(email, extractedEmail);
         assertEquals(role, extractedRole);
     }
-}
 
+    @Test
+    void testParseVerifiedClaims_ValidToken() {
+        // Arrange
+        Long userId = 7L;
+        String email = "claims@example.com";
+        String role = "ROLE_ORGANIZER";
+        String token = tokenProvider.generateToken(userId, email, role);
+
+        // Act
+        Optional<JwtClaims> claims = tokenProvider.parseVerifiedClaims(token);
+
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals(userId, claims.get().userId());
+        assertEquals(email, claims.get().email());
+        assertEquals(role, claims.get().role());
+        assertTrue(claims.get().expiresAt().isAfter(Instant.now()));
+    }
+
+    @Test
+    void testParseVerifiedClaims_PermissionBits() {
+        // Arrange
+        long mask = Permission.USERS_READ.getBit() | Permission.AUDIT_EXPORT.getBit();
+        String adminToken = tokenProvider.generateToken(1L, "admin@example.com", "ROLE_ADMIN", mask);
+        String superAdminToken = tokenProvider.generateToken(2L, "root@example.com", "ROLE_ADMIN", Permission.ALL);
+        String buyerToken = tokenProvider.generateToken(3L, "buyer@example.com", "ROLE_BUYER");
+
+        // Act
+        JwtClaims admin = tokenProvider.parseVerifiedClaims(adminToken).orElseThrow();
+        JwtClaims superAdmin = tokenProvider.parseVerifiedClaims(superAdminToken).orElseThrow();
+        JwtClaims buyer = tokenProvider.parseVerifiedClaims(buyerToken).orElseThrow();
+
+        // Assert
+        assertEquals(mask, admin.permissions());
+        assertEquals(Permission.ALL, superAdmin.permissions());
+        assertEquals(0L, buyer.permissions());
+    }
+
+    @Test
+    void testParseVerifiedClaims_TamperedSignature() {
+        // Arrange
+        String token = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+        JwtTokenProvider otherProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(otherProvider, "jwtSecret", TEST_SECRET + "-other");
+        ReflectionTestUtils.setField(otherProvider, "jwtExpirationMs", TEST_EXPIRATION);
+        otherProvider.init();
+
+        // Act
+        Optional<JwtClaims> claims = otherProvider.parseVerifiedClaims(token);
+
+        // Assert
+        assertTrue(claims.isEmpty());
+    }
+
+    @Test
+    void testParseVerifiedClaims_CachedAfterFirstVerification() {
+        // Arrange
+        VerifiedTokenCache cache = new VerifiedTokenCache();
+        ReflectionTestUtils.setField(cache, "maximumSize", 100L);
+        cache.init();
+        ReflectionTestUtils.setField(tokenProvider, "tokenCache", cache);
+        String token = tokenProvider.generateToken(1L, "test@example.com", "ROLE_BUYER");
+
+        // Act
+        JwtClaims first = tokenProvider.parseVerifiedClaims(token).orElseThrow();
+        JwtClaims second = tokenProvider.parseVerifiedClaims(token).orElseThrow();
+
+        // Assert
+        assertSame(first, second);
+        assertSame(first, cache.get(token));
+        assertTrue(tokenProvider.parseVerifiedClaims("invalid.token.here").isEmpty());
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.test.context.support.WithSecurityContextFactory;
 
+import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
@@ -37,6 +38,20 @@ public class TestSecurityUtils {
         SecurityContextHolder.setContext(context);
     }
 
+    /**
+     * Set up security context with Long userId as principal and verified JWT claims
+     * carrying a Permission bitmask as credentials, as JwtAuthenticationFilter does
+     */
+    public static void setSecurityContext(Long userId, long permissions, String... roles) {
+        setSecurityContext(userId, roles);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        JwtClaims claims = new JwtClaims("test-token", userId, "user" + userId + "@example.com",
+                authentication.getAuthorities().iterator().next().getAuthority(), permissions,
+                Instant.now().plusSeconds(3600));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userId, claims, authentication.getAuthorities()));
+    }
+
     /**
      * Clear security context
      */
@@ -0,0 +1,141 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditArchiveServiceTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AuditArchive auditArchive;
+    private AuditArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("archive-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE audit_logs ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, admin_id BIGINT, "
+                + "action VARCHAR(100) NOT NULL, entity VARCHAR(100), entity_id BIGINT, details TEXT, "
+                + "ip_address VARCHAR(45), user_agent VARCHAR(255), timestamp TIMESTAMP)");
+
+        auditArchive = newArchive();
+        archiveService = new AuditArchiveService();
+        ReflectionTestUtils.setField(archiveService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(archiveService, "auditArchive", auditArchive);
+        ReflectionTestUtils.setField(archiveService, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(archiveService, "retentionDays", 90);
+        ReflectionTestUtils.setField(archiveService, "blockRows", 16);
+        ReflectionTestUtils.setField(archiveService, "fetchSize", 10);
+        ReflectionTestUtils.setField(archiveService, "deleteBatchSize", 7);
+        archiveService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testArchiveExpiredMonths_MovesOldMonthsAndKeepsRecentRows() throws Exception {
+        // Arrange
+        insert(40, LocalDateTime.of(2025, 1, 10, 0, 0));
+        insert(30, LocalDateTime.of(2025, 2, 10, 0, 0));
+        insert(5, LocalDateTime.now().minusDays(1));
+
+        // Act
+        long archived = archiveService.archiveExpiredMonths();
+
+        // Assert
+        assertEquals(70, archived);
+        assertEquals(5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class));
+        assertTrue(Files.exists(archiveDirectory.resolve("audit-2025-01.seg")));
+        assertEquals(40, auditArchive.get(YearMonth.of(2025, 1)).getRowCount());
+        assertEquals(30, auditArchive.get(YearMonth.of(2025, 2)).getRowCount());
+    }
+
+    @Test
+    void testArchiveMonth_SegmentsReloadAfterRestart() throws Exception {
+        // Arrange
+        insert(20, LocalDateTime.of(2025, 1, 10, 0, 0));
+        archiveService.archiveMonth(YearMonth.of(2025, 1));
+
+        // Act
+        AuditArchive reloaded = newArchive();
+        List<AuditLogDTO> page = reloaded.findPage(new AuditLogFilter(), null, 5);
+
+        // Assert
+        assertEquals(20, reloaded.getRowCount());
+        assertEquals(List.of(20L, 19L, 18L, 17L, 16L), page.stream().map(AuditLogDTO::getId).toList());
+    }
+
+    @Test
+    void testArchiveMonth_LateRowsMergedIntoSegment() throws Exception {
+        // Arrange
+        insert(10, LocalDateTime.of(2025, 1, 10, 0, 0));
+        archiveService.archiveMonth(YearMonth.of(2025, 1));
+        insert(1, LocalDateTime.of(2025, 1, 10, 0, 1, 30));
+
+        // Act
+        long archived = archiveService.archiveMonth(YearMonth.of(2025, 1));
+
+        // Assert
+        assertEquals(1, archived);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class));
+        List<Long> ids = new ArrayList<>();
+        auditArchive.forEach(new AuditLogFilter(), row -> ids.add(row.getId()));
+        assertEquals(List.of(1L, 2L, 11L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), ids);
+    }
+
+    @Test
+    void testArchiveExpiredMonths_EmptyTable() throws Exception {
+        // Act & Assert
+        assertEquals(0, archiveService.archiveExpiredMonths());
+        try (var files = Files.list(archiveDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    private AuditArchive newArchive() throws Exception {
+        AuditArchive archive = new AuditArchive();
+        ReflectionTestUtils.setField(archive, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(archive, "directory", archiveDirectory.toString());
+        archive.init();
+        return archive;
+    }
+
+    // Rows one minute apart, starting one minute after start
+    private void insert(int count, LocalDateTime start) {
+        for (int i = 1; i <= count; i++) {
+            jdbcTemplate.update("INSERT INTO audit_logs (user_id, action, timestamp) VALUES (?, 'USER_LOGIN', ?)",
+                    (long) i, start.plusMinutes(i));
+        }
+    }
+}
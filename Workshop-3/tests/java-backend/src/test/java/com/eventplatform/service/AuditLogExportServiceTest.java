@@ -0,0 +1,147 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.exception.DeadlineExceededException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogExportServiceTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private ObjectMapper objectMapper;
+    private AuditLogExportService exportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("export-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE audit_logs ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, admin_id BIGINT, "
+                + "action VARCHAR(100) NOT NULL, entity VARCHAR(100), entity_id BIGINT, details TEXT, "
+                + "ip_address VARCHAR(45), user_agent VARCHAR(255), timestamp TIMESTAMP)");
+        for (int i = 1; i <= 50; i++) {
+            jdbcTemplate.update("INSERT INTO audit_logs (user_id, action, entity, entity_id, details, timestamp) "
+                            + "VALUES (?, ?, 'User', ?, ?, DATEADD('MINUTE', ?, TIMESTAMP '2026-01-01 00:00:00'))",
+                    i % 2 == 0 ? 2L : 3L, i % 5 == 0 ? "USER_REGISTER" : "USER_LOGIN", (long) i,
+                    "Details, with \"quotes\"\nand a line break", i);
+        }
+
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        AuditArchive auditArchive = new AuditArchive();
+        ReflectionTestUtils.setField(auditArchive, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditArchive, "directory", archiveDirectory.toString());
+        auditArchive.init();
+
+        exportService = new AuditLogExportService();
+        ReflectionTestUtils.setField(exportService, "auditArchive", auditArchive);
+        ReflectionTestUtils.setField(exportService, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(exportService, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(exportService, "fetchSize", 10);
+        ReflectionTestUtils.setField(exportService, "deadlineSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testExport_NdjsonOneObjectPerLineOldestFirst() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long rows = exportService.export(new AuditLogFilter(), AuditLogExportService.Format.NDJSON, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(50, rows);
+        assertEquals(50, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals("2026-01-01T00:01:00", first.get("timestamp").asText());
+        assertEquals(50, objectMapper.readTree(lines[49]).get("id").asLong());
+    }
+
+    @Test
+    void testExport_CsvEscapesAndFilters() throws Exception {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AuditLogFilter filter = AuditLogFilter.builder().userId(2L).action("USER_REGISTER").build();
+
+        // Act
+        long rows = exportService.export(filter, AuditLogExportService.Format.CSV, out);
+
+        // Assert - even multiples of 5 up to 50
+        String csv = out.toString(StandardCharsets.UTF_8);
+        assertEquals(5, rows);
+        assertTrue(csv.startsWith("id,userId,adminId,action,entity,entityId,details,ipAddress,userAgent,timestamp\r\n"));
+        assertTrue(csv.contains("10,2,,USER_REGISTER,User,10,\"Details, with \"\"quotes\"\"\nand a line break\",,,2026-01-01T00:10\r\n"));
+    }
+
+    @Test
+    void testExport_ClientDisconnectStopsExport() {
+        // Arrange
+        OutputStream brokenPipe = new OutputStream() {
+            private int written;
+
+            @Override
+            public void write(int b) throws IOException {
+                if (++written > 1000) {
+                    throw new IOException("Broken pipe");
+                }
+            }
+        };
+
+        // Act & Assert
+        IOException exception = assertThrows(IOException.class, () -> {
+            exportService.export(new AuditLogFilter(), AuditLogExportService.Format.NDJSON, brokenPipe);
+        });
+
+        assertEquals("Broken pipe", exception.getMessage());
+    }
+
+    @Test
+    void testExport_DeadlineExceeded() {
+        // Arrange
+        ReflectionTestUtils.setField(exportService, "deadlineSeconds", -1L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThrows(DeadlineExceededException.class, () -> {
+            exportService.export(new AuditLogFilter(), AuditLogExportService.Format.CSV, out);
+        });
+
+        // What was written before the deadline has been flushed, for the trailer to follow
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("id,userId,adminId,action"));
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventplatform.service;
+
+import com.eventplatform.archive.AuditArchive;
+import com.eventplatform.dto.AuditLogDTO;
+import com.eventplatform.dto.AuditLogFilter;
+import com.eventplatform.dto.CursorPage;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.repository.AuditLogRepository;
+import com.eventplatform.util.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private AuditArchive auditArchive;
+
+    @InjectMocks
+    private AuditLogService auditLogService;
+
+    @Test
+    void testFindAuditLogs_MorePagesReturnsCursorOfLastItem() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        when(auditLogRepository.findPage(filter, null, 3)).thenReturn(logs(30, 29, 28));
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.findAuditLogs(filter, null, 2);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(new KeysetCursor(NOW, 29L), KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testFindAuditLogs_LastPageHasNoCursor() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        String cursor = new KeysetCursor(NOW, 29L).encode();
+        when(auditLogRepository.findPage(filter, new KeysetCursor(NOW, 29L), 3)).thenReturn(logs(28));
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.findAuditLogs(filter, cursor, 2);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testFindAuditLogs_ContinuesIntoArchive() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        when(auditLogRepository.findPage(filter, null, 4)).thenReturn(logs(30));
+        when(auditArchive.findPage(filter, new KeysetCursor(NOW, 30L), 3)).thenReturn(logs(12, 11, 10));
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.findAuditLogs(filter, null, 3);
+
+        // Assert
+        assertEquals(List.of(30L, 12L, 11L), page.getItems().stream().map(AuditLogDTO::getId).toList());
+        assertEquals(new KeysetCursor(NOW, 11L), KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void testFindAuditLogs_FullPageFromTableSkipsArchive() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        when(auditLogRepository.findPage(filter, null, 3)).thenReturn(logs(30, 29, 28));
+
+        // Act
+        auditLogService.findAuditLogs(filter, null, 2);
+
+        // Assert
+        verifyNoInteractions(auditArchive);
+    }
+
+    @Test
+    void testFindAuditLogs_LimitCapped() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        when(auditLogRepository.findPage(eq(filter), isNull(), anyInt())).thenReturn(List.of());
+
+        // Act
+        auditLogService.findAuditLogs(filter, null, 1_000_000);
+
+        // Assert
+        verify(auditLogRepository).findPage(filter, null, AuditLogService.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void testFindAuditLogs_InvalidCursor() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            auditLogService.findAuditLogs(new AuditLogFilter(), "not-a-cursor", 10);
+        });
+
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    private List<AuditLogDTO> logs(long... ids) {
+        return LongStream.of(ids)
+                .mapToObj(id -> AuditLogDTO.builder().id(id).action("USER_LOGIN").timestamp(NOW).build())
+                .toList();
+    }
+}
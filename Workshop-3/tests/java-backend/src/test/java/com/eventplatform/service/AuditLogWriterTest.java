@@ -0,0 +1,222 @@
+package com.eventplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditLogWriterTest {
+
+    private static final String CREATE_TABLE = "CREATE TABLE audit_logs ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT, admin_id BIGINT, "
+            + "action VARCHAR(100) NOT NULL, entity VARCHAR(100), entity_id BIGINT, details TEXT, "
+            + "ip_address VARCHAR(45), user_agent VARCHAR(255), timestamp TIMESTAMP)";
+
+    @TempDir
+    Path spillDirectory;
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("audit-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute(CREATE_TABLE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void testSubmit_WrittenInBatches() {
+        // Arrange
+        AuditLogWriter writer = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+        writer.start();
+
+        // Act
+        for (long i = 1; i <= 25; i++) {
+            writer.submit(event(i));
+        }
+        writer.stop();
+
+        // Assert
+        assertEquals(25, countRows());
+        assertEquals("USER_LOGIN", jdbcTemplate.queryForObject(
+                "SELECT action FROM audit_logs WHERE user_id = 7", String.class));
+    }
+
+    @Test
+    void testSubmit_DropWhenFull() {
+        // Arrange - writer not started, so the queue only fills
+        AuditLogWriter writer = newWriter(2, AuditLogWriter.OverflowPolicy.DROP);
+
+        // Act
+        for (long i = 1; i <= 5; i++) {
+            writer.submit(event(i));
+        }
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(2, countRows());
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.ndjson")));
+    }
+
+    @Test
+    void testSubmit_SpillWhenFullAndReplay() {
+        // Arrange - writer not started, so the queue only fills
+        AuditLogWriter writer = newWriter(2, AuditLogWriter.OverflowPolicy.SPILL);
+
+        // Act
+        for (long i = 1; i <= 5; i++) {
+            writer.submit(event(i));
+        }
+        boolean spilled = Files.exists(spillDirectory.resolve("audit-spill.ndjson"));
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertTrue(spilled);
+        assertEquals(5, countRows());
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.ndjson")));
+    }
+
+    @Test
+    void testWriteFailure_SpilledAndReplayedLater() {
+        // Arrange
+        jdbcTemplate.execute("DROP TABLE audit_logs");
+        AuditLogWriter writer = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+        writer.start();
+        writer.submit(event(1));
+        writer.submit(event(2));
+        writer.stop();
+
+        // Act
+        jdbcTemplate.execute(CREATE_TABLE);
+        AuditLogWriter restarted = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+        restarted.start();
+        restarted.stop();
+
+        // Assert
+        assertEquals(2, countRows());
+    }
+
+    @Test
+    void testWriteFailure_BadRowRejectedRestWritten() throws Exception {
+        // Arrange
+        AuditLogWriter writer = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+
+        // Act - action is NOT NULL, so the middle event fails its batch
+        writer.submit(event(1));
+        writer.submit(AuditEvent.builder().userId(2L).timestamp(LocalDateTime.now()).build());
+        writer.submit(event(3));
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(2, countRows());
+        assertEquals(1, Files.readAllLines(spillDirectory.resolve("audit-spill.rejected.ndjson")).size());
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.ndjson")));
+    }
+
+    @Test
+    void testReplay_UnreadableAndRejectedLinesDoNotBlockFile() throws Exception {
+        // Arrange
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        List<String> lines = new ArrayList<>();
+        lines.add(mapper.writeValueAsString(event(1)));
+        lines.add("{\"userId\":2,\"action\":");
+        lines.add(mapper.writeValueAsString(AuditEvent.builder().userId(3L).timestamp(LocalDateTime.now()).build()));
+        lines.add(mapper.writeValueAsString(event(4)));
+        Files.write(spillDirectory.resolve("audit-spill.ndjson"), lines, StandardCharsets.UTF_8);
+        AuditLogWriter writer = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(2, countRows());
+        assertEquals(2, Files.readAllLines(spillDirectory.resolve("audit-spill.rejected.ndjson")).size());
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.replaying.ndjson")));
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.replaying.progress")));
+    }
+
+    @Test
+    void testReplay_ResumesAfterRecordedProgress() throws Exception {
+        // Arrange - a previous replay wrote the first 12 lines before failing
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        List<String> lines = new ArrayList<>();
+        for (long i = 1; i <= 15; i++) {
+            lines.add(mapper.writeValueAsString(event(i)));
+        }
+        Files.write(spillDirectory.resolve("audit-spill.replaying.ndjson"), lines, StandardCharsets.UTF_8);
+        Files.writeString(spillDirectory.resolve("audit-spill.replaying.progress"), "12");
+        AuditLogWriter writer = newWriter(100, AuditLogWriter.OverflowPolicy.BLOCK);
+
+        // Act
+        writer.start();
+        writer.stop();
+
+        // Assert
+        assertEquals(3, countRows());
+        assertEquals(13L, jdbcTemplate.queryForObject("SELECT MIN(user_id) FROM audit_logs", Long.class));
+        assertFalse(Files.exists(spillDirectory.resolve("audit-spill.replaying.ndjson")));
+    }
+
+    private AuditLogWriter newWriter(int capacity, AuditLogWriter.OverflowPolicy policy) {
+        AuditLogWriter writer = new AuditLogWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(writer, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+        ReflectionTestUtils.setField(writer, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(writer, "capacity", capacity);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 20L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", policy);
+        ReflectionTestUtils.setField(writer, "spillDirectory", spillDirectory.toString());
+        ReflectionTestUtils.setField(writer, "shutdownTimeoutMs", 5000L);
+        ReflectionTestUtils.setField(writer, "replayMaxBackoffMs", 1000L);
+        writer.init();
+        return writer;
+    }
+
+    private AuditEvent event(long userId) {
+        return AuditEvent.builder()
+                .userId(userId)
+                .action("USER_LOGIN")
+                .entity("User")
+                .entityId(userId)
+                .details("User logged in successfully")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private int countRows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM audit_logs", Integer.class);
+    }
+}
@@ -1,26 +1,42 @@
 package com.eventplatform.service;
 
+import com.eventplatform.datasource.ReadYourWritesTracker;
 import com.eventplatform.dto.AuthResponse;
 import com.eventplatform.dto.LoginRequest;
+import com.eventplatform.dto.RefreshTokenRequest;
 import com.eventplatform.dto.RegisterRequest;
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.exception.BadRequestException;
 import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.exception.ServiceUnavailableException;
 import com.eventplatform.exception.UnauthorizedException;
-import com.eventplatform.model.AuditLog;
+import com.eventplatform.model.Permission;
+import com.eventplatform.model.PlatformAdmin;
 import com.eventplatform.model.TicketBuyer;
 import com.eventplatform.model.User;
-import com.eventplatform.repository.AuditLogRepository;
-import com.eventplatform.repository.UserRepository;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.security.JwtClaims;
 import com.eventplatform.security.JwtTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,17 +46,41 @@ import static org.mockito.Mockito.*;
 class AuthServiceTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserStore userStore;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditLogWriter auditLogWriter;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private PasswordHashingService passwordHashingService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
     @Mock
     private JwtTokenProvider tokenProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
     @InjectMocks
     private AuthService authService;
 
@@ -71,19 +111,31 @@ class AuthServiceTest {
         testUser.setPhoneNumber("+1234567890");
         testUser.setPassword(encodedPassword);
         testUser.setStatus(User.UserStatus.ACTIVE);
+
+        // Run hashing and the follow-up transaction inline, on the test thread
+        lenient().when(passwordHashingService.encode(anyString())).thenAnswer(invocation ->
+                CompletableFuture.completedFuture(passwordEncoder.encode(invocation.getArgument(0))));
+        lenient().when(passwordHashingService.verify(anyString(), anyString())).thenAnswer(invocation -> {
+            boolean matches = passwordEncoder.matches(invocation.getArgument(0), invocation.getArgument(1));
+            String upgradedHash = matches && passwordEncoder.upgradeEncoding(invocation.getArgument(1))
+                    ? passwordEncoder.encode(invocation.getArgument(0))
+                    : null;
+            return CompletableFuture.completedFuture(new PasswordHashingService.Verification(matches, upgradedHash));
+        });
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Test
     void testRegister_Success() {
         // Arrange
-        when(userRepository.existsByEmailIgnoreCase(registerRequest.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userStore.create(any(User.class))).thenReturn(testUser);
         when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
         when(tokenProvider.getExpirationMs()).thenReturn(3600000L);
 
         // Act
-        AuthResponse response = authService.register(registerRequest);
+        AuthResponse response = authService.register(registerRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -94,25 +146,45 @@ class AuthServiceTest {
         assertEquals("ROLE_BUYER", response.getRole());
         assertEquals(3600000L, response.getExpiresIn());
 
-        verify(userRepository).existsByEmailIgnoreCase(registerRequest.getEmail());
         verify(passwordEncoder).encode(registerRequest.getPassword());
-        verify(userRepository).save(any(User.class));
+        verify(userStore).create(any(User.class));
         verify(tokenProvider).generateToken(anyLong(), anyString(), anyString());
-        verify(auditLogRepository).save(any(AuditLog.class));
+        verify(auditLogWriter).submit(any(AuditEvent.class));
+        verify(userCounters).userCreated(UserFilter.Role.BUYER, User.UserStatus.ACTIVE);
+        verify(readYourWrites).recordWrite(testUser.getId());
     }
 
     @Test
     void testRegister_DuplicateEmail() {
         // Arrange
-        when(userRepository.existsByEmailIgnoreCase(registerRequest.getEmail())).thenReturn(true);
+        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn(encodedPassword);
+        when(userStore.create(any(User.class)))
+                .thenThrow(new DuplicateResourceException("Email already exists: test@example.com"));
 
-        // Act & Assert
-        assertThrows(DuplicateResourceException.class, () -> {
-            authService.register(registerRequest);
+        // Act
+        CompletionException thrown = assertThrows(CompletionException.class, () -> {
+            authService.register(registerRequest).join();
+        });
+
+        // Assert
+        assertInstanceOf(DuplicateResourceException.class, thrown.getCause());
+        verify(auditLogWriter, never()).submit(any(AuditEvent.class));
+        verify(refreshTokenService, never()).issue(any(User.class));
+    }
+
+    @Test
+    void testRegister_OtherConstraintViolationPropagates() {
+        // Arrange
+        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn(encodedPassword);
+        when(userStore.create(any(User.class))).thenThrow(new DataIntegrityViolationException("not null"));
+
+        // Act
+        CompletionException thrown = assertThrows(CompletionException.class, () -> {
+            authService.register(registerRequest).join();
         });
 
-        verify(userRepository).existsByEmailIgnoreCase(registerRequest.getEmail());
-        verify(userRepository, never()).save(any(User.class));
+        // Assert
+        assertInstanceOf(DataIntegrityViolationException.class, thrown.getCause());
     }
 
     @Test
@@ -121,9 +193,8 @@ class AuthServiceTest {
         registerRequest.setUserType("ORGANIZER");
         registerRequest.setOrganizationName("Test Org");
 
-        when(userRepository.existsByEmailIgnoreCase(registerRequest.getEmail())).thenReturn(false);
         when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        when(userStore.create(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
             user.setId(1L);
             return user;
@@ -132,7 +203,7 @@ class AuthServiceTest {
         when(tokenProvider.getExpirationMs()).thenReturn(3600000L);
 
         // Act
-        AuthResponse response = authService.register(registerRequest);
+        AuthResponse response = authService.register(registerRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -140,42 +211,91 @@ class AuthServiceTest {
     }
 
     @Test
-    void testRegister_Admin() {
+    void testRegister_AdminRejected() {
         // Arrange
         registerRequest.setUserType("ADMIN");
-        registerRequest.setPermissions("ALL");
-        registerRequest.setAccessLevel("SUPER_ADMIN");
+        registerRequest.setPermissions(EnumSet.allOf(Permission.class));
 
-        when(userRepository.existsByEmailIgnoreCase(registerRequest.getEmail())).thenReturn(false);
-        when(passwordEncoder.encode(registerRequest.getPassword())).thenReturn(encodedPassword);
-        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            authService.register(registerRequest);
+        });
+
+        verify(userStore, never()).create(any(User.class));
+    }
+
+    @Test
+    void testRegister_PermissionsIgnored() {
+        // Arrange
+        registerRequest.setPermissions(EnumSet.allOf(Permission.class));
+        when(userStore.create(any(User.class))).thenReturn(testUser);
+        when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
+
+        // Act
+        authService.register(registerRequest).join();
+
+        // Assert
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userStore).create(saved.capture());
+        assertInstanceOf(TicketBuyer.class, saved.getValue());
+        verify(tokenProvider, never()).generateToken(anyLong(), anyString(), anyString(), anyLong());
+    }
+
+    @Test
+    void testCreateAdmin_GrantsRequestedPermissions() {
+        // Arrange
+        registerRequest.setUserType("ADMIN");
+        registerRequest.setPermissions(EnumSet.of(Permission.USERS_READ, Permission.AUDIT_READ));
+        registerRequest.setAccessLevel("SUPER_ADMIN");
+        long mask = Permission.USERS_READ.getBit() | Permission.AUDIT_READ.getBit();
+        when(userStore.create(any(User.class))).thenAnswer(invocation -> {
             User user = invocation.getArgument(0);
-            user.setId(1L);
+            user.setId(5L);
             return user;
         });
-        when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
-        when(tokenProvider.getExpirationMs()).thenReturn(3600000L);
 
         // Act
-        AuthResponse response = authService.register(registerRequest);
+        UserDTO admin = authService.createAdmin(registerRequest, 1L, Permission.ALL).join();
 
         // Assert
-        assertNotNull(response);
-        assertEquals("ROLE_ADMIN", response.getRole());
+        assertEquals("ROLE_ADMIN", admin.getRole());
+        assertEquals(EnumSet.of(Permission.USERS_READ, Permission.AUDIT_READ), admin.getPermissions());
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userStore).create(saved.capture());
+        assertEquals(mask, ((PlatformAdmin) saved.getValue()).getPermissions());
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLogWriter).submit(event.capture());
+        assertEquals("ADMIN_CREATE", event.getValue().action());
+        assertEquals(1L, event.getValue().adminId());
+        verifyNoInteractions(refreshTokenService);
+    }
+
+    @Test
+    void testCreateAdmin_PermissionNotHeldByGrantorDenied() {
+        // Arrange
+        registerRequest.setUserType("ADMIN");
+        registerRequest.setPermissions(EnumSet.of(Permission.USERS_READ, Permission.SHARDS_MANAGE));
+
+        // Act & Assert
+        assertThrows(AccessDeniedException.class, () -> {
+            authService.createAdmin(registerRequest, 1L,
+                    Permission.ADMINS_MANAGE.getBit() | Permission.USERS_READ.getBit());
+        });
+
+        verify(userStore, never()).create(any(User.class));
     }
 
     @Test
     void testLogin_Success() {
         // Arrange
-        when(userRepository.findByEmailIgnoreCase(loginRequest.getEmail()))
+        when(userStore.findByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(loginRequest.getPassword(), encodedPassword)).thenReturn(true);
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
         when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
         when(tokenProvider.getExpirationMs()).thenReturn(3600000L);
 
         // Act
-        AuthResponse response = authService.login(loginRequest);
+        AuthResponse response = authService.login(loginRequest).join();
 
         // Assert
         assertNotNull(response);
@@ -184,17 +304,19 @@ class AuthServiceTest {
         assertEquals(testUser.getEmail(), response.getEmail());
         assertEquals(testUser.getName(), response.getName());
 
-        verify(userRepository).findByEmailIgnoreCase(loginRequest.getEmail());
+        verify(userStore).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder).matches(loginRequest.getPassword(), encodedPassword);
-        verify(userRepository).save(any(User.class));
+        verify(lastLoginWriteBehind).record(eq(testUser.getId()), any(LocalDateTime.class));
+        verify(userStore, never()).update(any(User.class));
+        verify(userStore, never()).updatePassword(anyLong(), anyString());
         verify(tokenProvider).generateToken(anyLong(), anyString(), anyString());
-        verify(auditLogRepository).save(any(AuditLog.class));
+        verify(auditLogWriter).submit(any(AuditEvent.class));
     }
 
     @Test
     void testLogin_UserNotFound() {
         // Arrange
-        when(userRepository.findByEmailIgnoreCase(loginRequest.getEmail()))
+        when(userStore.findByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.empty());
 
         // Act & Assert
@@ -202,32 +324,69 @@ class AuthServiceTest {
             authService.login(loginRequest);
         });
 
-        verify(userRepository).findByEmailIgnoreCase(loginRequest.getEmail());
+        verify(userStore).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
 
     @Test
     void testLogin_InvalidPassword() {
         // Arrange
-        when(userRepository.findByEmailIgnoreCase(loginRequest.getEmail()))
+        when(userStore.findByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.of(testUser));
         when(passwordEncoder.matches(loginRequest.getPassword(), encodedPassword)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(UnauthorizedException.class, () -> {
-            authService.login(loginRequest);
+        CompletionException exception = assertThrows(CompletionException.class, () -> {
+            authService.login(loginRequest).join();
         });
 
-        verify(userRepository).findByEmailIgnoreCase(loginRequest.getEmail());
+        assertInstanceOf(UnauthorizedException.class, exception.getCause());
+
+        verify(userStore).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder).matches(loginRequest.getPassword(), encodedPassword);
-        verify(userRepository, never()).save(any(User.class));
+        verifyNoInteractions(lastLoginWriteBehind);
+    }
+
+    @Test
+    void testLogin_UpgradesOutdatedHash() {
+        // Arrange
+        when(userStore.findByEmail(loginRequest.getEmail()))
+                .thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(loginRequest.getPassword(), encodedPassword)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(encodedPassword)).thenReturn(true);
+        when(passwordEncoder.encode(loginRequest.getPassword())).thenReturn("{bcrypt}$2a$12$upgradedHash");
+        when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
+
+        // Act
+        authService.login(loginRequest).join();
+
+        // Assert
+        verify(userStore).updatePassword(testUser.getId(), "{bcrypt}$2a$12$upgradedHash");
+        verify(userStore, never()).update(any(User.class));
+    }
+
+    @Test
+    void testLogin_HashingPoolSaturated() {
+        // Arrange
+        when(userStore.findByEmail(loginRequest.getEmail()))
+                .thenReturn(Optional.of(testUser));
+        when(passwordHashingService.verify(loginRequest.getPassword(), encodedPassword))
+                .thenThrow(new ServiceUnavailableException("Server is busy, please retry shortly", 1));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> {
+            authService.login(loginRequest);
+        });
+
+        verify(userStore, never()).update(any(User.class));
+        verifyNoInteractions(auditLogWriter);
     }
 
     @Test
     void testLogin_InactiveUser() {
         // Arrange
         testUser.setStatus(User.UserStatus.SUSPENDED);
-        when(userRepository.findByEmailIgnoreCase(loginRequest.getEmail()))
+        when(userStore.findByEmail(loginRequest.getEmail()))
                 .thenReturn(Optional.of(testUser));
 
         // Act & Assert
@@ -235,8 +394,98 @@ class AuthServiceTest {
             authService.login(loginRequest);
         });
 
-        verify(userRepository).findByEmailIgnoreCase(loginRequest.getEmail());
+        verify(userStore).findByEmail(loginRequest.getEmail());
         verify(passwordEncoder, never()).matches(anyString(), anyString());
     }
-}
 
+    @Test
+    void testLogin_IssuesRefreshToken() {
+        // Arrange
+        when(userStore.findByEmail(loginRequest.getEmail()))
+                .thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches(loginRequest.getPassword(), encodedPassword)).thenReturn(true);
+        when(refreshTokenService.issue(testUser)).thenReturn("refresh-token");
+        when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("test-token");
+
+        // Act
+        AuthResponse response = authService.login(loginRequest).join();
+
+        // Assert
+        assertEquals("refresh-token", response.getRefreshToken());
+        verify(refreshTokenService).issue(testUser);
+    }
+
+    @Test
+    void testRefresh_Success() {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(testUser.getId(), "new-refresh"));
+        when(userStore.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(tokenProvider.generateToken(anyLong(), anyString(), anyString())).thenReturn("new-token");
+        when(tokenProvider.getExpirationMs()).thenReturn(3600000L);
+
+        // Act
+        AuthResponse response = authService.refresh(new RefreshTokenRequest("old-refresh"));
+
+        // Assert
+        assertEquals("new-token", response.getToken());
+        assertEquals("new-refresh", response.getRefreshToken());
+        assertEquals(testUser.getId(), response.getUserId());
+        verify(passwordEncoder, never()).matches(anyString(), anyString());
+    }
+
+    @Test
+    void testRefresh_InactiveUser() {
+        // Arrange
+        testUser.setStatus(User.UserStatus.SUSPENDED);
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(testUser.getId(), "new-refresh"));
+        when(userStore.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            authService.refresh(new RefreshTokenRequest("old-refresh"));
+        });
+
+        verify(tokenProvider, never()).generateToken(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void testRefresh_UnknownUser() {
+        // Arrange
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation(99L, "new-refresh"));
+        when(userStore.findById(99L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            authService.refresh(new RefreshTokenRequest("old-refresh"));
+        });
+
+        verify(tokenProvider, never()).generateToken(anyLong(), anyString(), anyString());
+    }
+
+    @Test
+    void testLogout_RevokesAccessAndRefreshTokens() {
+        // Arrange
+        JwtClaims claims = new JwtClaims("jti-1", 1L, "test@example.com", "ROLE_BUYER", 0L,
+                Instant.now().plusSeconds(3600));
+
+        // Act
+        authService.logout(claims, "refresh-token");
+
+        // Assert
+        verify(revocationService).revoke(claims);
+        verify(cacheInvalidationService).publish(CacheInvalidationService.TOKEN_REVOCATION, 1L);
+        verify(refreshTokenService).revoke("refresh-token");
+    }
+
+    @Test
+    void testLogout_Unauthenticated() {
+        // Act
+        authService.logout(null, null);
+
+        // Assert
+        verifyNoInteractions(revocationService, cacheInvalidationService, refreshTokenService);
+    }
+}
@@ -0,0 +1,166 @@
+package com.eventplatform.service;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.repository.CacheInvalidationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class CacheInvalidationServiceTest {
+
+    @Autowired
+    private CacheInvalidationRepository invalidationRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private UserCache userCache;
+    private CacheInvalidationService invalidationService;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache();
+        ReflectionTestUtils.setField(userCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(userCache, "ttlSeconds", 60L);
+        userCache.init();
+
+        invalidationService = newService();
+    }
+
+    @Test
+    void testPoll_EvictsUsersChangedByOtherInstances() {
+        // Arrange
+        CacheInvalidationService otherInstance = newService();
+        cache(1L);
+        cache(2L);
+
+        // Act
+        otherInstance.publish(CacheInvalidationService.USER, 1L);
+        invalidationService.poll();
+        cache(1L);
+        cache(2L);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testInit_SkipsChangesWrittenBeforeStartup() {
+        // Arrange
+        invalidationService.publish(CacheInvalidationService.USER, 1L);
+        CacheInvalidationService started = newService();
+        cache(1L);
+
+        // Act
+        started.poll();
+        cache(1L);
+
+        // Assert
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testPoll_PicksUpIdCommittedAfterAHigherOne() {
+        // Arrange - id 101 becomes visible before 100
+        insert(101L, 2L);
+        invalidationService.poll();
+        cache(1L);
+
+        // Act
+        insert(100L, 1L);
+        invalidationService.poll();
+        cache(1L);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testPoll_RefreshesStatusesChangedByOtherInstances() {
+        // Arrange
+        InactiveUserRegistry inactiveUserRegistry = mock(InactiveUserRegistry.class);
+        ReflectionTestUtils.setField(invalidationService, "inactiveUserRegistry", inactiveUserRegistry);
+        CacheInvalidationService otherInstance = newService();
+        cache(1L);
+
+        // Act
+        otherInstance.publish(CacheInvalidationService.USER_STATUS, 1L);
+        invalidationService.poll();
+        cache(1L);
+
+        // Assert - the user cache is invalidated by its own row
+        verify(inactiveUserRegistry).refresh(1L);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testPoll_ReloadsTokensRevokedByOtherInstances() {
+        // Arrange
+        TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+        ReflectionTestUtils.setField(invalidationService, "tokenRevocationService", tokenRevocationService);
+        CacheInvalidationService otherInstance = newService();
+
+        // Act
+        otherInstance.publish(CacheInvalidationService.TOKEN_REVOCATION, 4L);
+        invalidationService.poll();
+
+        // Assert
+        verify(tokenRevocationService).refresh(4L);
+    }
+
+    @Test
+    void testPurge_DeletesRowsPastRetention() {
+        // Arrange
+        invalidationService.publish(CacheInvalidationService.USER, 1L);
+        entityManager.createNativeQuery("UPDATE cache_invalidations SET created_at = ?")
+                .setParameter(1, LocalDateTime.now().minusHours(2))
+                .executeUpdate();
+        invalidationService.publish(CacheInvalidationService.USER, 2L);
+
+        // Act
+        invalidationService.purge();
+
+        // Assert
+        assertEquals(1, invalidationRepository.count());
+    }
+
+    private CacheInvalidationService newService() {
+        CacheInvalidationService service = new CacheInvalidationService();
+        ReflectionTestUtils.setField(service, "invalidationRepository", invalidationRepository);
+        ReflectionTestUtils.setField(service, "userCache", userCache);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "gapTimeoutMs", 60000L);
+        ReflectionTestUtils.setField(service, "maxTrackedGaps", 1000);
+        ReflectionTestUtils.setField(service, "retentionMinutes", 60L);
+        service.init();
+        return service;
+    }
+
+    private void cache(Long userId) {
+        userCache.get(userId, id -> {
+            loads.incrementAndGet();
+            return UserDTO.builder().id(id).build();
+        });
+    }
+
+    private void insert(long id, long userId) {
+        entityManager.createNativeQuery("INSERT INTO cache_invalidations (id, entity, entity_id, version, created_at) "
+                        + "VALUES (?, 'User', ?, 0, CURRENT_TIMESTAMP)")
+                .setParameter(1, id)
+                .setParameter(2, userId)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventplatform.service;
+
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InactiveUserRegistryTest {
+
+    @Mock
+    private UserStore userStore;
+
+    @InjectMocks
+    private InactiveUserRegistry inactiveUserRegistry;
+
+    @Test
+    void testInit_LoadsInactiveUsers() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of(3L, 5L));
+
+        // Act
+        inactiveUserRegistry.init();
+
+        // Assert
+        assertTrue(inactiveUserRegistry.isInactive(3L));
+        assertTrue(inactiveUserRegistry.isInactive(5L));
+        assertFalse(inactiveUserRegistry.isInactive(4L));
+    }
+
+    @Test
+    void testStatusChanged_SuspendAndReactivate() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of());
+        inactiveUserRegistry.init();
+
+        // Act & Assert
+        inactiveUserRegistry.statusChanged(7L, User.UserStatus.SUSPENDED);
+        assertTrue(inactiveUserRegistry.isInactive(7L));
+
+        inactiveUserRegistry.statusChanged(7L, User.UserStatus.ACTIVE);
+        assertFalse(inactiveUserRegistry.isInactive(7L));
+    }
+
+    @Test
+    void testStatusChanged_ManyUsers() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of());
+        inactiveUserRegistry.init();
+
+        // Act
+        for (long id = 1; id <= 1000; id += 2) {
+            inactiveUserRegistry.statusChanged(id, User.UserStatus.DELETED);
+        }
+
+        // Assert
+        for (long id = 1; id <= 1000; id++) {
+            assertEquals(id % 2 == 1, inactiveUserRegistry.isInactive(id), "user " + id);
+        }
+    }
+
+    @Test
+    void testRefresh_ReadsStatusChangedByOtherInstance() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of());
+        inactiveUserRegistry.init();
+        User user = new TicketBuyer();
+        user.setStatus(User.UserStatus.SUSPENDED);
+        when(userStore.findById(7L)).thenReturn(Optional.of(user));
+
+        // Act
+        inactiveUserRegistry.refresh(7L);
+
+        // Assert
+        assertTrue(inactiveUserRegistry.isInactive(7L));
+    }
+
+    @Test
+    void testReload_ReplacesLoadedUsersAndFoldsInChanges() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of(3L));
+        inactiveUserRegistry.init();
+        inactiveUserRegistry.statusChanged(7L, User.UserStatus.SUSPENDED);
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of(5L, 7L));
+
+        // Act
+        inactiveUserRegistry.reload();
+
+        // Assert - user 3 was reactivated through an instance whose notification was missed
+        assertFalse(inactiveUserRegistry.isInactive(3L));
+        assertTrue(inactiveUserRegistry.isInactive(5L));
+        assertTrue(inactiveUserRegistry.isInactive(7L));
+    }
+
+    @Test
+    void testReload_KeepsChangeMadeWhileQuerying() {
+        // Arrange
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenReturn(List.of(3L));
+        inactiveUserRegistry.init();
+        when(userStore.findIdsByStatusNot(User.UserStatus.ACTIVE)).thenAnswer(invocation -> {
+            inactiveUserRegistry.statusChanged(3L, User.UserStatus.ACTIVE);
+            inactiveUserRegistry.statusChanged(9L, User.UserStatus.DELETED);
+            return List.of(3L);
+        });
+
+        // Act
+        inactiveUserRegistry.reload();
+
+        // Assert
+        assertFalse(inactiveUserRegistry.isInactive(3L));
+        assertTrue(inactiveUserRegistry.isInactive(9L));
+    }
+}
@@ -0,0 +1,123 @@
+package com.eventplatform.service;
+
+import com.eventplatform.repository.UserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LastLoginWriteBehindTest {
+
+    @Mock
+    private UserStore userStore;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private LastLoginWriteBehind lastLoginWriteBehind;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(lastLoginWriteBehind, "batchSize", 500);
+        lastLoginWriteBehind.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        lastLoginWriteBehind.shutdown();
+    }
+
+    @Test
+    void testFlush_CoalescesLoginsPerUser() {
+        // Arrange
+        LocalDateTime first = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime latest = first.plusMinutes(5);
+        lastLoginWriteBehind.record(1L, first);
+        lastLoginWriteBehind.record(1L, latest);
+        lastLoginWriteBehind.record(1L, first.plusMinutes(1));
+        lastLoginWriteBehind.record(2L, first);
+
+        // Act
+        lastLoginWriteBehind.flush();
+
+        // Assert
+        assertEquals(Map.of(1L, latest, 2L, first), captureBatch());
+    }
+
+    @Test
+    void testFlush_NothingPending() {
+        // Act
+        lastLoginWriteBehind.flush();
+
+        // Assert
+        verifyNoInteractions(userStore);
+    }
+
+    @Test
+    void testFlush_FailureKeepsTimesForRetry() {
+        // Arrange
+        LocalDateTime loginTime = LocalDateTime.of(2026, 1, 1, 10, 0);
+        lastLoginWriteBehind.record(1L, loginTime);
+        doThrow(new DataAccessResourceFailureException("connection refused"))
+                .doNothing()
+                .when(userStore).updateLastLogins(anyMap());
+
+        // Act
+        lastLoginWriteBehind.flush();
+        lastLoginWriteBehind.flush();
+
+        // Assert
+        verify(userStore, times(2)).updateLastLogins(Map.of(1L, loginTime));
+        verify(userCache, times(1)).updateLastLogin(1L, loginTime);
+    }
+
+    @Test
+    void testFlush_UpdatesCachedUsersWithoutEvicting() {
+        // Arrange
+        LocalDateTime loginTime = LocalDateTime.of(2026, 1, 1, 10, 0);
+        lastLoginWriteBehind.record(1L, loginTime);
+        lastLoginWriteBehind.record(2L, loginTime.plusMinutes(1));
+
+        // Act
+        lastLoginWriteBehind.flush();
+
+        // Assert
+        verify(userCache).updateLastLogin(1L, loginTime);
+        verify(userCache).updateLastLogin(2L, loginTime.plusMinutes(1));
+        verify(userCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    void testShutdown_FlushesPending() {
+        // Arrange
+        lastLoginWriteBehind.record(1L, LocalDateTime.now());
+
+        // Act
+        lastLoginWriteBehind.shutdown();
+
+        // Assert
+        assertEquals(1, captureBatch().size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, LocalDateTime> captureBatch() {
+        ArgumentCaptor<Map<Long, LocalDateTime>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(userStore).updateLastLogins(batch.capture());
+        return batch.getValue();
+    }
+}
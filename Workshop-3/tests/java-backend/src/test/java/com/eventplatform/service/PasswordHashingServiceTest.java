@@ -0,0 +1,110 @@
+package com.eventplatform.service;
+
+import com.eventplatform.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceTest {
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+
+        passwordHashingService = new PasswordHashingService();
+        ReflectionTestUtils.setField(passwordHashingService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(passwordHashingService, "threads", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(passwordHashingService, "retryAfterSeconds", 3L);
+        passwordHashingService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void testVerify_RunsOnHashingPool() throws Exception {
+        // Arrange
+        when(passwordEncoder.matches("secret", "hash")).thenAnswer(invocation ->
+                Thread.currentThread().getName().startsWith("password-hash-"));
+
+        // Act
+        PasswordHashingService.Verification verification =
+                passwordHashingService.verify("secret", "hash").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(verification.matches());
+        assertNull(verification.upgradedHash());
+        verify(passwordEncoder, never()).encode(anyString());
+    }
+
+    @Test
+    void testVerify_RehashesOutdatedHash() throws Exception {
+        // Arrange
+        when(passwordEncoder.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+
+        // Act
+        PasswordHashingService.Verification verification =
+                passwordHashingService.verify("secret", "old-hash").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(verification.matches());
+        assertEquals("new-hash", verification.upgradedHash());
+    }
+
+    @Test
+    void testVerify_NoRehashOnMismatch() throws Exception {
+        // Arrange
+        when(passwordEncoder.matches("wrong", "old-hash")).thenReturn(false);
+
+        // Act
+        PasswordHashingService.Verification verification =
+                passwordHashingService.verify("wrong", "old-hash").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertFalse(verification.matches());
+        assertNull(verification.upgradedHash());
+        verify(passwordEncoder, never()).upgradeEncoding(anyString());
+    }
+
+    @Test
+    void testEncode_RejectsWhenSaturated() throws Exception {
+        // Arrange - one task running, one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hash";
+        });
+        var running = passwordHashingService.encode("first");
+        started.await(5, TimeUnit.SECONDS);
+        var queued = passwordHashingService.encode("second");
+
+        // Act & Assert
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () -> {
+            passwordHashingService.encode("third");
+        });
+
+        assertEquals(3L, exception.getRetryAfterSeconds());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+}
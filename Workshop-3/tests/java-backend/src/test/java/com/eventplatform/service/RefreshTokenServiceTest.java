@@ -0,0 +1,133 @@
+package com.eventplatform.service;
+
+import com.eventplatform.exception.UnauthorizedException;
+import com.eventplatform.model.RefreshToken;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private User testUser;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(refreshTokenService, "refreshExpirationMs", 3600000L);
+
+        testUser = new TicketBuyer();
+        testUser.setId(1L);
+        testUser.setEmail("test@example.com");
+        testUser.setStatus(User.UserStatus.ACTIVE);
+    }
+
+    @Test
+    void testIssue_StoresHashNotToken() {
+        // Act
+        String rawToken = refreshTokenService.issue(testUser);
+
+        // Assert
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotNull(rawToken);
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertEquals(64, saved.getValue().getTokenHash().length());
+        assertNotNull(saved.getValue().getFamilyId());
+    }
+
+    @Test
+    void testRotate_Success() {
+        // Arrange
+        RefreshToken current = activeToken(LocalDateTime.now().plusHours(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("old-refresh");
+
+        // Assert
+        assertEquals(testUser.getId(), rotation.userId());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family-1", saved.getValue().getFamilyId());
+        assertEquals(testUser.getId(), saved.getValue().getUserId());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRotate_ReuseRevokesFamily() {
+        // Arrange
+        RefreshToken current = activeToken(LocalDateTime.now().plusHours(1));
+        current.setRevokedAt(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            refreshTokenService.rotate("old-refresh");
+        });
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    void testRotate_ConcurrentRotationLosesRace() {
+        // Arrange
+        RefreshToken current = activeToken(LocalDateTime.now().plusHours(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(10L), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            refreshTokenService.rotate("old-refresh");
+        });
+
+        verify(refreshTokenRepository).revokeFamily(eq("family-1"), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testRotate_Expired() {
+        // Arrange
+        RefreshToken current = activeToken(LocalDateTime.now().minusMinutes(1));
+        when(refreshTokenRepository.findByTokenHash(anyString())).thenReturn(Optional.of(current));
+        when(refreshTokenRepository.revokeIfActive(eq(10L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act & Assert
+        assertThrows(UnauthorizedException.class, () -> {
+            refreshTokenService.rotate("old-refresh");
+        });
+
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    private RefreshToken activeToken(LocalDateTime expiresAt) {
+        return RefreshToken.builder()
+                .id(10L)
+                .userId(testUser.getId())
+                .tokenHash("hash")
+                .familyId("family-1")
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
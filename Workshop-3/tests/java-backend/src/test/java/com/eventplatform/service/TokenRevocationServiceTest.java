@@ -0,0 +1,136 @@
+package com.eventplatform.service;
+
+import com.eventplatform.model.RevokedToken;
+import com.eventplatform.repository.RevokedTokenRepository;
+import com.eventplatform.security.JwtClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private TokenRevocationService revocationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(revocationService, "expectedRevocations", 1000L);
+        ReflectionTestUtils.setField(revocationService, "falsePositiveRate", 0.01);
+    }
+
+    @Test
+    void testInit_LoadsPersistedRevocations() {
+        // Arrange
+        RevokedToken persisted = RevokedToken.builder()
+                .jti("persisted-jti")
+                .userId(1L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(persisted));
+
+        // Act
+        revocationService.init();
+
+        // Assert
+        assertTrue(revocationService.isRevoked("persisted-jti"));
+        assertFalse(revocationService.isRevoked("other-jti"));
+    }
+
+    @Test
+    void testRevoke_TokenIsRevokedAndPersisted() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        revocationService.init();
+        JwtClaims claims = new JwtClaims("jti-1", 1L, "test@example.com", "ROLE_BUYER", 0L,
+                Instant.now().plusSeconds(3600));
+
+        // Act
+        revocationService.revoke(claims);
+
+        // Assert
+        assertTrue(revocationService.isRevoked("jti-1"));
+        assertFalse(revocationService.isRevoked("jti-2"));
+        assertFalse(revocationService.isRevoked(null));
+        verify(revokedTokenRepository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testRevoke_ExpiredTokenIgnored() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        revocationService.init();
+        JwtClaims claims = new JwtClaims("jti-1", 1L, "test@example.com", "ROLE_BUYER", 0L,
+                Instant.now().minusSeconds(1));
+
+        // Act
+        revocationService.revoke(claims);
+
+        // Assert
+        assertFalse(revocationService.isRevoked("jti-1"));
+        verify(revokedTokenRepository, never()).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void testPurgeExpired_DropsEntriesPastExpiry() {
+        // Arrange
+        RevokedToken expiring = RevokedToken.builder()
+                .jti("expiring-jti")
+                .expiresAt(LocalDateTime.now().plusNanos(50_000_000L))
+                .build();
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of(expiring));
+        revocationService.init();
+
+        // Act
+        await(100);
+        revocationService.purgeExpired();
+
+        // Assert
+        assertFalse(revocationService.isRevoked("expiring-jti"));
+        verify(revokedTokenRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    private static void await(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testRefresh_LoadsRevocationMadeByOtherInstance() {
+        // Arrange
+        when(revokedTokenRepository.findByExpiresAtAfter(any(LocalDateTime.class))).thenReturn(List.of());
+        revocationService.init();
+        RevokedToken elsewhere = RevokedToken.builder()
+                .jti("jti-elsewhere")
+                .userId(1L)
+                .expiresAt(LocalDateTime.now().plusHours(1))
+                .build();
+        when(revokedTokenRepository.findByUserIdAndExpiresAtAfter(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(List.of(elsewhere));
+
+        // Act
+        revocationService.refresh(1L);
+
+        // Assert
+        assertTrue(revocationService.isRevoked("jti-elsewhere"));
+    }
+}
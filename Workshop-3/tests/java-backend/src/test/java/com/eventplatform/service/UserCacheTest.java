@@ -0,0 +1,109 @@
+package com.eventplatform.service;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache();
+        ReflectionTestUtils.setField(userCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(userCache, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(userCache, "meterRegistry", meterRegistry);
+        userCache.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testGet_LoadsOnceAndReportsHitRatio() {
+        // Act
+        userCache.get(1L, this::load);
+        userCache.get(1L, this::load);
+        userCache.get(1L, this::load);
+        userCache.get(2L, this::load);
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(0.5, meterRegistry.get("user.cache.hit.ratio").gauge().value());
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testGet_LoaderFailureIsNotCached() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userCache.get(9L, id -> {
+                throw new ResourceNotFoundException("User", "id", id);
+            });
+        });
+
+        assertEquals(0, userCache.size());
+    }
+
+    @Test
+    void testInvalidate_DropsAgainWhenTransactionCompletes() {
+        // Arrange
+        userCache.get(1L, this::load);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act - a lookup between the write and the commit reloads the old row
+        userCache.invalidate(1L);
+        userCache.get(1L, this::load);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        userCache.get(1L, this::load);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testUpdateLastLogin_ReplacesCachedUserWithoutReload() {
+        // Arrange
+        LocalDateTime loginTime = LocalDateTime.of(2026, 1, 1, 10, 0);
+        UserDTO cached = userCache.get(1L, this::load);
+
+        // Act
+        userCache.updateLastLogin(1L, loginTime);
+        userCache.updateLastLogin(1L, loginTime.minusMinutes(5));
+        userCache.updateLastLogin(2L, loginTime);
+        UserDTO updated = userCache.get(1L, this::load);
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(loginTime, updated.getLastLogin());
+        assertEquals("User 1", updated.getName());
+        assertNull(cached.getLastLogin());
+        assertEquals(1, userCache.size());
+    }
+
+    private UserDTO load(Long id) {
+        loads.incrementAndGet();
+        return UserDTO.builder().id(id).name("User " + id).build();
+    }
+}
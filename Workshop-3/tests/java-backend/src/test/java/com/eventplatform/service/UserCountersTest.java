@@ -0,0 +1,108 @@
+package com.eventplatform.service;
+
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCountersTest {
+
+    @Mock
+    private UserStore userStore;
+
+    @InjectMocks
+    private UserCounters userCounters;
+
+    @BeforeEach
+    void setUp() {
+        when(userStore.countByRoleAndStatus()).thenReturn(Map.of(
+                UserFilter.Role.ADMIN, Map.of(User.UserStatus.ACTIVE, 1L),
+                UserFilter.Role.ORGANIZER, Map.of(User.UserStatus.ACTIVE, 3L),
+                UserFilter.Role.BUYER, Map.of(User.UserStatus.ACTIVE, 10L, User.UserStatus.SUSPENDED, 2L)));
+        userCounters.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSnapshot_BreaksDownSeededCounts() {
+        // Act
+        UserStatistics statistics = userCounters.snapshot();
+
+        // Assert
+        assertEquals(16, statistics.getTotal());
+        assertEquals(14, statistics.getActive());
+        assertEquals(2, statistics.getSuspended());
+        assertEquals(0L, statistics.getByStatus().get(User.UserStatus.DELETED));
+        assertEquals(12, statistics.getByRole().get(UserFilter.Role.BUYER).getTotal());
+        assertEquals(3L, statistics.getByRole().get(UserFilter.Role.ORGANIZER).getByStatus().get(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void testUpdates_AdjustCountsAndFilteredTotals() {
+        // Act
+        userCounters.userCreated(UserFilter.Role.ORGANIZER, User.UserStatus.ACTIVE);
+        userCounters.statusChanged(UserFilter.Role.BUYER, User.UserStatus.ACTIVE, User.UserStatus.DELETED);
+
+        // Assert
+        assertEquals(17, userCounters.count(new UserFilter()));
+        assertEquals(4, userCounters.count(UserFilter.builder().role(UserFilter.Role.ORGANIZER).build()));
+        assertEquals(9, userCounters.count(UserFilter.builder()
+                .role(UserFilter.Role.BUYER).status(User.UserStatus.ACTIVE).build()));
+        assertEquals(1, userCounters.count(UserFilter.builder().status(User.UserStatus.DELETED).build()));
+    }
+
+    @Test
+    void testUpdates_AppliedOnlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        userCounters.userCreated(UserFilter.Role.BUYER, User.UserStatus.ACTIVE);
+        long beforeCommit = userCounters.count(new UserFilter());
+        List<TransactionSynchronization> synchronizations =
+                new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        assertEquals(16, beforeCommit);
+        assertEquals(17, userCounters.count(new UserFilter()));
+    }
+
+    @Test
+    void testReconcile_ReplacesDriftedCounts() {
+        // Arrange
+        userCounters.userCreated(UserFilter.Role.BUYER, User.UserStatus.ACTIVE);
+        when(userStore.countByRoleAndStatus()).thenReturn(Map.of(
+                UserFilter.Role.BUYER, Map.of(User.UserStatus.ACTIVE, 5L)));
+
+        // Act
+        userCounters.reconcile();
+
+        // Assert
+        assertEquals(5, userCounters.count(new UserFilter()));
+        assertEquals(0, userCounters.count(UserFilter.builder().role(UserFilter.Role.ADMIN).build()));
+    }
+}
@@ -0,0 +1,267 @@
+package com.eventplatform.service;
+
+import com.eventplatform.datasource.ReadYourWritesTracker;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserImportError;
+import com.eventplatform.dto.UserImportProgress;
+import com.eventplatform.exception.BadRequestException;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.JpaUserStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserImportServiceTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private AuditLogWriter auditLogWriter;
+    private UserCounters userCounters;
+    private BCryptPasswordEncoder passwordEncoder;
+    private UserImportService importService;
+
+    private final List<UserImportError> errors = new ArrayList<>();
+    private final List<UserImportProgress> progress = new ArrayList<>();
+    private final UserImportService.Listener listener = new UserImportService.Listener() {
+        @Override
+        public void onError(UserImportError error) {
+            errors.add(error);
+        }
+
+        @Override
+        public void onProgress(UserImportProgress update) {
+            progress.add(update);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName("import-" + UUID.randomUUID())
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE users ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_type VARCHAR(31) NOT NULL, name VARCHAR(100) NOT NULL, "
+                + "email VARCHAR(100) NOT NULL, email_normalized VARCHAR(100) NOT NULL, "
+                + "phone_number VARCHAR(20), password VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL, "
+                + "permissions BIGINT, access_level VARCHAR(50), organization_name VARCHAR(150), "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP, "
+                + "CONSTRAINT uk_users_email_normalized UNIQUE (email_normalized))");
+        jdbcTemplate.update("INSERT INTO users (user_type, name, email, email_normalized, password, status) "
+                + "VALUES ('TicketBuyer', 'Existing', 'existing@example.com', 'existing@example.com', 'hash', 'ACTIVE')");
+
+        auditLogWriter = mock(AuditLogWriter.class);
+        userCounters = mock(UserCounters.class);
+        passwordEncoder = new BCryptPasswordEncoder(4);
+
+        JpaUserStore userStore = new JpaUserStore();
+        ReflectionTestUtils.setField(userStore, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(userStore, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(database)));
+
+        importService = new UserImportService();
+        ReflectionTestUtils.setField(importService, "userStore", userStore);
+        ReflectionTestUtils.setField(importService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(importService, "validator",
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(importService, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(importService, "auditLogWriter", auditLogWriter);
+        ReflectionTestUtils.setField(importService, "userCounters", userCounters);
+        ReflectionTestUtils.setField(importService, "readYourWrites", mock(ReadYourWritesTracker.class));
+        ReflectionTestUtils.setField(importService, "chunkSize", 2);
+        ReflectionTestUtils.setField(importService, "hashingParallelism", 2);
+        ReflectionTestUtils.setField(importService, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(importService, "maxRecordLength", 200);
+        importService.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+        database.shutdown();
+    }
+
+    @Test
+    void testImportUsers_CsvInsertsValidRowsAndReportsTheRest() throws Exception {
+        // Arrange
+        String csv = "name,email,password,phone_number,user_type,organization_name\r\n"
+                + "Ana Gomez,ana@example.com,Secret@123,,BUYER,\r\n"
+                + "\"Events, Inc\",org@example.com,Secret@123,+573001234567,organizer,\"Events, Inc\"\r\n"
+                + "Bad,not-an-email,Secret@123,,,\r\n"
+                + "Ana Again,ANA@example.com,Secret@123,,,\r\n"
+                + "Old,existing@example.com,Secret@123,,,\r\n";
+
+        // Act
+        UserImportProgress totals = importService.importUsers(stream(csv), UserImportService.Format.CSV, 1L, listener);
+
+        // Assert
+        assertEquals(5, totals.getProcessed());
+        assertEquals(2, totals.getImported());
+        assertEquals(2, totals.getDuplicates());
+        assertEquals(1, totals.getFailed());
+        assertTrue(totals.isDone());
+        assertEquals(List.of(3L, 4L, 5L), errors.stream().map(UserImportError::getRecord).toList());
+        assertEquals("EventOrganizer", jdbcTemplate.queryForObject(
+                "SELECT user_type FROM users WHERE email_normalized = 'org@example.com'", String.class));
+        assertEquals("Events, Inc", jdbcTemplate.queryForObject(
+                "SELECT organization_name FROM users WHERE email_normalized = 'org@example.com'", String.class));
+        String hash = jdbcTemplate.queryForObject(
+                "SELECT password FROM users WHERE email_normalized = 'ana@example.com'", String.class);
+        assertTrue(passwordEncoder.matches("Secret@123", hash));
+        verify(userCounters).userCreated(UserFilter.Role.BUYER, User.UserStatus.ACTIVE);
+        verify(userCounters).userCreated(UserFilter.Role.ORGANIZER, User.UserStatus.ACTIVE);
+    }
+
+    @Test
+    void testImportUsers_NdjsonReportsProgressPerChunk() throws Exception {
+        // Arrange
+        String ndjson = "{\"name\":\"User One\",\"email\":\"one@example.com\",\"password\":\"Secret@123\"}\n"
+                + "{\"name\":\"User Two\",\"email\":\"two@example.com\",\"password\":\"Secret@123\"}\n"
+                + "{not json\n"
+                + "{\"name\":\"Root\",\"email\":\"root@example.com\",\"password\":\"Secret@123\",\"userType\":\"ADMIN\"}\n";
+
+        // Act
+        importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON, 1L, listener);
+
+        // Assert
+        assertEquals(3, progress.size());
+        assertEquals(2, progress.get(0).getImported());
+        assertFalse(progress.get(1).isDone());
+        assertTrue(progress.get(2).isDone());
+        assertEquals(List.of("Malformed JSON", "Admin accounts cannot be imported"),
+                errors.stream().map(UserImportError::getMessage).toList());
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class));
+    }
+
+    @Test
+    void testImportUsers_WritesOneSummaryAuditEntry() throws Exception {
+        // Arrange
+        String ndjson = "{\"name\":\"User One\",\"email\":\"one@example.com\",\"password\":\"Secret@123\"}\n"
+                + "{\"name\":\"User Two\",\"email\":\"two@example.com\",\"password\":\"Secret@123\"}\n"
+                + "{\"name\":\"User Three\",\"email\":\"three@example.com\",\"password\":\"Secret@123\"}\n";
+
+        // Act
+        importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON, 9L, listener);
+
+        // Assert
+        ArgumentCaptor<AuditEvent> event = ArgumentCaptor.forClass(AuditEvent.class);
+        verify(auditLogWriter, times(1)).submit(event.capture());
+        assertEquals("USER_BULK_IMPORT", event.getValue().action());
+        assertEquals(9L, event.getValue().adminId());
+        assertTrue(event.getValue().details().contains("3 imported"));
+    }
+
+    @Test
+    void testImportUsers_CsvWithoutRequiredColumns() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            importService.importUsers(stream("name,email\r\nAna,ana@example.com\r\n"),
+                    UserImportService.Format.CSV, 1L, listener);
+        });
+
+        verifyNoInteractions(auditLogWriter);
+    }
+
+    @Test
+    void testImportUsers_CsvUnterminatedQuoteEndsWithErrorRow() throws Exception {
+        // Arrange
+        String csv = "name,email,password\r\n"
+                + "Ana Gomez,ana@example.com,Secret@123\r\n"
+                + "\"Broken,bad@example.com,Secret@123\r\n"
+                + "Luis Perez,luis@example.com,Secret@123\r\n";
+
+        // Act
+        UserImportProgress totals = importService.importUsers(stream(csv), UserImportService.Format.CSV, 1L, listener);
+
+        // Assert
+        assertEquals(2, totals.getProcessed());
+        assertEquals(1, totals.getImported());
+        assertEquals(1, totals.getFailed());
+        assertTrue(totals.isDone());
+        assertEquals(1, errors.size());
+        assertEquals(2L, errors.get(0).getRecord());
+        assertTrue(errors.get(0).getMessage().contains("Unterminated quoted field"));
+    }
+
+    @Test
+    void testImportUsers_CsvOverlongRecordEndsWithErrorRow() throws Exception {
+        // Arrange
+        String csv = "name,email,password\r\n"
+                + "Ana Gomez,ana@example.com," + "x".repeat(300) + "\r\n";
+
+        // Act
+        UserImportProgress totals = importService.importUsers(stream(csv), UserImportService.Format.CSV, 1L, listener);
+
+        // Assert
+        assertEquals(1, totals.getFailed());
+        assertTrue(errors.get(0).getMessage().contains("longer than 200 characters"));
+    }
+
+    @Test
+    void testImportUsers_CsvMalformedHeader() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            importService.importUsers(stream("name,\"email,password\r\n"),
+                    UserImportService.Format.CSV, 1L, listener);
+        });
+    }
+
+    @Test
+    void testImportUsers_NdjsonOverlongLineSkipped() throws Exception {
+        // Arrange
+        String ndjson = "{\"name\":\"" + "x".repeat(300) + "\"}\n"
+                + "{\"name\":\"User One\",\"email\":\"one@example.com\",\"password\":\"Secret@123\"}\n";
+
+        // Act
+        UserImportProgress totals = importService.importUsers(stream(ndjson), UserImportService.Format.NDJSON, 1L,
+                listener);
+
+        // Assert
+        assertEquals(1, totals.getImported());
+        assertEquals(List.of("Line longer than 200 characters"),
+                errors.stream().map(UserImportError::getMessage).toList());
+    }
+
+    @Test
+    void testImportUsers_OtherViolationIsNotReportedAsDuplicate() throws Exception {
+        // Arrange
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT ck_users_name CHECK (name <> 'Blocked Name')");
+        String csv = "name,email,password\r\n"
+                + "Ana Gomez,ana@example.com,Secret@123\r\n"
+                + "Blocked Name,blocked@example.com,Secret@123\r\n";
+
+        // Act
+        UserImportProgress totals = importService.importUsers(stream(csv), UserImportService.Format.CSV, 1L, listener);
+
+        // Assert
+        assertEquals(1, totals.getImported());
+        assertEquals(0, totals.getDuplicates());
+        assertEquals(1, totals.getFailed());
+        assertEquals(List.of("Rejected by the database"), errors.stream().map(UserImportError::getMessage).toList());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,33 +1,65 @@
 package com.eventplatform.service;
 
+import com.eventplatform.datasource.ReadYourWritesTracker;
+import com.eventplatform.dto.CursorPage;
 import com.eventplatform.dto.UpdateUserRequest;
 import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.dto.UserStatistics;
+import com.eventplatform.exception.BadRequestException;
 import com.eventplatform.exception.ResourceNotFoundException;
 import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.Permission;
+import com.eventplatform.model.PlatformAdmin;
 import com.eventplatform.model.TicketBuyer;
 import com.eventplatform.model.User;
-import com.eventplatform.repository.UserRepository;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.SortCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
 
     @Mock
-    private UserRepository userRepository;
+    private UserStore userStore;
+
+    @Mock
+    private InactiveUserRegistry inactiveUserRegistry;
+
+    @Mock
+    private UserCounters userCounters;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private ReadYourWritesTracker readYourWrites;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
     @InjectMocks
     private UserService userService;
@@ -58,7 +90,7 @@ class UserServiceTest {
     @Test
     void testGetUserById_Success() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.findDtoById(1L)).thenReturn(Optional.of(UserDTO.fromEntity(testUser)));
 
         // Act
         UserDTO result = userService.getUserById(1L);
@@ -71,39 +103,152 @@ class UserServiceTest {
         assertEquals(testUser.getPhoneNumber(), result.getPhoneNumber());
         assertEquals("ROLE_BUYER", result.getRole());
 
-        verify(userRepository).findById(1L);
+        verify(userStore).findDtoById(1L);
     }
 
     @Test
     void testGetUserById_NotFound() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userStore.findDtoById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.getUserById(999L);
         });
 
-        verify(userRepository).findById(999L);
+        verify(userStore).findDtoById(999L);
+    }
+
+    @Test
+    void testGetUserById_CachedUntilUpdated() {
+        // Arrange
+        UserCache userCache = new UserCache();
+        ReflectionTestUtils.setField(userCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(userCache, "ttlSeconds", 60L);
+        userCache.init();
+        ReflectionTestUtils.setField(userService, "userCache", userCache);
+        userService.init();
+        when(userStore.findDtoById(1L)).thenAnswer(invocation -> Optional.of(UserDTO.fromEntity(testUser)));
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.update(any(User.class))).thenReturn(testUser);
+        UpdateUserRequest request = new UpdateUserRequest();
+        request.setName("Renamed User");
+
+        // Act
+        userService.getUserById(1L);
+        userService.getUserById(1L);
+        userService.updateUser(1L, request);
+        UserDTO afterUpdate = userService.getUserById(1L);
+
+        // Assert
+        assertEquals("Renamed User", afterUpdate.getName());
+        verify(userStore, times(2)).findDtoById(1L);
+        // Both loads ran in a read-write transaction of their own, i.e. on the primary
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> !definition.isReadOnly()
+                && definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
     }
 
     @Test
-    void testGetAllUsers_Success() {
+    void testFindUsers_MorePagesReturnsCursorOfLastItem() {
         // Arrange
-        List<User> users = Arrays.asList(testUser, testOrganizer);
-        when(userRepository.findAll()).thenReturn(users);
+        UserFilter filter = new UserFilter();
+        when(userStore.findPage(filter, UserSort.NAME, false, null, 3))
+                .thenReturn(List.of(listed(1L, "Ana"), listed(2L, "Bea"), listed(3L, "Cai")));
 
         // Act
-        List<UserDTO> result = userService.getAllUsers();
+        CursorPage<UserDTO> page = userService.findUsers(filter, UserSort.NAME, false, null, 2, false);
 
         // Assert
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals("ROLE_BUYER", result.get(0).getRole());
-        assertEquals("ROLE_ORGANIZER", result.get(1).getRole());
-        assertEquals("Test Organization", result.get(1).getOrganizationName());
+        assertEquals(2, page.getItems().size());
+        assertEquals(new SortCursor("name", "Bea", 2L), SortCursor.decode(page.getNextCursor()));
+        assertNull(page.getTotalEstimate());
+        verify(userCounters, never()).count(any());
+    }
+
+    @Test
+    void testFindUsers_LastPageWithTotal() {
+        // Arrange
+        UserFilter filter = UserFilter.builder().status(User.UserStatus.ACTIVE).build();
+        SortCursor after = new SortCursor("name", "Bea", 2L);
+        when(userStore.findPage(filter, UserSort.NAME, false, after, 3)).thenReturn(List.of(listed(3L, "Cai")));
+        when(userCounters.count(filter)).thenReturn(3L);
+
+        // Act
+        CursorPage<UserDTO> page = userService.findUsers(filter, UserSort.NAME, false, after.encode(), 2, true);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertEquals(3L, page.getTotalEstimate());
+    }
+
+    @Test
+    void testFindUsers_CursorFromOtherSortRejected() {
+        // Arrange
+        String cursor = new SortCursor("email", "a@example.com", 2L).encode();
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            userService.findUsers(new UserFilter(), UserSort.NAME, false, cursor, 10, false);
+        });
 
-        verify(userRepository).findAll();
+        verify(userStore, never()).findPage(any(), any(), anyBoolean(), any(), anyInt());
+    }
+
+    @Test
+    void testFindUsers_CursorWithInvalidCreatedAtRejected() {
+        // Arrange
+        String cursor = new SortCursor("createdAt", "not-a-date", 2L).encode();
+
+        // Act & Assert
+        BadRequestException e = assertThrows(BadRequestException.class, () -> {
+            userService.findUsers(new UserFilter(), UserSort.CREATED_AT, false, cursor, 10, false);
+        });
+
+        assertEquals("Invalid cursor", e.getMessage());
+        verify(userStore, never()).findPage(any(), any(), anyBoolean(), any(), anyInt());
+    }
+
+    @Test
+    void testUpdatePermissions_ReplacesMask() {
+        // Arrange
+        PlatformAdmin admin = admin(Permission.USERS_READ.getBit() | Permission.AUDIT_READ.getBit());
+        when(userStore.findById(3L)).thenReturn(Optional.of(admin));
+        when(userStore.update(admin)).thenReturn(admin);
+        long grantor = Permission.ADMINS_MANAGE.getBit() | Permission.AUDIT_READ.getBit()
+                | Permission.AUDIT_EXPORT.getBit();
+
+        // Act
+        UserDTO result = userService.updatePermissions(3L,
+                EnumSet.of(Permission.USERS_READ, Permission.AUDIT_EXPORT), grantor);
+
+        // Assert
+        assertEquals(EnumSet.of(Permission.USERS_READ, Permission.AUDIT_EXPORT), result.getPermissions());
+        verify(cacheInvalidationService).publish(CacheInvalidationService.USER, 3L);
+    }
+
+    @Test
+    void testUpdatePermissions_ChangeOutsideGrantorMaskDenied() {
+        // Arrange
+        when(userStore.findById(3L)).thenReturn(Optional.of(admin(Permission.USERS_READ.getBit())));
+
+        // Act & Assert - revoking USERS_READ needs USERS_READ as well
+        assertThrows(AccessDeniedException.class, () -> {
+            userService.updatePermissions(3L, EnumSet.noneOf(Permission.class), Permission.ADMINS_MANAGE.getBit());
+        });
+
+        verify(userStore, never()).update(any(User.class));
+    }
+
+    @Test
+    void testUpdatePermissions_NotAnAdmin() {
+        // Arrange
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> {
+            userService.updatePermissions(1L, EnumSet.of(Permission.USERS_READ), Permission.ALL);
+        });
     }
 
     @Test
@@ -113,16 +258,16 @@ class UserServiceTest {
         request.setName("Updated Name");
         request.setPhoneNumber("+1111111111");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.update(any(User.class))).thenReturn(testUser);
 
         // Act
         UserDTO result = userService.updateUser(1L, request);
 
         // Assert
         assertNotNull(result);
-        verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userStore).findById(1L);
+        verify(userStore).update(any(User.class));
     }
 
     @Test
@@ -131,15 +276,15 @@ class UserServiceTest {
         UpdateUserRequest request = new UpdateUserRequest();
         request.setEmail("newemail@example.com");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.update(any(User.class))).thenReturn(testUser);
 
         // Act
         UserDTO result = userService.updateUser(1L, request);
 
         // Assert
         assertNotNull(result);
-        verify(userRepository).save(any(User.class));
+        verify(userStore).update(any(User.class));
     }
 
     @Test
@@ -148,15 +293,15 @@ class UserServiceTest {
         UpdateUserRequest request = new UpdateUserRequest();
         request.setOrganizationName("New Organization Name");
 
-        when(userRepository.findById(2L)).thenReturn(Optional.of(testOrganizer));
-        when(userRepository.save(any(User.class))).thenReturn(testOrganizer);
+        when(userStore.findById(2L)).thenReturn(Optional.of(testOrganizer));
+        when(userStore.update(any(User.class))).thenReturn(testOrganizer);
 
         // Act
         UserDTO result = userService.updateUser(2L, request);
 
         // Assert
         assertNotNull(result);
-        verify(userRepository).save(any(User.class));
+        verify(userStore).update(any(User.class));
     }
 
     @Test
@@ -165,61 +310,104 @@ class UserServiceTest {
         UpdateUserRequest request = new UpdateUserRequest();
         request.setName("Updated Name");
 
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userStore.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.updateUser(999L, request);
         });
 
-        verify(userRepository).findById(999L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userStore).findById(999L);
+        verify(userStore, never()).update(any(User.class));
     }
 
     @Test
     void testDeleteUser_Success() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(userRepository.save(any(User.class))).thenReturn(testUser);
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.update(any(User.class))).thenReturn(testUser);
 
         // Act
         userService.deleteUser(1L);
 
         // Assert
-        verify(userRepository).findById(1L);
-        verify(userRepository).save(any(User.class));
+        verify(userStore).findById(1L);
+        verify(userStore).update(any(User.class));
+        verify(inactiveUserRegistry).statusChanged(1L, User.UserStatus.DELETED);
+        verify(userCounters).statusChanged(UserFilter.Role.BUYER, User.UserStatus.ACTIVE, User.UserStatus.DELETED);
         assertEquals(User.UserStatus.DELETED, testUser.getStatus());
     }
 
+    @Test
+    void testUpdateUserStatus_Suspend() {
+        // Arrange
+        when(userStore.findById(1L)).thenReturn(Optional.of(testUser));
+        when(userStore.update(any(User.class))).thenReturn(testUser);
+
+        // Act
+        UserDTO result = userService.updateUserStatus(1L, User.UserStatus.SUSPENDED);
+
+        // Assert
+        assertEquals("SUSPENDED", result.getStatus());
+        verify(inactiveUserRegistry).statusChanged(1L, User.UserStatus.SUSPENDED);
+        verify(userCounters).statusChanged(UserFilter.Role.BUYER, User.UserStatus.ACTIVE, User.UserStatus.SUSPENDED);
+        verify(cacheInvalidationService).publish(CacheInvalidationService.USER, 1L);
+        verify(cacheInvalidationService).publish(CacheInvalidationService.USER_STATUS, 1L);
+        verify(readYourWrites).recordWrite(1L);
+    }
+
+    @Test
+    void testUpdateUserStatus_NotFound() {
+        // Arrange
+        when(userStore.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> {
+            userService.updateUserStatus(999L, User.UserStatus.SUSPENDED);
+        });
+
+        verify(inactiveUserRegistry, never()).statusChanged(anyLong(), any(User.UserStatus.class));
+    }
+
     @Test
     void testDeleteUser_NotFound() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userStore.findById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> {
             userService.deleteUser(999L);
         });
 
-        verify(userRepository).findById(999L);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userStore).findById(999L);
+        verify(userStore, never()).update(any(User.class));
     }
 
     @Test
-    void testGetUserStatistics_Success() {
+    void testGetUserStatistics_ReadsCounters() {
         // Arrange
-        when(userRepository.count()).thenReturn(10L);
-        when(userRepository.countByStatus(User.UserStatus.ACTIVE)).thenReturn(8L);
-        when(userRepository.countByStatus(User.UserStatus.SUSPENDED)).thenReturn(2L);
+        UserStatistics snapshot = UserStatistics.builder().total(10).active(8).suspended(2).build();
+        when(userCounters.snapshot()).thenReturn(snapshot);
 
         // Act
-        Object statistics = userService.getUserStatistics();
+        UserStatistics statistics = userService.getUserStatistics();
 
         // Assert
-        assertNotNull(statistics);
-        verify(userRepository).count();
-        verify(userRepository).countByStatus(User.UserStatus.ACTIVE);
-        verify(userRepository).countByStatus(User.UserStatus.SUSPENDED);
+        assertSame(snapshot, statistics);
+        verifyNoInteractions(userStore);
+    }
+
+    private static UserDTO listed(Long id, String name) {
+        return UserDTO.builder().id(id).name(name).role("ROLE_BUYER").build();
     }
-}
 
+    private static PlatformAdmin admin(Long permissions) {
+        PlatformAdmin admin = new PlatformAdmin();
+        admin.setId(3L);
+        admin.setName("Admin User");
+        admin.setEmail("admin@example.com");
+        admin.setStatus(User.UserStatus.ACTIVE);
+        admin.setPermissions(permissions);
+        return admin;
+    }
+}
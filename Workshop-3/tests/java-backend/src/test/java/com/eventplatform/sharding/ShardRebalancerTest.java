@@ -0,0 +1,136 @@
+package com.eventplatform.sharding;
+
+import com.eventplatform.dto.ShardStatus;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRebalancerTest {
+
+    private List<EmbeddedDatabase> databases;
+    private ShardDirectory directory;
+    private ShardedUserStore store;
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        ShardTestDatabases.shutdown(databases);
+    }
+
+    @Test
+    void testMoveBucket_CopiesInBatchesAndCleansUpSource() {
+        // Arrange
+        createShards(2);
+        List<User> users = createBuyers(300);
+        Map<Integer, List<User>> byBucket = users.stream()
+                .collect(Collectors.groupingBy(u -> ShardDirectory.bucketOf(u.getId())));
+        int bucket = byBucket.entrySet().stream().max(Map.Entry.comparingByValue(Comparator.comparingInt(List::size)))
+                .orElseThrow().getKey();
+        User user = byBucket.get(bucket).get(0);
+        int source = directory.ownerOf(bucket);
+        int target = 1 - source;
+        ShardRebalancer rebalancer = new ShardRebalancer(store, directory, 1, 0);
+
+        // Act
+        rebalancer.moveBucket(bucket, target);
+
+        // Assert
+        assertEquals(target, directory.ownerOf(bucket));
+        assertEquals(ShardDirectory.BucketState.STABLE, directory.stateOf(bucket));
+        assertEquals(0, rowsInBucket(source, bucket));
+        assertEquals(byBucket.get(bucket).size(), rowsInBucket(target, bucket));
+        assertEquals(user.getEmail(), store.findById(user.getId()).orElseThrow().getEmail());
+        assertEquals(300, rows(0) + rows(1));
+    }
+
+    @Test
+    void testRebalance_SpreadsBucketsToNewShard() {
+        // Arrange: data written with two shards, then a third database is added
+        databases = ShardTestDatabases.create(3);
+        ShardDirectory twoShards = new ShardDirectory(databases.get(0), 2);
+        twoShards.init();
+        store = new ShardedUserStore(databases.subList(0, 2), twoShards, 2, 5000);
+        List<User> users = createBuyers(100);
+        store.shutdown();
+
+        directory = new ShardDirectory(databases.get(0), 3);
+        directory.init();
+        store = new ShardedUserStore(databases, directory, 2, 5000);
+        ShardRebalancer rebalancer = new ShardRebalancer(store, directory, 50, 0);
+
+        // Act
+        int moved = rebalancer.rebalance();
+
+        // Assert
+        assertEquals(341, moved);
+        ShardStatus status = rebalancer.status();
+        assertEquals(List.of(342, 341, 341), status.getShards().stream().map(ShardStatus.ShardInfo::getBuckets).toList());
+        assertEquals(0, status.getMovingBuckets());
+        assertEquals(100, status.getShards().stream().mapToLong(ShardStatus.ShardInfo::getUsers).sum());
+        for (User user : users) {
+            assertTrue(store.findById(user.getId()).isPresent());
+        }
+    }
+
+    @Test
+    void testRebalance_FinishesInterruptedMove() {
+        // Arrange: a move stopped after the bucket was copied but before cleanup
+        createShards(2);
+        User user = createBuyers(1).get(0);
+        int bucket = ShardDirectory.bucketOf(user.getId());
+        int source = directory.ownerOf(bucket);
+        ShardRebalancer rebalancer = new ShardRebalancer(store, directory, 10, 0);
+        rebalancer.moveBucket(bucket, 1 - source);
+        new JdbcTemplate(databases.get(source)).update("INSERT INTO users SELECT * FROM users WHERE id = ?",
+                user.getId());
+        directory.updateBucket(bucket, 1 - source, source, ShardDirectory.BucketState.CLEANING);
+
+        // Act
+        rebalancer.rebalance();
+
+        // Assert
+        assertEquals(ShardDirectory.BucketState.STABLE, directory.stateOf(bucket));
+        assertEquals(1, rows(0) + rows(1));
+        assertTrue(store.findById(user.getId()).isPresent());
+    }
+
+    private void createShards(int shards) {
+        databases = ShardTestDatabases.create(shards);
+        directory = new ShardDirectory(databases.get(0), shards);
+        directory.init();
+        store = new ShardedUserStore(databases, directory, 2, 5000);
+    }
+
+    private long rows(int shard) {
+        return new JdbcTemplate(databases.get(shard)).queryForObject("SELECT COUNT(*) FROM users", Long.class);
+    }
+
+    private long rowsInBucket(int shard, int bucket) {
+        return new JdbcTemplate(databases.get(shard))
+                .queryForObject("SELECT COUNT(*) FROM users WHERE bucket = ?", Long.class, bucket);
+    }
+
+    private List<User> createBuyers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            TicketBuyer buyer = new TicketBuyer();
+            buyer.setName("User " + i);
+            buyer.setEmail("user" + i + "@example.com");
+            buyer.setPassword("secret-hash");
+            users.add(store.create(buyer));
+        }
+        return users;
+    }
+}
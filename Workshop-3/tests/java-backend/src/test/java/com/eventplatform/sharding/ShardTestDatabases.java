@@ -0,0 +1,50 @@
+package com.eventplatform.sharding;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Shard Test Databases
+ * N embedded H2 databases with the tables of scripts/09-user-shards.sql
+ */
+public class ShardTestDatabases {
+
+    /**
+     * Create the shard databases; the first one also gets the directory tables
+     */
+    public static List<EmbeddedDatabase> create(int shards) {
+        List<EmbeddedDatabase> databases = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .setName("shard-" + shard + "-" + UUID.randomUUID())
+                    .build();
+            JdbcTemplate jdbc = new JdbcTemplate(database);
+            jdbc.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, bucket SMALLINT NOT NULL, "
+                    + "user_type VARCHAR(31) NOT NULL, name VARCHAR(100) NOT NULL, email VARCHAR(100) NOT NULL, "
+                    + "email_normalized VARCHAR(100) NOT NULL, phone_number VARCHAR(20), "
+                    + "password VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL, created_at TIMESTAMP NOT NULL, "
+                    + "updated_at TIMESTAMP, last_login TIMESTAMP, permissions BIGINT, access_level VARCHAR(50), "
+                    + "organization_name VARCHAR(150))");
+            jdbc.execute("CREATE INDEX idx_bucket ON users (bucket)");
+            if (shard == 0) {
+                jdbc.execute("CREATE TABLE user_directory (user_id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                        + "email_normalized VARCHAR(100) NOT NULL UNIQUE)");
+                jdbc.execute("CREATE TABLE shard_buckets (bucket SMALLINT PRIMARY KEY, shard INT NOT NULL, "
+                        + "other_shard INT, state VARCHAR(20) NOT NULL)");
+            }
+            databases.add(database);
+        }
+        return databases;
+    }
+
+    public static void shutdown(List<EmbeddedDatabase> databases) {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+}
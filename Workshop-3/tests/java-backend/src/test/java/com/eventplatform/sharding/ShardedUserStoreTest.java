@@ -0,0 +1,246 @@
+package com.eventplatform.sharding;
+
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.exception.DuplicateResourceException;
+import com.eventplatform.exception.ServiceUnavailableException;
+import com.eventplatform.model.EventOrganizer;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.util.SortCursor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedUserStoreTest {
+
+    private static final int SHARDS = 3;
+
+    private List<EmbeddedDatabase> databases;
+    private ShardDirectory directory;
+    private ShardedUserStore store;
+
+    @BeforeEach
+    void setUp() {
+        databases = ShardTestDatabases.create(SHARDS);
+        directory = new ShardDirectory(databases.get(0), SHARDS);
+        directory.init();
+        store = new ShardedUserStore(databases, directory, 4, 5000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.shutdown();
+        ShardTestDatabases.shutdown(databases);
+    }
+
+    @Test
+    void testCreate_StoresUserOnOwningShard() {
+        // Act
+        User created = store.create(buyer("Ana", "Ana@Example.com"));
+
+        // Assert
+        int owner = directory.shardOf(created.getId());
+        for (int shard = 0; shard < SHARDS; shard++) {
+            Integer rows = new JdbcTemplate(databases.get(shard))
+                    .queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Integer.class, created.getId());
+            assertEquals(shard == owner ? 1 : 0, rows);
+        }
+        User found = store.findByEmail("ana@example.com").orElseThrow();
+        assertInstanceOf(TicketBuyer.class, found);
+        assertEquals("Ana@Example.com", found.getEmail());
+        assertEquals("secret-hash", found.getPassword());
+    }
+
+    @Test
+    void testCreate_DuplicateEmailAcrossShardsRejected() {
+        // Arrange
+        store.create(buyer("Ana", "ana@example.com"));
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> {
+            store.create(buyer("Other Ana", " ANA@example.com"));
+        });
+    }
+
+    @Test
+    void testUsers_SpreadOverAllShards() {
+        // Act
+        createBuyers(60);
+
+        // Assert
+        long[] counts = store.countByShard();
+        assertEquals(60, counts[0] + counts[1] + counts[2]);
+        for (long count : counts) {
+            assertTrue(count > 0, "every shard should hold some users");
+        }
+    }
+
+    @Test
+    void testFindPage_MergesShardsInSortOrder() {
+        // Arrange
+        List<User> users = createBuyers(25);
+        List<String> expected = users.stream().map(User::getName).sorted(Comparator.reverseOrder()).toList();
+
+        // Act
+        List<String> names = new ArrayList<>();
+        SortCursor cursor = null;
+        List<UserDTO> page;
+        do {
+            page = store.findPage(new UserFilter(), UserSort.NAME, true, cursor, 10);
+            page.forEach(user -> names.add(user.getName()));
+            if (!page.isEmpty()) {
+                UserDTO last = page.get(page.size() - 1);
+                cursor = new SortCursor("name", last.getName(), last.getId());
+            }
+        } while (page.size() == 10);
+
+        // Assert
+        assertEquals(expected, names);
+    }
+
+    @Test
+    void testCountByRoleAndStatus_SumsShards() {
+        // Arrange
+        List<User> buyers = createBuyers(10);
+        EventOrganizer organizer = new EventOrganizer();
+        organizer.setName("Org");
+        organizer.setEmail("org@example.com");
+        organizer.setPassword("secret-hash");
+        organizer.setOrganizationName("Events Inc");
+        store.create(organizer);
+        store.updateStatus(buyers.get(0).getId(), User.UserStatus.SUSPENDED);
+
+        // Act
+        Map<UserFilter.Role, Map<User.UserStatus, Long>> counts = store.countByRoleAndStatus();
+
+        // Assert
+        assertEquals(9L, counts.get(UserFilter.Role.BUYER).get(User.UserStatus.ACTIVE));
+        assertEquals(1L, counts.get(UserFilter.Role.BUYER).get(User.UserStatus.SUSPENDED));
+        assertEquals(1L, counts.get(UserFilter.Role.ORGANIZER).get(User.UserStatus.ACTIVE));
+        assertEquals(0L, counts.get(UserFilter.Role.ADMIN).get(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void testUpdateEmail_MovesDirectoryEntry() {
+        // Arrange
+        User user = store.create(buyer("Ana", "ana@example.com"));
+
+        // Act
+        boolean updated = store.updateEmail(user.getId(), "ana.gomez@example.com");
+
+        // Assert
+        assertTrue(updated);
+        assertTrue(store.findByEmail("ana@example.com").isEmpty());
+        assertEquals(user.getId(), store.findByEmail("ANA.GOMEZ@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void testUpdateStatus_FrozenBucketRejected() {
+        // Arrange
+        User user = store.create(buyer("Ana", "ana@example.com"));
+        int bucket = ShardDirectory.bucketOf(user.getId());
+        int owner = directory.ownerOf(bucket);
+        directory.updateBucket(bucket, owner, (owner + 1) % SHARDS, ShardDirectory.BucketState.FROZEN);
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> {
+            store.updateStatus(user.getId(), User.UserStatus.SUSPENDED);
+        });
+    }
+
+    @Test
+    void testCreateAll_ReportsDuplicatesAndKeepsTheRest() {
+        // Arrange
+        store.create(buyer("Ana", "ana@example.com"));
+
+        // Act
+        List<UserStore.CreateResult> results = store.createAll(List.of(
+                buyer("Ben", "ben@example.com"), buyer("Ana Again", "ANA@example.com")));
+
+        // Assert
+        assertEquals(List.of(UserStore.CreateResult.CREATED, UserStore.CreateResult.DUPLICATE_EMAIL), results);
+        assertEquals(Set.of("ana@example.com", "ben@example.com"),
+                store.findExistingEmails(List.of("ana@example.com", "ben@example.com", "cleo@example.com")));
+    }
+
+    @Test
+    void testUpdate_WritesFieldsAndMovesEmail() {
+        // Arrange
+        User user = store.findById(store.create(buyer("Ana", "ana@example.com")).getId()).orElseThrow();
+        user.setName("Ana Gomez");
+        user.setEmail("ana.gomez@example.com");
+        user.setStatus(User.UserStatus.SUSPENDED);
+
+        // Act
+        store.update(user);
+
+        // Assert
+        UserDTO found = store.findDtoById(user.getId()).orElseThrow();
+        assertEquals("Ana Gomez", found.getName());
+        assertEquals("SUSPENDED", found.getStatus());
+        assertEquals(user.getId(), store.findByEmail("ana.gomez@example.com").orElseThrow().getId());
+        assertTrue(store.findByEmail("ana@example.com").isEmpty());
+        assertEquals(List.of(user.getId()), store.findIdsByStatusNot(User.UserStatus.ACTIVE));
+    }
+
+    @Test
+    void testUpdate_EmailOfAnotherUserRejected() {
+        // Arrange
+        store.create(buyer("Ana", "ana@example.com"));
+        User ben = store.create(buyer("Ben", "ben@example.com"));
+        ben.setEmail("Ana@example.com");
+
+        // Act & Assert
+        assertThrows(DuplicateResourceException.class, () -> {
+            store.update(ben);
+        });
+        assertEquals("ben@example.com", store.findById(ben.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void testUpdateLastLogins_NeverMovesBackwards() {
+        // Arrange
+        List<User> users = createBuyers(2);
+        LocalDateTime earlier = LocalDateTime.of(2026, 1, 1, 10, 0);
+        LocalDateTime later = earlier.plusHours(1);
+        store.updateLastLogins(Map.of(users.get(0).getId(), later, users.get(1).getId(), earlier));
+
+        // Act
+        store.updateLastLogins(Map.of(users.get(0).getId(), earlier));
+
+        // Assert
+        assertEquals(later, store.findById(users.get(0).getId()).orElseThrow().getLastLogin());
+        assertEquals(earlier, store.findById(users.get(1).getId()).orElseThrow().getLastLogin());
+    }
+
+    private List<User> createBuyers(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(store.create(buyer(String.format("User %02d", i), "user" + i + "@example.com")));
+        }
+        return users;
+    }
+
+    private static User buyer(String name, String email) {
+        TicketBuyer buyer = new TicketBuyer();
+        buyer.setName(name);
+        buyer.setEmail(email);
+        buyer.setPassword("secret-hash");
+        buyer.setCreatedAt(LocalDateTime.now());
+        return buyer;
+    }
+}
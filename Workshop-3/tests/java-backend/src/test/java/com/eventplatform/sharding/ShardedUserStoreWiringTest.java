@@ -0,0 +1,118 @@
+package com.eventplatform.sharding;
+
+import com.eventplatform.dto.LoginRequest;
+import com.eventplatform.dto.UserDTO;
+import com.eventplatform.dto.UserFilter;
+import com.eventplatform.dto.UserSort;
+import com.eventplatform.exception.UnauthorizedException;
+import com.eventplatform.model.TicketBuyer;
+import com.eventplatform.model.User;
+import com.eventplatform.repository.JpaUserStore;
+import com.eventplatform.repository.UserStore;
+import com.eventplatform.service.AuthService;
+import com.eventplatform.service.UserCounters;
+import com.eventplatform.service.UserImportService;
+import com.eventplatform.service.UserService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"sharding.enabled=true", "sharding.urls=jdbc:h2:mem:unused"})
+@ActiveProfiles("test")
+class ShardedUserStoreWiringTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserCounters userCounters;
+
+    @MockBean
+    private ShardRebalancer shardRebalancer;
+
+    @MockBean
+    private ShardedUserStore shardedUserStore;
+
+    @MockBean
+    private ShardDirectory shardDirectory;
+
+    @Test
+    void testServices_UseShardedStore() {
+        // Assert
+        assertSame(shardedUserStore, context.getBean(UserStore.class));
+        assertTrue(context.getBeansOfType(JpaUserStore.class).isEmpty());
+        assertSame(shardedUserStore, ReflectionTestUtils.getField(unwrap(userService), "userStore"));
+        assertSame(shardedUserStore, ReflectionTestUtils.getField(unwrap(authService), "userStore"));
+        assertSame(shardedUserStore, ReflectionTestUtils.getField(unwrap(userImportService), "userStore"));
+    }
+
+    @Test
+    void testReads_GoToShards() {
+        // Arrange
+        TicketBuyer user = new TicketBuyer();
+        user.setId(7L);
+        user.setName("Ana");
+        user.setEmail("ana@example.com");
+        user.setStatus(User.UserStatus.ACTIVE);
+        when(shardedUserStore.findDtoById(7L)).thenReturn(Optional.of(UserDTO.fromEntity(user)));
+        when(shardedUserStore.findPage(any(UserFilter.class), eq(UserSort.ID), eq(false), isNull(), anyInt()))
+                .thenReturn(List.of(UserDTO.fromEntity(user)));
+        when(shardedUserStore.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
+        LoginRequest login = new LoginRequest();
+        login.setEmail("nobody@example.com");
+        login.setPassword("Secret@123");
+
+        // Act
+        UserDTO found = userService.getUserById(7L);
+        List<UserDTO> page = userService.findUsers(new UserFilter(), UserSort.ID, false, null, 10, false).getItems();
+
+        // Assert
+        assertEquals("Ana", found.getName());
+        assertEquals(List.of(7L), page.stream().map(UserDTO::getId).toList());
+        assertThrows(UnauthorizedException.class, () -> {
+            authService.login(login);
+        });
+        verify(shardedUserStore).findByEmail("nobody@example.com");
+    }
+
+    @Test
+    void testStatistics_CountedOnShards() {
+        // Arrange
+        when(shardedUserStore.countByRoleAndStatus()).thenReturn(Map.of(
+                UserFilter.Role.BUYER, Map.of(User.UserStatus.ACTIVE, 4L, User.UserStatus.SUSPENDED, 1L)));
+
+        // Act
+        userCounters.reconcile();
+
+        // Assert
+        assertEquals(5, userService.getUserStatistics().getTotal());
+    }
+
+    private static Object unwrap(Object bean) {
+        return AopTestUtils.getTargetObject(bean);
+    }
+}